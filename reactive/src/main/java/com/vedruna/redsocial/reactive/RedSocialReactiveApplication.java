@@ -0,0 +1,20 @@
+package com.vedruna.redsocial.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Aplicación con los endpoints de lectura de la red social sobre WebFlux y R2DBC.
+ *
+ * Se ejecuta junto a la API principal (Spring MVC y JPA), contra la misma base de datos y con la misma clave
+ * de firma JWT; las escrituras siguen haciéndose en la API principal.
+ */
+@SpringBootApplication
+@EnableScheduling
+public class RedSocialReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(RedSocialReactiveApplication.class, args);
+    }
+}
@@ -0,0 +1,69 @@
+package com.vedruna.redsocial.reactive.config;
+
+import java.util.Base64;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+/**
+ * Configuración de seguridad de los endpoints reactivos.
+ *
+ * Acepta los mismos tokens de acceso que la API principal: se verifican con la misma clave HMAC (jwt.secret) y
+ * se rechazan los revocados. Las rutas públicas son las mismas que en la API principal.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    /**
+     * Configuración de la cadena de filtros de seguridad.
+     *
+     * @param http Objeto ServerHttpSecurity que permite configurar la seguridad de la aplicación.
+     * @return La cadena de filtros de seguridad configurada.
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http.csrf(csrf -> csrf.disable())
+                .authorizeExchange(exchanges ->
+                        exchanges.pathMatchers("/swagger-ui/**", "/v3/**", "/api/profile/{username}", "/api/user/{userId}/publications").permitAll()
+                                .anyExchange().authenticated()
+                )
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .oauth2ResourceServer(resourceServer -> resourceServer.jwt(Customizer.withDefaults()))
+                .build();
+    }
+
+    /**
+     * Decodificador de los tokens JWT emitidos por la API principal.
+     *
+     * @param secret        Clave secreta en Base64, la misma que la de la API principal.
+     * @param revokedTokens Lista de tokens revocados.
+     * @return Decodificador de tokens.
+     */
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(@Value("${jwt.secret}") String secret, RevokedTokens revokedTokens) {
+        byte[] keyBytes = Base64.getDecoder().decode(secret);
+        // La API principal elige el algoritmo HMAC según la longitud de la clave.
+        MacAlgorithm algorithm = keyBytes.length >= 64 ? MacAlgorithm.HS512
+                : keyBytes.length >= 48 ? MacAlgorithm.HS384 : MacAlgorithm.HS256;
+        SecretKey key = new SecretKeySpec(keyBytes, "HmacSHA" + algorithm.getName().substring(2));
+
+        NimbusReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder.withSecretKey(key).macAlgorithm(algorithm).build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(JwtValidators.createDefault(), revokedTokens));
+        return decoder;
+    }
+}
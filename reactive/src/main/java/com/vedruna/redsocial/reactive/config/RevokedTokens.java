@@ -0,0 +1,78 @@
+package com.vedruna.redsocial.reactive.config;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tokens de acceso revocados por la API principal (tabla S_REVOKED_TOKEN).
+ *
+ * Se copian periódicamente en memoria, de modo que validar un token nunca consulta la base de datos; una
+ * revocación tarda como mucho un intervalo de sincronización en aplicarse aquí. Las fechas de la tabla están
+ * en UTC.
+ */
+@Slf4j
+@Component
+public class RevokedTokens implements OAuth2TokenValidator<Jwt> {
+
+    private static final OAuth2Error REVOKED = new OAuth2Error("invalid_token", "Token revocado", null);
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Identificadores revocados y el instante en que caduca cada token.
+     */
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor de la clase RevokedTokens.
+     *
+     * @param databaseClient Cliente R2DBC.
+     */
+    @Autowired
+    public RevokedTokens(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Rechaza los tokens cuyo identificador (jti) está revocado.
+     *
+     * @param jwt Token a validar.
+     * @return Resultado de la validación.
+     */
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        return jwt.getId() != null && revoked.containsKey(jwt.getId())
+                ? OAuth2TokenValidatorResult.failure(REVOKED)
+                : OAuth2TokenValidatorResult.success();
+    }
+
+    /**
+     * Carga las revocaciones de tokens todavía vigentes y descarta las de tokens ya caducados.
+     */
+    @Scheduled(fixedDelayString = "${redsocial.security.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        databaseClient.sql("SELECT jti, expires_at FROM s_revoked_token WHERE expires_at > :now")
+                .bind("now", now)
+                .map((row, metadata) -> Map.entry(row.get("jti", String.class), row.get("expires_at", LocalDateTime.class)))
+                .all()
+                .doOnNext(token -> revoked.put(token.getKey(), token.getValue()))
+                .doOnComplete(() -> revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now)))
+                .doOnError(e -> log.error("Error during revoked tokens sync: " + e.getMessage()))
+                .onErrorComplete()
+                .blockLast();
+    }
+}
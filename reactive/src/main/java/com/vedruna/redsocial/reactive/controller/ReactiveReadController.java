@@ -0,0 +1,182 @@
+package com.vedruna.redsocial.reactive.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.vedruna.redsocial.reactive.dto.CommentDTO;
+import com.vedruna.redsocial.reactive.dto.PublicationDTO;
+import com.vedruna.redsocial.reactive.dto.UserDTO;
+import com.vedruna.redsocial.reactive.service.ReactiveCommentServiceI;
+import com.vedruna.redsocial.reactive.service.ReactivePublicationServiceI;
+import com.vedruna.redsocial.reactive.service.ReactiveUserServiceI;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controlador con los endpoints de lectura de la red social, con las mismas rutas y respuestas que en
+ * SocialMediaController.
+ *
+ * Los listados admiten además "Accept: application/x-ndjson": cada elemento se escribe en cuanto está listo y
+ * la lectura de la base de datos avanza al ritmo al que el cliente consume la respuesta.
+ */
+@RestController
+@RequestMapping("/api")
+public class ReactiveReadController {
+
+    private final ReactivePublicationServiceI publicationService;
+
+    private final ReactiveCommentServiceI commentService;
+
+    private final ReactiveUserServiceI userService;
+
+    /**
+     * Constructor de la clase ReactiveReadController.
+     *
+     * @param publicationService Servicio de lectura de publicaciones
+     * @param commentService     Servicio de lectura de comentarios
+     * @param userService        Servicio de lectura de usuarios
+     */
+    @Autowired
+    public ReactiveReadController(ReactivePublicationServiceI publicationService,
+            ReactiveCommentServiceI commentService, ReactiveUserServiceI userService) {
+        this.publicationService = publicationService;
+        this.commentService = commentService;
+        this.userService = userService;
+    }
+
+    /**
+     * Obtiene todas las publicaciones.
+     *
+     * @return Flujo de PublicationDTO.
+     */
+    @Operation(summary = "Get all publications")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved publications",
+                content = @Content(array = @ArraySchema(schema = @Schema(implementation = PublicationDTO.class)))),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/publication", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<PublicationDTO> getAllPublications() {
+        return publicationService.getAllPublications();
+    }
+
+    /**
+     * Obtiene una publicación por su identificador único.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return PublicationDTO, o 404 si no existe.
+     */
+    @Operation(summary = "Get publication by ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved publication",
+                content = @Content(schema = @Schema(implementation = PublicationDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Publication not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/publication/{publicationId}")
+    public Mono<PublicationDTO> getPublicationById(@PathVariable(name = "publicationId") Long publicationId) {
+        return publicationService.getPublicationByPublicationId(publicationId);
+    }
+
+    /**
+     * Obtiene los comentarios de una publicación.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return Flujo de CommentDTO.
+     */
+    @Operation(summary = "Get comments by publication ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved comments",
+                content = @Content(array = @ArraySchema(schema = @Schema(implementation = CommentDTO.class)))),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/publication/{publicationId}/comments", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CommentDTO> getCommentsByPublicationId(@PathVariable(name = "publicationId") Long publicationId) {
+        return commentService.getCommentsByPublicationId(publicationId);
+    }
+
+    /**
+     * Obtiene las publicaciones de un usuario.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Flujo de PublicationDTO.
+     */
+    @Operation(summary = "Get publications by user ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved publications",
+                content = @Content(array = @ArraySchema(schema = @Schema(implementation = PublicationDTO.class)))),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/user/{userId}/publications", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<PublicationDTO> getPublicationsByUserId(@PathVariable(name = "userId") Long userId) {
+        return publicationService.getPublicationsByUser(userId);
+    }
+
+    /**
+     * Obtiene el feed de un usuario: las publicaciones de los usuarios a los que sigue.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Flujo de PublicationDTO, o 404 si el usuario no existe.
+     */
+    @Operation(summary = "Get feed by user ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved feed",
+                content = @Content(array = @ArraySchema(schema = @Schema(implementation = PublicationDTO.class)))),
+        @ApiResponse(responseCode = "404", description = "User not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/user/{userId}/feed", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<PublicationDTO> getFeedByUserId(@PathVariable(name = "userId") Long userId) {
+        return publicationService.getPublicationsByUsersFollowed(userId);
+    }
+
+    /**
+     * Obtiene un usuario por su nombre de usuario.
+     *
+     * @param username Nombre de usuario.
+     * @return UserDTO, o 404 si no existe.
+     */
+    @Operation(summary = "Get user by username")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved user by username",
+                content = @Content(schema = @Schema(implementation = UserDTO.class))),
+        @ApiResponse(responseCode = "404", description = "User not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/profile/{username}")
+    public Mono<UserDTO> getUserByUsername(@PathVariable String username) {
+        return userService.getUserByUsername(username);
+    }
+
+    /**
+     * Obtiene un usuario por su identificador único.
+     *
+     * @param userId Identificador único del usuario.
+     * @return UserDTO, o 404 si no existe.
+     */
+    @Operation(summary = "Get user by ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved user",
+                content = @Content(schema = @Schema(implementation = UserDTO.class))),
+        @ApiResponse(responseCode = "404", description = "User not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/user/{userId}")
+    public Mono<UserDTO> getUserByUserId(@PathVariable(name = "userId") Long userId) {
+        return userService.getUserByUserId(userId);
+    }
+}
@@ -0,0 +1,20 @@
+package com.vedruna.redsocial.reactive.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO (Data Transfer Object) que representa un comentario en la red social. Tiene la misma forma JSON que el
+ * CommentDTO de la API principal.
+ */
+@Getter
+@Setter
+public class CommentDTO {
+
+    private Long userId;
+    private Long publicationId;
+    private String text;
+    private LocalDateTime creationDate;
+}
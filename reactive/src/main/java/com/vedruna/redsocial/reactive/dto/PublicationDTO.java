@@ -0,0 +1,26 @@
+package com.vedruna.redsocial.reactive.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO (Data Transfer Object) que representa una publicación en la red social. Tiene la misma forma JSON que el
+ * PublicationDTO de la API principal.
+ */
+@Getter
+@Setter
+public class PublicationDTO {
+
+    private Long publicationId;
+    private Long authorId;
+    private String text;
+    private String imageURL;
+    private LocalDateTime creationDate;
+    private LocalDateTime editionDate;
+    private Long commentCount;
+    private List<CommentDTO> latestComments;
+    private Long reactionCount;
+}
@@ -0,0 +1,21 @@
+package com.vedruna.redsocial.reactive.dto;
+
+import java.time.LocalDate;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO (Data Transfer Object) que representa a un usuario en la red social. Tiene la misma forma JSON que el
+ * UserDTO de la API principal (sin la contraseña, que nunca se lee).
+ */
+@Getter
+@Setter
+public class UserDTO {
+
+    private Long userId;
+    private String userName;
+    private String email;
+    private String description;
+    private LocalDate creationDate;
+}
@@ -0,0 +1,95 @@
+package com.vedruna.redsocial.reactive.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.vedruna.redsocial.reactive.dto.CommentDTO;
+
+import io.r2dbc.spi.Row;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de lectura de comentarios con R2DBC.
+ */
+@Repository
+public class CommentReadRepository {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Constructor de la clase CommentReadRepository.
+     *
+     * @param databaseClient Cliente R2DBC.
+     */
+    @Autowired
+    public CommentReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Obtiene los comentarios de una publicación.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return Comentarios de la publicación ordenados por identificador.
+     */
+    public Flux<CommentDTO> findByPublicationId(Long publicationId) {
+        return databaseClient.sql("SELECT c.rs_comment_publication_id, c.rs_comment_user_id, c.rs_comment_text, "
+                        + "c.rs_comment_creation_date FROM rs_comment c "
+                        + "WHERE c.rs_comment_publication_id = :publicationId ORDER BY c.rs_comment_id")
+                .bind("publicationId", publicationId)
+                .map((row, metadata) -> toDTO(row))
+                .all();
+    }
+
+    /**
+     * Cuenta los comentarios de varias publicaciones en una única consulta.
+     *
+     * @param publicationIds Identificadores únicos de las publicaciones.
+     * @return Número de comentarios por publicación (solo las que tienen alguno).
+     */
+    public Mono<Map<Long, Long>> countByPublicationIds(Collection<Long> publicationIds) {
+        return databaseClient.sql("SELECT c.rs_comment_publication_id, COUNT(*) AS comment_count FROM rs_comment c "
+                        + "WHERE c.rs_comment_publication_id IN (:publicationIds) GROUP BY c.rs_comment_publication_id")
+                .bind("publicationIds", publicationIds)
+                .map((row, metadata) -> Map.entry(row.get("rs_comment_publication_id", Long.class),
+                        row.get("comment_count", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * Obtiene los últimos comentarios de cada publicación indicada en una única consulta con ventana.
+     *
+     * @param publicationIds Identificadores únicos de las publicaciones.
+     * @param limit          Número máximo de comentarios por publicación.
+     * @return Comentarios más recientes de cada publicación, ordenados por publicación y fecha descendente.
+     */
+    public Flux<CommentDTO> findLatestByPublicationIds(Collection<Long> publicationIds, int limit) {
+        return databaseClient.sql("SELECT ranked.rs_comment_publication_id, ranked.rs_comment_user_id, "
+                        + "ranked.rs_comment_text, ranked.rs_comment_creation_date "
+                        + "FROM (SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.rs_comment_publication_id "
+                        + "ORDER BY c.rs_comment_creation_date DESC, c.rs_comment_id DESC) AS rn "
+                        + "FROM rs_comment c WHERE c.rs_comment_publication_id IN (:publicationIds)) ranked "
+                        + "WHERE ranked.rn <= :limit "
+                        + "ORDER BY ranked.rs_comment_publication_id, ranked.rn")
+                .bind("publicationIds", publicationIds)
+                .bind("limit", limit)
+                .map((row, metadata) -> toDTO(row))
+                .all();
+    }
+
+    private static CommentDTO toDTO(Row row) {
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setPublicationId(row.get("rs_comment_publication_id", Long.class));
+        commentDTO.setUserId(row.get("rs_comment_user_id", Long.class));
+        commentDTO.setText(row.get("rs_comment_text", String.class));
+        commentDTO.setCreationDate(row.get("rs_comment_creation_date", LocalDateTime.class));
+        return commentDTO;
+    }
+}
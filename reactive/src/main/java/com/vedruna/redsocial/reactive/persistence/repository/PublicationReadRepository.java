@@ -0,0 +1,105 @@
+package com.vedruna.redsocial.reactive.persistence.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.vedruna.redsocial.reactive.dto.PublicationDTO;
+
+import io.r2dbc.spi.Row;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de lectura de publicaciones con R2DBC. Cada publicación se lee junto a su número de reacciones
+ * (RS_REACTION_COUNT, que la API principal actualiza cada pocos segundos).
+ *
+ * Los resultados se emiten fila a fila: quien se suscribe marca el ritmo de lectura.
+ */
+@Repository
+public class PublicationReadRepository {
+
+    private static final String SELECT = "SELECT p.rs_publication_id, p.rs_publication_author, p.rs_publication_text, "
+            + "p.rs_publication_image, p.rs_publication_creation_date, p.rs_publication_edition_date, "
+            + "COALESCE(rc.rs_reaction_count_total, 0) AS reaction_count "
+            + "FROM rs_publication p "
+            + "LEFT JOIN rs_reaction_count rc ON rc.rs_reaction_count_publication_id = p.rs_publication_id ";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Constructor de la clase PublicationReadRepository.
+     *
+     * @param databaseClient Cliente R2DBC.
+     */
+    @Autowired
+    public PublicationReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Obtiene todas las publicaciones.
+     *
+     * @return Publicaciones ordenadas por identificador.
+     */
+    public Flux<PublicationDTO> findAll() {
+        return databaseClient.sql(SELECT + "ORDER BY p.rs_publication_id")
+                .map((row, metadata) -> toDTO(row))
+                .all();
+    }
+
+    /**
+     * Obtiene las publicaciones de un usuario.
+     *
+     * @param userId Identificador único del autor.
+     * @return Publicaciones del usuario ordenadas por identificador.
+     */
+    public Flux<PublicationDTO> findByAuthorUserId(Long userId) {
+        return databaseClient.sql(SELECT + "WHERE p.rs_publication_author = :userId ORDER BY p.rs_publication_id")
+                .bind("userId", userId)
+                .map((row, metadata) -> toDTO(row))
+                .all();
+    }
+
+    /**
+     * Obtiene las publicaciones de los usuarios a los que sigue un usuario.
+     *
+     * @param userId Identificador único del seguidor.
+     * @return Publicaciones de los usuarios seguidos ordenadas por identificador.
+     */
+    public Flux<PublicationDTO> findByFollowerUserId(Long userId) {
+        return databaseClient.sql(SELECT
+                        + "JOIN rs_follow f ON f.rs_follow_followed = p.rs_publication_author "
+                        + "WHERE f.rs_follow_follower = :userId ORDER BY p.rs_publication_id")
+                .bind("userId", userId)
+                .map((row, metadata) -> toDTO(row))
+                .all();
+    }
+
+    /**
+     * Obtiene una publicación por su identificador.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return Publicación, o un Mono vacío si no existe.
+     */
+    public Mono<PublicationDTO> findById(Long publicationId) {
+        return databaseClient.sql(SELECT + "WHERE p.rs_publication_id = :publicationId")
+                .bind("publicationId", publicationId)
+                .map((row, metadata) -> toDTO(row))
+                .one();
+    }
+
+    private static PublicationDTO toDTO(Row row) {
+        PublicationDTO publicationDTO = new PublicationDTO();
+        publicationDTO.setPublicationId(row.get("rs_publication_id", Long.class));
+        publicationDTO.setAuthorId(row.get("rs_publication_author", Long.class));
+        publicationDTO.setText(row.get("rs_publication_text", String.class));
+        publicationDTO.setImageURL(row.get("rs_publication_image", String.class));
+        publicationDTO.setCreationDate(row.get("rs_publication_creation_date", LocalDateTime.class));
+        publicationDTO.setEditionDate(row.get("rs_publication_edition_date", LocalDateTime.class));
+        publicationDTO.setReactionCount(row.get("reaction_count", Long.class));
+        return publicationDTO;
+    }
+}
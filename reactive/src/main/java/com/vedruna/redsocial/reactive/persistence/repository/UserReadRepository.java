@@ -0,0 +1,70 @@
+package com.vedruna.redsocial.reactive.persistence.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.vedruna.redsocial.reactive.dto.UserDTO;
+
+import io.r2dbc.spi.Row;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de lectura de usuarios con R2DBC. Nunca se lee la contraseña.
+ */
+@Repository
+public class UserReadRepository {
+
+    private static final String SELECT = "SELECT u.rs_user_id, u.rs_user_name, u.rs_user_email, u.rs_user_description, "
+            + "u.rs_user_creation_date FROM rs_user u ";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Constructor de la clase UserReadRepository.
+     *
+     * @param databaseClient Cliente R2DBC.
+     */
+    @Autowired
+    public UserReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Obtiene un usuario por su identificador.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Usuario, o un Mono vacío si no existe.
+     */
+    public Mono<UserDTO> findById(Long userId) {
+        return databaseClient.sql(SELECT + "WHERE u.rs_user_id = :userId")
+                .bind("userId", userId)
+                .map((row, metadata) -> toDTO(row))
+                .one();
+    }
+
+    /**
+     * Obtiene un usuario por su nombre de usuario.
+     *
+     * @param userName Nombre de usuario.
+     * @return Usuario, o un Mono vacío si no existe.
+     */
+    public Mono<UserDTO> findByUserName(String userName) {
+        return databaseClient.sql(SELECT + "WHERE u.rs_user_name = :userName")
+                .bind("userName", userName)
+                .map((row, metadata) -> toDTO(row))
+                .one();
+    }
+
+    private static UserDTO toDTO(Row row) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUserId(row.get("rs_user_id", Long.class));
+        userDTO.setUserName(row.get("rs_user_name", String.class));
+        userDTO.setEmail(row.get("rs_user_email", String.class));
+        userDTO.setDescription(row.get("rs_user_description", String.class));
+        userDTO.setCreationDate(row.get("rs_user_creation_date", LocalDate.class));
+        return userDTO;
+    }
+}
@@ -0,0 +1,31 @@
+package com.vedruna.redsocial.reactive.service;
+
+import java.util.List;
+
+import com.vedruna.redsocial.reactive.dto.CommentDTO;
+import com.vedruna.redsocial.reactive.dto.PublicationDTO;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Interfaz que define la lectura reactiva de comentarios (equivalente a la parte de lectura de CommentServiceI).
+ */
+public interface ReactiveCommentServiceI {
+
+    /**
+     * Obtiene los comentarios de una publicación.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return Flujo de DTO de los comentarios.
+     */
+    Flux<CommentDTO> getCommentsByPublicationId(Long publicationId);
+
+    /**
+     * Completa cada publicación con su número de comentarios y los últimos comentarios.
+     *
+     * @param publications Publicaciones a completar.
+     * @return Las mismas publicaciones, completadas.
+     */
+    Mono<List<PublicationDTO>> attachCommentSummaries(List<PublicationDTO> publications);
+}
@@ -0,0 +1,85 @@
+package com.vedruna.redsocial.reactive.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.vedruna.redsocial.reactive.dto.CommentDTO;
+import com.vedruna.redsocial.reactive.dto.PublicationDTO;
+import com.vedruna.redsocial.reactive.persistence.repository.CommentReadRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementación de la interfaz ReactiveCommentServiceI.
+ */
+@Service
+public class ReactiveCommentServiceImpl implements ReactiveCommentServiceI {
+
+    private final CommentReadRepository commentRepository;
+
+    private final int commentPreviewLimit;
+
+    /**
+     * Constructor de la clase ReactiveCommentServiceImpl.
+     *
+     * @param commentRepository   Repositorio de lectura de comentarios.
+     * @param commentPreviewLimit Número de comentarios de vista previa por publicación.
+     */
+    @Autowired
+    public ReactiveCommentServiceImpl(CommentReadRepository commentRepository,
+            @Value("${redsocial.feed.comment-previews:3}") int commentPreviewLimit) {
+        this.commentRepository = commentRepository;
+        this.commentPreviewLimit = commentPreviewLimit;
+    }
+
+    /**
+     * Obtiene los comentarios de una publicación.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return Flujo de DTO de los comentarios.
+     */
+    @Override
+    public Flux<CommentDTO> getCommentsByPublicationId(Long publicationId) {
+        return commentRepository.findByPublicationId(publicationId);
+    }
+
+    /**
+     * Completa cada publicación con su número de comentarios y los últimos comentarios. El recuento y las vistas
+     * previas se consultan a la vez, una consulta de cada tipo para todo el lote.
+     *
+     * @param publications Publicaciones a completar.
+     * @return Las mismas publicaciones, completadas.
+     */
+    @Override
+    public Mono<List<PublicationDTO>> attachCommentSummaries(List<PublicationDTO> publications) {
+        if (publications.isEmpty()) {
+            return Mono.just(publications);
+        }
+        List<Long> publicationIds = publications.stream()
+                .map(PublicationDTO::getPublicationId)
+                .collect(Collectors.toList());
+
+        Mono<Map<Long, Collection<CommentDTO>>> previews = commentPreviewLimit > 0
+                ? commentRepository.findLatestByPublicationIds(publicationIds, commentPreviewLimit)
+                        .collectMultimap(CommentDTO::getPublicationId)
+                : Mono.just(Collections.emptyMap());
+
+        return Mono.zip(commentRepository.countByPublicationIds(publicationIds), previews)
+                .map(summaries -> {
+                    for (PublicationDTO publication : publications) {
+                        Collection<CommentDTO> latest = summaries.getT2().get(publication.getPublicationId());
+                        publication.setCommentCount(summaries.getT1().getOrDefault(publication.getPublicationId(), 0L));
+                        publication.setLatestComments(latest == null ? Collections.emptyList() : List.copyOf(latest));
+                    }
+                    return publications;
+                });
+    }
+}
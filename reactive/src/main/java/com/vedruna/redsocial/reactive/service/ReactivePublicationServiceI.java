@@ -0,0 +1,44 @@
+package com.vedruna.redsocial.reactive.service;
+
+import com.vedruna.redsocial.reactive.dto.PublicationDTO;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Interfaz que define la lectura reactiva de publicaciones (equivalente a la parte de lectura de
+ * PublicationServiceI).
+ */
+public interface ReactivePublicationServiceI {
+
+    /**
+     * Obtiene todas las publicaciones en la red social.
+     *
+     * @return Flujo de DTO de las publicaciones.
+     */
+    Flux<PublicationDTO> getAllPublications();
+
+    /**
+     * Obtiene las publicaciones de un usuario específico.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Flujo de DTO de las publicaciones del usuario.
+     */
+    Flux<PublicationDTO> getPublicationsByUser(Long userId);
+
+    /**
+     * Obtiene las publicaciones de los usuarios seguidos por un usuario específico.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Flujo de DTO de las publicaciones, o un error 404 si el usuario no existe.
+     */
+    Flux<PublicationDTO> getPublicationsByUsersFollowed(Long userId);
+
+    /**
+     * Obtiene una publicación por su identificador único.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return DTO de la publicación, o un error 404 si no existe.
+     */
+    Mono<PublicationDTO> getPublicationByPublicationId(Long publicationId);
+}
@@ -0,0 +1,104 @@
+package com.vedruna.redsocial.reactive.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.vedruna.redsocial.reactive.dto.PublicationDTO;
+import com.vedruna.redsocial.reactive.persistence.repository.PublicationReadRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementación de la interfaz ReactivePublicationServiceI.
+ *
+ * Los listados se emiten por lotes: las filas se agrupan en lotes de redsocial.reactive.summary-batch-size, cada
+ * lote se completa con sus resúmenes de comentarios y se emite antes de pedir el siguiente. Así la memoria por
+ * petición está acotada por el tamaño del lote y no por el del listado, y un cliente lento frena la lectura de
+ * la base de datos en lugar de acumular filas.
+ */
+@Service
+public class ReactivePublicationServiceImpl implements ReactivePublicationServiceI {
+
+    private final PublicationReadRepository publicationRepository;
+
+    private final ReactiveCommentServiceI commentService;
+
+    private final ReactiveUserServiceI userService;
+
+    private final int summaryBatchSize;
+
+    /**
+     * Constructor de la clase ReactivePublicationServiceImpl.
+     *
+     * @param publicationRepository Repositorio de lectura de publicaciones.
+     * @param commentService        Servicio de lectura de comentarios.
+     * @param userService           Servicio de lectura de usuarios.
+     * @param summaryBatchSize      Número de publicaciones que se completan juntas.
+     */
+    @Autowired
+    public ReactivePublicationServiceImpl(PublicationReadRepository publicationRepository,
+            ReactiveCommentServiceI commentService, ReactiveUserServiceI userService,
+            @Value("${redsocial.reactive.summary-batch-size:100}") int summaryBatchSize) {
+        this.publicationRepository = publicationRepository;
+        this.commentService = commentService;
+        this.userService = userService;
+        this.summaryBatchSize = summaryBatchSize;
+    }
+
+    /**
+     * Obtiene todas las publicaciones en la red social.
+     *
+     * @return Flujo de DTO de las publicaciones.
+     */
+    @Override
+    public Flux<PublicationDTO> getAllPublications() {
+        return withSummaries(publicationRepository.findAll());
+    }
+
+    /**
+     * Obtiene las publicaciones de un usuario específico.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Flujo de DTO de las publicaciones del usuario.
+     */
+    @Override
+    public Flux<PublicationDTO> getPublicationsByUser(Long userId) {
+        return withSummaries(publicationRepository.findByAuthorUserId(userId));
+    }
+
+    /**
+     * Obtiene las publicaciones de los usuarios seguidos por un usuario específico.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Flujo de DTO de las publicaciones, o un error 404 si el usuario no existe.
+     */
+    @Override
+    public Flux<PublicationDTO> getPublicationsByUsersFollowed(Long userId) {
+        return userService.getUserByUserId(userId)
+                .thenMany(withSummaries(publicationRepository.findByFollowerUserId(userId)));
+    }
+
+    /**
+     * Obtiene una publicación por su identificador único.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return DTO de la publicación, o un error 404 si no existe.
+     */
+    @Override
+    public Mono<PublicationDTO> getPublicationByPublicationId(Long publicationId) {
+        return publicationRepository.findById(publicationId)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Publicación no encontrada")));
+    }
+
+    private Flux<PublicationDTO> withSummaries(Flux<PublicationDTO> publications) {
+        return publications
+                .buffer(summaryBatchSize)
+                .concatMap(batch -> commentService.attachCommentSummaries(batch))
+                .flatMapIterable(batch -> batch);
+    }
+}
@@ -0,0 +1,27 @@
+package com.vedruna.redsocial.reactive.service;
+
+import com.vedruna.redsocial.reactive.dto.UserDTO;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Interfaz que define la lectura reactiva de usuarios (equivalente a la parte de lectura de UserServiceI).
+ */
+public interface ReactiveUserServiceI {
+
+    /**
+     * Obtiene un usuario por su nombre de usuario.
+     *
+     * @param username Nombre de usuario.
+     * @return DTO del usuario, o un error 404 si no existe.
+     */
+    Mono<UserDTO> getUserByUsername(String username);
+
+    /**
+     * Obtiene un usuario por su identificador.
+     *
+     * @param userId Identificador único del usuario.
+     * @return DTO del usuario, o un error 404 si no existe.
+     */
+    Mono<UserDTO> getUserByUserId(Long userId);
+}
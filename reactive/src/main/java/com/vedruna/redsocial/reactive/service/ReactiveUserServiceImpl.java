@@ -0,0 +1,56 @@
+package com.vedruna.redsocial.reactive.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.vedruna.redsocial.reactive.dto.UserDTO;
+import com.vedruna.redsocial.reactive.persistence.repository.UserReadRepository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementación de la interfaz ReactiveUserServiceI.
+ */
+@Service
+public class ReactiveUserServiceImpl implements ReactiveUserServiceI {
+
+    private final UserReadRepository userRepository;
+
+    /**
+     * Constructor de la clase ReactiveUserServiceImpl.
+     *
+     * @param userRepository Repositorio de lectura de usuarios.
+     */
+    @Autowired
+    public ReactiveUserServiceImpl(UserReadRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Obtiene un usuario por su nombre de usuario.
+     *
+     * @param username Nombre de usuario.
+     * @return DTO del usuario, o un error 404 si no existe.
+     */
+    @Override
+    public Mono<UserDTO> getUserByUsername(String username) {
+        return userRepository.findByUserName(username)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Usuario no encontrado " + username)));
+    }
+
+    /**
+     * Obtiene un usuario por su identificador.
+     *
+     * @param userId Identificador único del usuario.
+     * @return DTO del usuario, o un error 404 si no existe.
+     */
+    @Override
+    public Mono<UserDTO> getUserByUserId(Long userId) {
+        return userRepository.findById(userId)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Usuario no encontrado con ID: " + userId)));
+    }
+}
@@ -3,8 +3,10 @@ package com.vedruna.redsocial;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class RedSocialApplication {
 
     public static void main(String[] args) {
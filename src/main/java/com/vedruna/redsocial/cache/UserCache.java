@@ -0,0 +1,214 @@
+package com.vedruna.redsocial.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vedruna.redsocial.dto.UserDTO;
+import com.vedruna.redsocial.persistence.model.User;
+import com.vedruna.redsocial.persistence.repository.UserRepositoryI;
+import com.vedruna.redsocial.util.BoundedExecutors;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Caché acotada y con caducidad de los usuarios de la red social, por identificador y por nombre de usuario.
+ *
+ * Guarda copias inmutables de UserDTO (nunca entidades JPA) y publica la tasa de aciertos y la latencia de
+ * carga como métricas "cache.*" con los nombres "users.byId" y "users.byName".
+ *
+ * Las cargas desde la base de datos se ejecutan en un ejecutor propio y no dentro del cómputo atómico del
+ * mapa de Caffeine (que usa bloques synchronized): así un hilo virtual que espera a JDBC no bloquea su hilo
+ * portador.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepositoryI userRepository;
+
+    private final ExecutorService loadExecutor;
+
+    private final AsyncLoadingCache<Long, UserDTO> usersById;
+
+    private final AsyncLoadingCache<String, Long> userIdsByName;
+
+    /**
+     * Constructor de la clase UserCache.
+     *
+     * @param userRepository Repositorio de usuarios.
+     * @param meterRegistry  Registro de métricas.
+     * @param maximumSize    Número máximo de usuarios en caché.
+     * @param ttl            Tiempo de vida de cada entrada.
+     * @param loadThreads    Número máximo de hilos de plataforma para las cargas.
+     * @param virtualThreads Si es true, las cargas se ejecutan en hilos virtuales.
+     */
+    @Autowired
+    public UserCache(UserRepositoryI userRepository, MeterRegistry meterRegistry,
+            @Value("${redsocial.cache.users.maximum-size:10000}") long maximumSize,
+            @Value("${redsocial.cache.users.ttl:10m}") Duration ttl,
+            @Value("${redsocial.cache.users.load-threads:8}") int loadThreads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.userRepository = userRepository;
+        this.loadExecutor = BoundedExecutors.forBlockingTasks("user-cache", loadThreads, 1000, virtualThreads);
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .executor(loadExecutor)
+                .recordStats()
+                .buildAsync(new CacheLoader<Long, UserDTO>() {
+                    @Override
+                    public UserDTO load(Long userId) {
+                        return loadById(userId);
+                    }
+
+                    @Override
+                    public Map<Long, UserDTO> loadAll(Set<? extends Long> userIds) {
+                        return loadAllById(userIds);
+                    }
+                });
+        this.userIdsByName = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .executor(loadExecutor)
+                .recordStats()
+                .buildAsync(this::loadIdByName);
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById.synchronous(), "users.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, userIdsByName.synchronous(), "users.byName");
+    }
+
+    /**
+     * Detiene el ejecutor de cargas al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void shutdown() {
+        loadExecutor.shutdown();
+    }
+
+    /**
+     * Obtiene un usuario por su identificador único.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Copia del usuario, o un Optional vacío si no existe.
+     */
+    public Optional<UserDTO> getById(Long userId) {
+        return Optional.ofNullable(usersById.get(userId).join()).map(UserCache::copyOf);
+    }
+
+    /**
+     * Obtiene varios usuarios por su identificador. Los que no están en caché se cargan con una única consulta.
+     *
+     * @param userIds Identificadores únicos de los usuarios.
+     * @return Copias de los usuarios encontrados, por identificador (los inexistentes no aparecen).
+     */
+    public Map<Long, UserDTO> getAllById(Collection<Long> userIds) {
+        return usersById.getAll(userIds).join().values().stream()
+                .map(UserCache::copyOf)
+                .collect(Collectors.toMap(UserDTO::getUserId, Function.identity()));
+    }
+
+    /**
+     * Obtiene un usuario por su nombre de usuario.
+     *
+     * @param userName Nombre de usuario.
+     * @return Copia del usuario, o un Optional vacío si no existe.
+     */
+    public Optional<UserDTO> getByUserName(String userName) {
+        Long userId = userIdsByName.get(normalize(userName)).join();
+        return userId == null ? Optional.empty() : getById(userId);
+    }
+
+    /**
+     * Indica si existe un usuario con el identificador dado.
+     *
+     * @param userId Identificador único del usuario.
+     * @return true si el usuario existe.
+     */
+    public boolean exists(Long userId) {
+        return usersById.get(userId).join() != null;
+    }
+
+    /**
+     * Invalida las entradas de un usuario. Si hay una transacción activa, vuelve a invalidarlas tras el commit
+     * para que ninguna lectura concurrente deje en caché el estado anterior.
+     *
+     * @param user Usuario modificado.
+     */
+    public void invalidate(User user) {
+        evict(user.getUserId(), user.getUserName());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Long userId = user.getUserId();
+            String userName = user.getUserName();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId, userName);
+                }
+            });
+        }
+    }
+
+    private void evict(Long userId, String userName) {
+        if (userId != null) {
+            usersById.synchronous().invalidate(userId);
+        }
+        if (userName != null) {
+            userIdsByName.synchronous().invalidate(normalize(userName));
+        }
+    }
+
+    private UserDTO loadById(Long userId) {
+        return userRepository.findById(userId).map(UserDTO::fromEntity).orElse(null);
+    }
+
+    private Map<Long, UserDTO> loadAllById(Set<? extends Long> userIds) {
+        return userRepository.findAllById(new ArrayList<Long>(userIds)).stream()
+                .map(UserDTO::fromEntity)
+                .collect(Collectors.toMap(UserDTO::getUserId, Function.identity()));
+    }
+
+    private Long loadIdByName(String userName) {
+        return userRepository.findByUserName(userName)
+                .map(user -> {
+                    usersById.put(user.getUserId(), CompletableFuture.completedFuture(UserDTO.fromEntity(user)));
+                    return user.getUserId();
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Los nombres de usuario se comparan sin distinguir mayúsculas, igual que la colación de MySQL.
+     */
+    private static String normalize(String userName) {
+        return userName.toLowerCase(Locale.ROOT);
+    }
+
+    private static UserDTO copyOf(UserDTO user) {
+        UserDTO copy = new UserDTO();
+        copy.setUserId(user.getUserId());
+        copy.setUserName(user.getUserName());
+        copy.setEmail(user.getEmail());
+        copy.setDescription(user.getDescription());
+        copy.setCreationDate(user.getCreationDate());
+        return copy;
+    }
+}
@@ -0,0 +1,69 @@
+package com.vedruna.redsocial.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.vedruna.redsocial.dto.BatchItemDTO;
+import com.vedruna.redsocial.dto.BatchResultDTO;
+import com.vedruna.redsocial.web.BatchDispatcher;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Controlador que agrupa varias peticiones de la API en una sola.
+ */
+@RestController
+@RequestMapping("/api")
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    /**
+     * Constructor de la clase BatchController.
+     *
+     * @param batchDispatcher Ejecutor de subpeticiones.
+     */
+    @Autowired
+    public BatchController(BatchDispatcher batchDispatcher) {
+        this.batchDispatcher = batchDispatcher;
+    }
+
+    /**
+     * Ejecuta varias peticiones de la API en paralelo con una sola autenticación. No se puede llamar desde
+     * una subpetición de otro batch, escriba como se escriba la ruta.
+     *
+     * @param items    Subpeticiones (método, ruta bajo /api/, cabeceras y cuerpo JSON opcionales).
+     * @param request  Petición HTTP actual.
+     * @param response Respuesta HTTP actual.
+     * @return ResponseEntity con el estado, las cabeceras y el cuerpo de cada subpetición, en el mismo orden.
+     */
+    @Operation(summary = "Execute several API requests in one call")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch executed, see the status of each item",
+                content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchResultDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Empty batch, too many items or nested batch"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchResultDTO>> executeBatch(@RequestBody List<BatchItemDTO> items,
+            HttpServletRequest request, HttpServletResponse response) {
+        if (request.getAttribute(BatchDispatcher.SUB_REQUEST_ATTRIBUTE) != null) {
+            throw new IllegalArgumentException("Un batch no puede contener otro batch");
+        }
+        return ResponseEntity.ok(batchDispatcher.dispatch(items, request, response));
+    }
+}
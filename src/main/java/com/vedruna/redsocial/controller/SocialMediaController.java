@@ -1,11 +1,14 @@
 package com.vedruna.redsocial.controller;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,15 +17,25 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.vedruna.redsocial.dto.CommentDTO;
+import com.vedruna.redsocial.dto.ProfileSummaryDTO;
 import com.vedruna.redsocial.dto.PublicationDTO;
+import com.vedruna.redsocial.dto.UserBatchDTO;
 import com.vedruna.redsocial.dto.UserDTO;
 import com.vedruna.redsocial.service.CommentServiceI;
 import com.vedruna.redsocial.service.FollowServiceI;
+import com.vedruna.redsocial.service.ProfileServiceI;
 import com.vedruna.redsocial.service.PublicationServiceI;
+import com.vedruna.redsocial.service.ReactionServiceI;
+import com.vedruna.redsocial.service.UserAutocompleteServiceI;
+import com.vedruna.redsocial.service.UserAvailabilityServiceI;
 import com.vedruna.redsocial.service.UserServiceI;
+import com.vedruna.redsocial.util.SparseFieldsets;
+import com.vedruna.redsocial.web.ConditionalResponses;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -41,6 +54,11 @@ import lombok.extern.slf4j.Slf4j;
 @RestController
 @RequestMapping("/api")
 public class SocialMediaController {
+
+    /**
+     * Smile, el JSON binario de Jackson.
+     */
+    private static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
 	
     private UserServiceI userService;
 
@@ -49,6 +67,16 @@ public class SocialMediaController {
     private PublicationServiceI publicationService;
     
     private CommentServiceI commentService;
+
+    private ReactionServiceI reactionService;
+
+    private UserAvailabilityServiceI userAvailabilityService;
+
+    private UserAutocompleteServiceI userAutocompleteService;
+
+    private ConditionalResponses conditionalResponses;
+
+    private ProfileServiceI profileService;
     
     /**
      * Constructor de la clase SocialMediaController.
@@ -57,14 +85,27 @@ public class SocialMediaController {
      * @param followService       Servicio de seguidores
      * @param publicationService  Servicio de publicaciones
      * @param commentService      Servicio de comentarios
+     * @param reactionService     Servicio de reacciones
+     * @param userAvailabilityService Servicio de disponibilidad de nombres de usuario
+     * @param userAutocompleteService Servicio de autocompletado de nombres de usuario
+     * @param conditionalResponses    Constructor de respuestas para peticiones condicionales
+     * @param profileService          Servicio de perfiles
      */
     @Autowired
     public SocialMediaController(UserServiceI userService, FollowServiceI followService,
-            PublicationServiceI publicationService, CommentServiceI commentService) {
+            PublicationServiceI publicationService, CommentServiceI commentService,
+            ReactionServiceI reactionService, UserAvailabilityServiceI userAvailabilityService,
+            UserAutocompleteServiceI userAutocompleteService, ConditionalResponses conditionalResponses,
+            ProfileServiceI profileService) {
         this.userService = userService;
         this.followService = followService;
         this.publicationService = publicationService;
         this.commentService = commentService;
+        this.reactionService = reactionService;
+        this.userAvailabilityService = userAvailabilityService;
+        this.userAutocompleteService = userAutocompleteService;
+        this.conditionalResponses = conditionalResponses;
+        this.profileService = profileService;
     }
     
 
@@ -78,6 +119,8 @@ public class SocialMediaController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User registered successfully",
                     content = @Content(schema = @Schema(implementation = UserDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Password too short"),
+            @ApiResponse(responseCode = "409", description = "Username or email already in use"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/register")
@@ -104,100 +147,233 @@ public class SocialMediaController {
     }
 
     /**
-     * Obtiene todas las publicaciones almacenadas en el sistema.
+     * Obtiene todas las publicaciones almacenadas en el sistema. Con "fields=" solo se leen y devuelven los
+     * campos pedidos.
      *
+     * @param fields Campos de PublicationDTO separados por comas (opcional).
      * @return ResponseEntity con la lista de PublicationDTO y el estado HTTP correspondiente.
      */
     @Operation(summary = "Get all publications")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved all publications",
         		content = @Content(array = @ArraySchema(schema = @Schema(implementation = PublicationDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Unknown field requested"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    @GetMapping("/publication")
-    public ResponseEntity<List<PublicationDTO>> getAllPublications() {
-        List<PublicationDTO> allPublications = publicationService.getAllPublications();
+    @GetMapping(value = "/publication", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<List<PublicationDTO>> getAllPublications(
+            @Parameter(description = "Comma-separated PublicationDTO fields") @RequestParam(name = "fields", required = false) String fields) {
+        List<PublicationDTO> allPublications = fields == null ? publicationService.getAllPublications()
+                : publicationService.getAllPublications(SparseFieldsets.select(fields, PublicationDTO.FIELDS));
         return new ResponseEntity<>(allPublications, HttpStatus.OK);
     }
 
     /**
-     * Obtiene todos los usuarios registrados en el sistema.
+     * Obtiene todos los usuarios registrados en el sistema. Con "fields=" solo se leen y devuelven los campos
+     * pedidos.
      *
+     * @param fields Campos de UserDTO separados por comas (opcional).
      * @return ResponseEntity con la lista de UserDTO y el estado HTTP correspondiente.
      */
     @Operation(summary = "Get all users")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved all users",
         		content = @Content(array = @ArraySchema(schema = @Schema(implementation = UserDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Unknown field requested"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/user/all")
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> users = userService.getAllUsers();
+    public ResponseEntity<List<UserDTO>> getAllUsers(
+            @Parameter(description = "Comma-separated UserDTO fields") @RequestParam(name = "fields", required = false) String fields) {
+        List<UserDTO> users = fields == null ? userService.getAllUsers()
+                : userService.getAllUsers(SparseFieldsets.select(fields, UserDTO.FIELDS));
         return new ResponseEntity<>(users, HttpStatus.OK);
     }
     
+    /**
+     * Comprueba si un nombre de usuario (y opcionalmente un correo electrónico) está libre para el registro.
+     *
+     * @param name  Nombre de usuario a comprobar.
+     * @param email Correo electrónico a comprobar (opcional).
+     * @return ResponseEntity con la disponibilidad y el estado HTTP correspondiente.
+     */
+    @Operation(summary = "Check username availability")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Availability checked successfully"),
+        @ApiResponse(responseCode = "400", description = "Bad request")
+    })
+    @GetMapping("/user/available")
+    public ResponseEntity<Map<String, Object>> isUserAvailable(@RequestParam(name = "name") String name,
+                                                               @RequestParam(name = "email", required = false) String email) {
+        if (name.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<String, Object> availability = new LinkedHashMap<>();
+        availability.put("name", name);
+        availability.put("available", userAvailabilityService.isUserNameAvailable(name));
+        if (email != null) {
+            availability.put("email", email);
+            availability.put("emailAvailable", userAvailabilityService.isEmailAvailable(email));
+        }
+        return ResponseEntity.ok(availability);
+    }
+
+    /**
+     * Sugiere usuarios cuyo nombre empieza por el prefijo dado.
+     *
+     * @param prefix Prefijo del nombre de usuario.
+     * @param limit  Número máximo de sugerencias.
+     * @param boost  Si es true, ordena las sugerencias por número de seguidores.
+     * @return ResponseEntity con la lista de UserDTO (identificador y nombre) y el estado HTTP correspondiente.
+     */
+    @Operation(summary = "Autocomplete usernames by prefix")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions",
+                content = @Content(array = @ArraySchema(schema = @Schema(implementation = UserDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Bad request")
+    })
+    @GetMapping("/user/autocomplete")
+    public ResponseEntity<List<UserDTO>> autocompleteUsers(@RequestParam(name = "prefix") String prefix,
+                                                           @RequestParam(name = "limit", defaultValue = "10") int limit,
+                                                           @RequestParam(name = "boost", defaultValue = "true") boolean boost) {
+        if (prefix.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(userAutocompleteService.autocomplete(prefix, limit, boost));
+    }
+
     /**
      * Obtiene un usuario por su nombre de usuario.
      *
-     * @param username Nombre de usuario del usuario a recuperar.
+     * @param username   Nombre de usuario del usuario a recuperar.
+     * @param webRequest Petición web, para responder 304 si el cliente ya tiene la versión actual.
      * @return ResponseEntity con UserDTO y el estado HTTP correspondiente.
      */
     @Operation(summary = "Get user by username")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved user by username",
                 content = @Content(schema = @Schema(implementation = UserDTO.class))),
+        @ApiResponse(responseCode = "304", description = "User not modified since the given ETag"),
         @ApiResponse(responseCode = "404", description = "User not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/profile/{username}")
-    public ResponseEntity<UserDTO> getUserByUsername(@PathVariable String username) {
+    public ResponseEntity<UserDTO> getUserByUsername(@PathVariable String username, WebRequest webRequest) {
         UserDTO user = userService.getUserByUsername(username);
         if (user != null) {
-            return ResponseEntity.ok(user);
+            return conditionalResponses.ifNoneMatch(webRequest, "profile",
+                    ConditionalResponses.weak("u" + user.version()), () -> user);
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
+    /**
+     * Obtiene el resumen del perfil de un usuario en una sola petición: sus datos, sus publicaciones más
+     * recientes, el número de publicaciones, seguidores y seguidos, y si el usuario autenticado lo sigue o es
+     * seguido por él. Las consultas se ejecutan en paralelo.
+     *
+     * @param username Nombre de usuario del perfil.
+     * @return ResponseEntity con ProfileSummaryDTO y el estado HTTP correspondiente.
+     */
+    @Operation(summary = "Get profile summary by username")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved profile summary",
+                content = @Content(schema = @Schema(implementation = ProfileSummaryDTO.class))),
+        @ApiResponse(responseCode = "404", description = "User not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/profile/{username}/summary", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ProfileSummaryDTO> getProfileSummary(@PathVariable String username) {
+        return ResponseEntity.ok(profileService.getProfileSummary(username));
+    }
+
     /**
      * Obtiene un usuario por su identificador único.
      *
-     * @param userId Identificador único del usuario a recuperar.
+     * @param userId     Identificador único del usuario a recuperar.
+     * @param webRequest Petición web, para responder 304 si el cliente ya tiene la versión actual.
      * @return ResponseEntity con UserDTO y el estado HTTP correspondiente.
      */
     @Operation(summary = "Get user by ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved user",
         		content = @Content(array = @ArraySchema(schema = @Schema(implementation = UserDTO.class)))),
+        @ApiResponse(responseCode = "304", description = "User not modified since the given ETag"),
         @ApiResponse(responseCode = "404", description = "User not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/user/{userId}")
-    public ResponseEntity<UserDTO> getUserByUserId(@PathVariable(name = "userId") Long userId) {
+    public ResponseEntity<UserDTO> getUserByUserId(@PathVariable(name = "userId") Long userId, WebRequest webRequest) {
         UserDTO user = userService.getUserByUserId(userId);
         if (user != null) {
-            return ResponseEntity.ok(user);
+            return conditionalResponses.ifNoneMatch(webRequest, "user",
+                    ConditionalResponses.weak("u" + user.version()), () -> user);
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
+    /**
+     * Obtiene varios usuarios por sus identificadores en una sola petición.
+     *
+     * @param ids Identificadores únicos de los usuarios, separados por comas.
+     * @return ResponseEntity con los usuarios encontrados (en el orden pedido) y los identificadores inexistentes.
+     */
+    @Operation(summary = "Get several users by ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved users",
+                content = @Content(schema = @Schema(implementation = UserBatchDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Too many IDs requested"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/user")
+    public ResponseEntity<UserBatchDTO> getUsersByUserIds(@RequestParam(name = "ids") List<Long> ids) {
+        return ResponseEntity.ok(userService.getUsersByUserIds(ids));
+    }
+
+    /**
+     * Obtiene varios usuarios por sus identificadores recibidos en el cuerpo, para conjuntos grandes.
+     *
+     * @param ids Identificadores únicos de los usuarios.
+     * @return ResponseEntity con los usuarios encontrados (en el orden pedido) y los identificadores inexistentes.
+     */
+    @Operation(summary = "Get several users by ID (large sets)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved users",
+                content = @Content(schema = @Schema(implementation = UserBatchDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Too many IDs requested"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/user/bulk")
+    public ResponseEntity<UserBatchDTO> getUsersByUserIdsInBody(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(userService.getUsersByUserIds(ids));
+    }
+
     /**
      * Obtiene los seguidores de un usuario por su identificador único.
      *
      * @param userId Identificador único del usuario para el cual se recuperan los seguidores.
+     * @param fields Campos de UserDTO separados por comas (opcional); solo reduce la respuesta.
      * @return ResponseEntity con la lista de UserDTO y el estado HTTP correspondiente.
      */
     @Operation(summary = "Get followers by user ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved followers",
         		content = @Content(array = @ArraySchema(schema = @Schema(implementation = UserDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Unknown field requested"),
         @ApiResponse(responseCode = "404", description = "User not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    @GetMapping("/user/{userId}/followers")
-    public ResponseEntity<List<UserDTO>> getFollowersByUserId(@PathVariable(name = "userId") Long userId) {
+    @GetMapping(value = "/user/{userId}/followers", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<List<UserDTO>> getFollowersByUserId(@PathVariable(name = "userId") Long userId,
+            @Parameter(description = "Comma-separated UserDTO fields") @RequestParam(name = "fields", required = false) String fields) {
+        if (fields != null) {
+            SparseFieldsets.select(fields, UserDTO.FIELDS);
+        }
         List<UserDTO> followers = followService.getFollowersByUserId(userId);
         if (followers != null) {
             return ResponseEntity.ok(followers);
@@ -210,17 +386,24 @@ public class SocialMediaController {
      * Obtiene los usuarios seguidos por un usuario por su identificador único.
      *
      * @param userId Identificador único del usuario para el cual se recuperan los usuarios seguidos.
+     * @param fields Campos de UserDTO separados por comas (opcional); solo reduce la respuesta.
      * @return ResponseEntity con la lista de UserDTO y el estado HTTP correspondiente.
      */
     @Operation(summary = "Get users followed by user ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved users followed",
                 content = @Content(array = @ArraySchema(schema = @Schema(implementation = UserDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Unknown field requested"),
         @ApiResponse(responseCode = "404", description = "User not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    @GetMapping("/user/{userId}/following")
-    public ResponseEntity<List<UserDTO>> getFollowingByUserId(@PathVariable(name = "userId") Long userId) {
+    @GetMapping(value = "/user/{userId}/following", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<List<UserDTO>> getFollowingByUserId(@PathVariable(name = "userId") Long userId,
+            @Parameter(description = "Comma-separated UserDTO fields") @RequestParam(name = "fields", required = false) String fields) {
+        if (fields != null) {
+            SparseFieldsets.select(fields, UserDTO.FIELDS);
+        }
         List<UserDTO> following = followService.getFollowingByUserId(userId);
         if (following != null) {
             return ResponseEntity.ok(following);
@@ -239,20 +422,16 @@ public class SocialMediaController {
     @Operation(summary = "Follow a user")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully followed user"),
+        @ApiResponse(responseCode = "403", description = "Not allowed to follow on behalf of another user"),
         @ApiResponse(responseCode = "404", description = "User not found"),
+        @ApiResponse(responseCode = "409", description = "Already following user"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/user/{followerId}/follow/{followedId}")
     public ResponseEntity<Void> followUser(@PathVariable(name = "followerId") Long followerId,
                                            @PathVariable(name = "followedId") Long followedId) {
-        try {
-            followService.followUser(followerId, followedId);
-            return ResponseEntity.ok().build();
-        } catch (Exception e) {
-            log.error("Error during followUser: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        followService.followUser(followerId, followedId);
+        return ResponseEntity.ok().build();
     }
 
     /**
@@ -265,37 +444,37 @@ public class SocialMediaController {
     @Operation(summary = "Unfollow a user")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Successfully unfollowed user"),
+        @ApiResponse(responseCode = "403", description = "Not allowed to unfollow on behalf of another user"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @DeleteMapping("/user/{followerId}/unfollow/{followedId}")
     public ResponseEntity<Void> unfollowUser(@PathVariable(name = "followerId") Long followerId,
                                              @PathVariable(name = "followedId") Long followedId) {
-        try {
-            followService.unfollowUser(followerId, followedId);
-            return ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            log.error("Error during unfollowUser: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        followService.unfollowUser(followerId, followedId);
+        return ResponseEntity.noContent().build();
     }
 
     /**
      * Obtiene las publicaciones realizadas por un usuario por su identificador único.
      *
      * @param userId Identificador único del usuario para el cual se recuperan las publicaciones.
+     * @param fields Campos de PublicationDTO separados por comas (opcional).
      * @return ResponseEntity con la lista de PublicationDTO y el estado HTTP correspondiente.
      */
     @Operation(summary = "Get publications by user ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved publications by user",
                 content = @Content(array = @ArraySchema(schema = @Schema(implementation = PublicationDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Unknown field requested"),
         @ApiResponse(responseCode = "404", description = "User not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    @GetMapping("/user/{userId}/publications")
-    public ResponseEntity<List<PublicationDTO>> getPublicationsByUserId(@PathVariable(name = "userId") Long userId) {
-        List<PublicationDTO> publications = publicationService.getPublicationsByUser(userId);
+    @GetMapping(value = "/user/{userId}/publications", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<List<PublicationDTO>> getPublicationsByUserId(@PathVariable(name = "userId") Long userId,
+            @Parameter(description = "Comma-separated PublicationDTO fields") @RequestParam(name = "fields", required = false) String fields) {
+        List<PublicationDTO> publications = fields == null ? publicationService.getPublicationsByUser(userId)
+                : publicationService.getPublicationsByUser(userId, SparseFieldsets.select(fields, PublicationDTO.FIELDS));
         if (publications != null) {
             return ResponseEntity.ok(publications);
         } else {
@@ -306,24 +485,39 @@ public class SocialMediaController {
     /**
      * Obtiene el feed de un usuario por su identificador único, que incluye las publicaciones de los usuarios seguidos.
      *
-     * @param userId Identificador único del usuario para el cual se recupera el feed.
+     * La versión del feed se calcula con consultas de agregación antes de construirlo; si coincide con el ETag
+     * del cliente se responde 304 sin cargar las publicaciones.
+     *
+     * @param userId     Identificador único del usuario para el cual se recupera el feed.
+     * @param fields     Campos de PublicationDTO separados por comas (opcional); forman parte del ETag.
+     * @param webRequest Petición web, para responder 304 si el cliente ya tiene la versión actual.
      * @return ResponseEntity con la lista de PublicationDTO y el estado HTTP correspondiente.
      */
     @Operation(summary = "Get feed by user ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved feed",
                 content = @Content(array = @ArraySchema(schema = @Schema(implementation = PublicationDTO.class)))),
+        @ApiResponse(responseCode = "304", description = "Feed not modified since the given ETag"),
+        @ApiResponse(responseCode = "400", description = "Unknown field requested"),
         @ApiResponse(responseCode = "404", description = "User not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    @GetMapping("/user/{userId}/feed")
-    public ResponseEntity<List<PublicationDTO>> getFeedByUserId(@PathVariable(name = "userId") Long userId) {
-        List<PublicationDTO> feed = publicationService.getPublicationsByUsersFollowed(userId);
-        if (feed != null) {
-            return ResponseEntity.ok(feed);
-        } else {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    @GetMapping(value = "/user/{userId}/feed", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<List<PublicationDTO>> getFeedByUserId(@PathVariable(name = "userId") Long userId,
+            @Parameter(description = "Comma-separated PublicationDTO fields") @RequestParam(name = "fields", required = false) String fields,
+            WebRequest webRequest) {
+        if (fields == null) {
+            String etag = ConditionalResponses.weak("feed-" + userId + "-" + publicationService.getFeedVersion(userId));
+            return conditionalResponses.ifNoneMatch(webRequest, "feed", etag,
+                    () -> publicationService.getPublicationsByUsersFollowed(userId));
         }
+
+        Set<String> selected = SparseFieldsets.select(fields, PublicationDTO.FIELDS);
+        String etag = ConditionalResponses.weak("feed-" + userId + "-" + String.join(",", selected) + "-"
+                + publicationService.getFeedVersion(userId));
+        return conditionalResponses.ifNoneMatch(webRequest, "feed", etag,
+                () -> publicationService.getPublicationsByUsersFollowed(userId, selected));
     }
 
     /**
@@ -338,6 +532,7 @@ public class SocialMediaController {
         @ApiResponse(responseCode = "201", description = "Publication created successfully",
                 content = @Content(schema = @Schema(implementation = PublicationDTO.class))),
         @ApiResponse(responseCode = "400", description = "Bad request"),
+        @ApiResponse(responseCode = "403", description = "Not allowed to publish on behalf of another user"),
         @ApiResponse(responseCode = "404", description = "User not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
@@ -349,15 +544,9 @@ public class SocialMediaController {
                                                                    required = true
                                                            )
                                                            @RequestBody PublicationDTO publicationDTO) {
-        try {
-            System.out.println("Received request to create publication for user " + userId);
-            PublicationDTO createdPublication = publicationService.createPublication(userId, publicationDTO);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdPublication);
-        } catch (Exception e) {
-            log.error("Error during createPublication: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        System.out.println("Received request to create publication for user " + userId);
+        PublicationDTO createdPublication = publicationService.createPublication(userId, publicationDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdPublication);
     }
 
     /**
@@ -372,6 +561,7 @@ public class SocialMediaController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Publication edited successfully",
                 content = @Content(schema = @Schema(implementation = PublicationDTO.class))),
+        @ApiResponse(responseCode = "403", description = "Not allowed to edit on behalf of another user"),
         @ApiResponse(responseCode = "404", description = "Publication not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
@@ -379,14 +569,8 @@ public class SocialMediaController {
     public ResponseEntity<PublicationDTO> editPublication(@PathVariable(name = "userId") Long userId,
                                                          @PathVariable(name = "publicationId") Long publicationId,
                                                          @RequestBody PublicationDTO publicationDTO) {
-        try {
-            PublicationDTO editedPublication = publicationService.editPublication(userId, publicationId, publicationDTO);
-            return ResponseEntity.ok(editedPublication);
-        } catch (Exception e) {
-            log.error("Error during editPublication: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        PublicationDTO editedPublication = publicationService.editPublication(userId, publicationId, publicationDTO);
+        return ResponseEntity.ok(editedPublication);
     }
 
     /**
@@ -399,49 +583,38 @@ public class SocialMediaController {
     @Operation(summary = "Delete a publication")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Publication deleted successfully"),
+        @ApiResponse(responseCode = "403", description = "Not allowed to delete on behalf of another user"),
         @ApiResponse(responseCode = "404", description = "Publication not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @DeleteMapping("/user/{userId}/publication/{publicationId}")
     public ResponseEntity<Void> deletePublication(@PathVariable(name = "userId") Long userId,
                                                   @PathVariable(name = "publicationId") Long publicationId) {
-        try {
-            publicationService.deletePublication(userId, publicationId);
-            return ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            log.error("Error during deletePublication: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        publicationService.deletePublication(userId, publicationId);
+        return ResponseEntity.noContent().build();
     }
 
     /**
      * Obtiene una publicación por su identificador único.
      *
      * @param publicationId Identificador único de la publicación a recuperar.
+     * @param webRequest    Petición web, para responder 304 si el cliente ya tiene la versión actual.
      * @return ResponseEntity con PublicationDTO y el estado HTTP correspondiente.
      */
     @Operation(summary = "Get publication by ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved publication by ID",
                 content = @Content(schema = @Schema(implementation = PublicationDTO.class))),
+        @ApiResponse(responseCode = "304", description = "Publication not modified since the given ETag"),
         @ApiResponse(responseCode = "404", description = "Publication not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/publication/{publicationId}")
-    public ResponseEntity<PublicationDTO> getPublicationById(@PathVariable("publicationId") Long publicationId) {
-        try {
-            PublicationDTO publication = publicationService.getPublicationByPublicationId(publicationId);
-            if (publication != null) {
-                return ResponseEntity.ok(publication);
-            } else {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-            }
-        } catch (Exception e) {
-            log.error("Error during getPublicationById: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+    public ResponseEntity<PublicationDTO> getPublicationById(@PathVariable("publicationId") Long publicationId,
+            WebRequest webRequest) {
+        String etag = ConditionalResponses.weak("p" + publicationService.getPublicationVersion(publicationId));
+        return conditionalResponses.ifNoneMatch(webRequest, "publication", etag,
+                () -> publicationService.getPublicationByPublicationId(publicationId));
     }
 
     /**
@@ -477,10 +650,6 @@ public class SocialMediaController {
             log.error("Error during editUserDetails: " + e.getMessage());
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
-        } catch (Exception e) {
-            log.error("Error during editUserDetails: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
@@ -499,13 +668,8 @@ public class SocialMediaController {
     })
     @GetMapping("/publication/{publicationId}/comments")
     public ResponseEntity<List<CommentDTO>> getCommentsByPublicationId(@PathVariable(name = "publicationId") Long publicationId) {
-        try {
-            List<CommentDTO> comments = commentService.getCommentsByPublicationId(publicationId);
-            return ResponseEntity.ok(comments);
-        } catch (Exception e) {
-            log.error("Error getting comments for publication ID " + publicationId + ": " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        List<CommentDTO> comments = commentService.getCommentsByPublicationId(publicationId);
+        return ResponseEntity.ok(comments);
     }
 
     /**
@@ -520,6 +684,7 @@ public class SocialMediaController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Comment added successfully",
                     content = @Content(schema = @Schema(implementation = CommentDTO.class))),
+            @ApiResponse(responseCode = "403", description = "Not allowed to comment on behalf of another user"),
             @ApiResponse(responseCode = "404", description = "Publication or user not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
@@ -527,12 +692,89 @@ public class SocialMediaController {
     public ResponseEntity<CommentDTO> addComment(@PathVariable(name = "publicationId") Long publicationId,
                                                  @PathVariable(name = "userId") Long userId,
                                                  @RequestBody CommentDTO commentDTO) {
-        try {
-            CommentDTO addedComment = commentService.addComment(userId, publicationId, commentDTO);
-            return ResponseEntity.ok(addedComment);
-        } catch (Exception e) {
-            log.error("Error adding comment to publication ID " + publicationId + ": " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        CommentDTO addedComment = commentService.addComment(userId, publicationId, commentDTO);
+        return ResponseEntity.ok(addedComment);
+    }
+
+    /**
+     * Registra un "me gusta" de un usuario en una publicación.
+     *
+     * @param publicationId Identificador de la publicación.
+     * @param userId        Identificador del usuario que reacciona.
+     * @return ResponseEntity con el número de reacciones de la publicación.
+     */
+    @Operation(summary = "Like a publication")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reaction registered successfully"),
+            @ApiResponse(responseCode = "403", description = "Not allowed to react on behalf of another user"),
+            @ApiResponse(responseCode = "404", description = "Publication not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/publication/{publicationId}/reactions/user/{userId}")
+    public ResponseEntity<Map<String, Long>> addReaction(@PathVariable(name = "publicationId") Long publicationId,
+                                                         @PathVariable(name = "userId") Long userId) {
+        long reactionCount = reactionService.addReaction(userId, publicationId);
+        return ResponseEntity.ok(Map.of("reactionCount", reactionCount));
+    }
+
+    /**
+     * Retira el "me gusta" de un usuario en una publicación.
+     *
+     * @param publicationId Identificador de la publicación.
+     * @param userId        Identificador del usuario que retira la reacción.
+     * @return ResponseEntity con el número de reacciones de la publicación.
+     */
+    @Operation(summary = "Remove a like from a publication")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reaction removed successfully"),
+            @ApiResponse(responseCode = "403", description = "Not allowed to react on behalf of another user"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @DeleteMapping("/publication/{publicationId}/reactions/user/{userId}")
+    public ResponseEntity<Map<String, Long>> removeReaction(@PathVariable(name = "publicationId") Long publicationId,
+                                                            @PathVariable(name = "userId") Long userId) {
+        long reactionCount = reactionService.removeReaction(userId, publicationId);
+        return ResponseEntity.ok(Map.of("reactionCount", reactionCount));
+    }
+
+    /**
+     * Registra un "me gusta" de un usuario en un comentario.
+     *
+     * @param commentId Identificador del comentario.
+     * @param userId    Identificador del usuario que reacciona.
+     * @return ResponseEntity con el número de reacciones del comentario.
+     */
+    @Operation(summary = "Like a comment")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reaction registered successfully"),
+            @ApiResponse(responseCode = "403", description = "Not allowed to react on behalf of another user"),
+            @ApiResponse(responseCode = "404", description = "Comment not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/comment/{commentId}/reactions/user/{userId}")
+    public ResponseEntity<Map<String, Long>> addCommentReaction(@PathVariable(name = "commentId") Long commentId,
+                                                                @PathVariable(name = "userId") Long userId) {
+        long reactionCount = reactionService.addCommentReaction(userId, commentId);
+        return ResponseEntity.ok(Map.of("reactionCount", reactionCount));
+    }
+
+    /**
+     * Retira el "me gusta" de un usuario en un comentario.
+     *
+     * @param commentId Identificador del comentario.
+     * @param userId    Identificador del usuario que retira la reacción.
+     * @return ResponseEntity con el número de reacciones del comentario.
+     */
+    @Operation(summary = "Remove a like from a comment")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reaction removed successfully"),
+            @ApiResponse(responseCode = "403", description = "Not allowed to react on behalf of another user"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @DeleteMapping("/comment/{commentId}/reactions/user/{userId}")
+    public ResponseEntity<Map<String, Long>> removeCommentReaction(@PathVariable(name = "commentId") Long commentId,
+                                                                   @PathVariable(name = "userId") Long userId) {
+        long reactionCount = reactionService.removeCommentReaction(userId, commentId);
+        return ResponseEntity.ok(Map.of("reactionCount", reactionCount));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package com.vedruna.redsocial.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO (Data Transfer Object) que representa una subpetición de /api/batch.
+ */
+@Getter
+@Setter
+public class BatchItemDTO {
+
+    private String id;
+    private String method;
+    private String path;
+    private Map<String, String> headers;
+    private JsonNode body;
+}
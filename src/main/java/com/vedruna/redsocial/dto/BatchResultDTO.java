@@ -0,0 +1,25 @@
+package com.vedruna.redsocial.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO (Data Transfer Object) que representa la respuesta de una subpetición de /api/batch.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDTO {
+
+    private String id;
+    private int status;
+    private Map<String, String> headers;
+    private JsonNode body;
+}
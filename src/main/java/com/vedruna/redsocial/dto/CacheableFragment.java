@@ -0,0 +1,15 @@
+package com.vedruna.redsocial.dto;
+
+/**
+ * DTO cuya representación JSON puede guardarse ya serializada y reutilizarse en las respuestas de tipo lista.
+ */
+public interface CacheableFragment {
+
+    /**
+     * Obtiene la clave del fragmento: identificador del objeto más una versión que cambia con cualquiera de
+     * los campos que se serializan.
+     *
+     * @return Clave del fragmento.
+     */
+    String fragmentKey();
+}
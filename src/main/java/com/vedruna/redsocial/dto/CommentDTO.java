@@ -16,10 +16,12 @@ import lombok.Setter;
 @Setter
 public class CommentDTO {
 	
+    private Long commentId;
     private Long userId;
     private Long publicationId;
     private String text;
     private LocalDateTime creationDate;
+    private Long reactionCount;
     
     /**
      * Convierte este objeto CommentDTO a una entidad Comment.
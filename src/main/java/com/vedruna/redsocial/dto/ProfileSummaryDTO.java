@@ -0,0 +1,23 @@
+package com.vedruna.redsocial.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO (Data Transfer Object) con todo lo necesario para mostrar el perfil de un usuario: sus datos, sus
+ * publicaciones más recientes, los contadores y la relación de seguimiento con el usuario que lo consulta.
+ */
+@Getter
+@Setter
+public class ProfileSummaryDTO {
+
+    private UserDTO user;
+    private List<PublicationDTO> recentPublications;
+    private long publicationCount;
+    private long followerCount;
+    private long followingCount;
+    private boolean followedByViewer;
+    private boolean followsViewer;
+}
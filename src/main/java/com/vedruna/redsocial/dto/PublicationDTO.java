@@ -1,18 +1,28 @@
 package com.vedruna.redsocial.dto;
 
 import com.vedruna.redsocial.persistence.model.Publication;
+import com.vedruna.redsocial.util.Digests;
 
 import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * DTO (Data Transfer Object) que representa una publicación en la red social.
  */
 @Getter
 @Setter
-public class PublicationDTO {
+public class PublicationDTO implements CacheableFragment {
+
+    /**
+     * Campos que se pueden pedir con el parámetro "fields=".
+     */
+    public static final List<String> FIELDS = List.of("publicationId", "authorId", "text", "imageURL",
+            "creationDate", "editionDate", "commentCount", "latestComments", "reactionCount");
 
     private Long publicationId;
     private Long authorId;
@@ -20,6 +30,9 @@ public class PublicationDTO {
     private String imageURL;
     private LocalDateTime creationDate;
     private LocalDateTime editionDate;
+    private Long commentCount;
+    private List<CommentDTO> latestComments;
+    private Long reactionCount;
 
     /**
      * Convierte una entidad Publication a un objeto PublicationDTO.
@@ -37,4 +50,62 @@ public class PublicationDTO {
         publicationDTO.setEditionDate(publication.getEditionDate());
         return publicationDTO;
     }
+
+    /**
+     * Obtiene la versión de la publicación, usada como ETag.
+     *
+     * @return Versión de la publicación.
+     */
+    public String version() {
+        return version(publicationId, editionDate != null ? editionDate : creationDate,
+                reactionCount == null ? 0L : reactionCount);
+    }
+
+    /**
+     * Obtiene la clave del fragmento JSON: además de la versión incluye el resumen de comentarios que se
+     * añade en los listados.
+     *
+     * @return Clave del fragmento.
+     */
+    @Override
+    public String fragmentKey() {
+        List<Object> parts = new ArrayList<>();
+        parts.add(authorId);
+        parts.add(text);
+        parts.add(imageURL);
+        parts.add(creationDate);
+        if (latestComments != null) {
+            for (CommentDTO comment : latestComments) {
+                parts.add(comment.getCommentId());
+                parts.add(comment.getUserId());
+                parts.add(comment.getText());
+                parts.add(comment.getCreationDate());
+                parts.add(comment.getReactionCount());
+            }
+        }
+        return "p" + version() + "-" + commentCount + "-" + Digests.sha256(parts.toArray());
+    }
+
+    /**
+     * Calcula la versión de una publicación: cambia al editarla y al variar su número de reacciones.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @param versionDate   Fecha de la última modificación.
+     * @param reactionCount Número de reacciones.
+     * @return Versión de la publicación.
+     */
+    public static String version(Long publicationId, LocalDateTime versionDate, long reactionCount) {
+        long millis = versionDate == null ? 0L : toMillis(versionDate);
+        return publicationId + "-" + Long.toHexString(millis) + "-" + reactionCount;
+    }
+
+    /**
+     * Convierte una fecha a milisegundos, la precisión con la que se comparan las versiones.
+     *
+     * @param date Fecha a convertir.
+     * @return Milisegundos desde la época.
+     */
+    public static long toMillis(LocalDateTime date) {
+        return date.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
 }
@@ -0,0 +1,17 @@
+package com.vedruna.redsocial.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO (Data Transfer Object) con el resultado de una consulta de varios usuarios por identificador.
+ */
+@Getter
+@Setter
+public class UserBatchDTO {
+
+    private List<UserDTO> users;
+    private List<Long> missingIds;
+}
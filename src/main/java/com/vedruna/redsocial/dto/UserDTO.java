@@ -1,10 +1,13 @@
 package com.vedruna.redsocial.dto;
 
 import java.sql.Date;
+import java.util.List;
 
 import org.springframework.beans.BeanUtils;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.vedruna.redsocial.persistence.model.User;
+import com.vedruna.redsocial.util.Digests;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -14,13 +17,23 @@ import lombok.Setter;
  */
 @Getter
 @Setter
-public class UserDTO {
+public class UserDTO implements CacheableFragment {
+
+    /**
+     * Campos que se pueden pedir con el parámetro "fields=".
+     */
+    public static final List<String> FIELDS = List.of("userId", "userName", "email", "description", "creationDate");
 
     private Long userId;
     private String userName;
     private String email;
     private String description;
     private Date creationDate;
+
+    /**
+     * Solo se lee de las peticiones (registro e inicio de sesión); nunca se escribe en las respuestas.
+     */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
     /**
@@ -50,4 +63,24 @@ public class UserDTO {
         BeanUtils.copyProperties(userDTO, user);
         return user;
     }
+
+    /**
+     * Obtiene la versión del perfil público, usada como ETag. Se calcula a partir de los campos que se
+     * devuelven con SHA-256, de modo que cualquier edición del perfil la cambia.
+     *
+     * @return Versión del perfil.
+     */
+    public String version() {
+        return Digests.sha256(userId, userName, email, description, creationDate);
+    }
+
+    /**
+     * Obtiene la clave del fragmento JSON a partir de todos los campos que se serializan.
+     *
+     * @return Clave del fragmento.
+     */
+    @Override
+    public String fragmentKey() {
+        return "u" + userId + "-" + Digests.sha256(userName, email, description, creationDate);
+    }
 }
@@ -0,0 +1,19 @@
+package com.vedruna.redsocial.exception;
+
+/**
+ * Excepción lanzada ante una operación que choca con el estado actual, como registrar un nombre de usuario ya
+ * en uso. Se responde con 409.
+ */
+public class ConflictException extends RedSocialException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Crea la excepción.
+     *
+     * @param message Mensaje del error.
+     */
+    public ConflictException(String message) {
+        super(message);
+    }
+}
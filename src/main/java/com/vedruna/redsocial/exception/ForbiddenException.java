@@ -0,0 +1,19 @@
+package com.vedruna.redsocial.exception;
+
+/**
+ * Excepción lanzada ante una operación que el usuario autenticado no puede realizar, como actuar en nombre de
+ * otro usuario. Se responde con 403.
+ */
+public class ForbiddenException extends RedSocialException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Crea la excepción.
+     *
+     * @param message Mensaje del error.
+     */
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.vedruna.redsocial.exception;
+
+/**
+ * Excepción lanzada ante un recurso que no existe (usuario, publicación...). Se responde con 404.
+ */
+public class NotFoundException extends RedSocialException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Crea la excepción.
+     *
+     * @param message Mensaje del error.
+     */
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
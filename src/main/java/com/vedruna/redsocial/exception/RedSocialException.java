@@ -0,0 +1,23 @@
+package com.vedruna.redsocial.exception;
+
+/**
+ * Excepción base de los errores de dominio de la red social (recurso inexistente, operación no permitida,
+ * conflicto...). Cada subclase corresponde a un estado HTTP en GlobalExceptionHandler.
+ *
+ * No captura la traza de la pila: son errores esperados, lanzados con frecuencia (por ejemplo, búsquedas de
+ * recursos que no existen), y el mensaje basta para identificarlos. Rellenar la traza es la parte más cara de
+ * crear una excepción.
+ */
+public abstract class RedSocialException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Crea la excepción sin traza de la pila ni excepciones suprimidas.
+     *
+     * @param message Mensaje del error.
+     */
+    protected RedSocialException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,18 @@
+package com.vedruna.redsocial.exception;
+
+/**
+ * Excepción lanzada ante una petición sin usuario autenticado o con credenciales incorrectas. Se responde con 401.
+ */
+public class UnauthorizedException extends RedSocialException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Crea la excepción.
+     *
+     * @param message Mensaje del error.
+     */
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.vedruna.redsocial.exception;
+
+/**
+ * Excepción lanzada cuando un recurso no se ha podido obtener a tiempo, por ejemplo al esperar una carga que
+ * ya está en curso en otra petición. Se responde con 503 para que el cliente reintente más tarde.
+ */
+public class UnavailableException extends RedSocialException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Crea la excepción.
+     *
+     * @param message Mensaje del error.
+     */
+    public UnavailableException(String message) {
+        super(message);
+    }
+}
@@ -8,6 +8,8 @@ import lombok.Setter;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Clase que representa un comentario en la red social.
@@ -58,4 +60,10 @@ public class Comment implements Serializable {
     @Column(name = "RS_COMMENT_CREATION_DATE")
     @Temporal(TemporalType.TIMESTAMP)
     private LocalDateTime creationDate;
+
+    /**
+     * Lista de reacciones asociadas al comentario.
+     */
+    @OneToMany(mappedBy = "comment", cascade = CascadeType.ALL)
+    private List<CommentReaction> reactions = new ArrayList<>();
 }
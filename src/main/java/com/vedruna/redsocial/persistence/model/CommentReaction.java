@@ -0,0 +1,57 @@
+package com.vedruna.redsocial.persistence.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Clase que representa la reacción ("me gusta") de un usuario a un comentario.
+ * 
+ * Esta clase está mapeada a la tabla "RS_COMMENT_REACTION" en la base de datos. Las filas se escriben
+ * en lotes desde el contador en memoria, nunca una a una por petición.
+ */
+@Entity
+@Table(name = "RS_COMMENT_REACTION", uniqueConstraints = @UniqueConstraint(
+        columnNames = {"RS_COMMENT_REACTION_USER_ID", "RS_COMMENT_REACTION_COMMENT_ID"}))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentReaction implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Identificador único de la reacción.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "RS_COMMENT_REACTION_ID")
+    private Long commentReactionId;
+
+    /**
+     * Usuario que reacciona.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "RS_COMMENT_REACTION_USER_ID", nullable = false)
+    private User user;
+
+    /**
+     * Comentario al que se reacciona.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "RS_COMMENT_REACTION_COMMENT_ID", nullable = false)
+    private Comment comment;
+
+    /**
+     * Fecha de creación de la reacción.
+     */
+    @Column(name = "RS_COMMENT_REACTION_CREATION_DATE")
+    @Temporal(TemporalType.TIMESTAMP)
+    private LocalDateTime creationDate;
+}
@@ -0,0 +1,46 @@
+package com.vedruna.redsocial.persistence.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Clase que representa el total de reacciones de un comentario.
+ * 
+ * Esta clase está mapeada a la tabla "RS_COMMENT_REACTION_COUNT" en la base de datos y se actualiza
+ * mediante upserts en lote con los incrementos acumulados en memoria.
+ */
+@Entity
+@Table(name = "RS_COMMENT_REACTION_COUNT")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentReactionCount implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Identificador del comentario al que pertenece el total.
+     */
+    @Id
+    @Column(name = "RS_COMMENT_REACTION_COUNT_COMMENT_ID")
+    private Long commentId;
+
+    /**
+     * Número total de reacciones del comentario.
+     */
+    @Column(name = "RS_COMMENT_REACTION_COUNT_TOTAL", nullable = false)
+    private Long total;
+
+    /**
+     * Número de veces que se ha actualizado el total. Solo crece, de modo que cambia aunque las reacciones que
+     * gana el comentario y las que pierde otro elemento se compensen en una suma.
+     */
+    @Column(name = "RS_COMMENT_REACTION_COUNT_VERSION", nullable = false)
+    private Long version;
+}
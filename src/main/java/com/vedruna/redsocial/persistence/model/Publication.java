@@ -86,4 +86,10 @@ public class Publication implements Serializable {
      */
     @OneToMany(mappedBy = "publication", cascade = CascadeType.ALL)
     private List<Comment> comments = new ArrayList<>();
+
+    /**
+     * Lista de reacciones asociadas a la publicación.
+     */
+    @OneToMany(mappedBy = "publication", cascade = CascadeType.ALL)
+    private List<Reaction> reactions = new ArrayList<>();
 }
@@ -0,0 +1,46 @@
+package com.vedruna.redsocial.persistence.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Clase que representa el total de reacciones de una publicación.
+ * 
+ * Esta clase está mapeada a la tabla "RS_REACTION_COUNT" en la base de datos y se actualiza
+ * mediante upserts en lote con los incrementos acumulados en memoria.
+ */
+@Entity
+@Table(name = "RS_REACTION_COUNT")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReactionCount implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Identificador de la publicación a la que pertenece el total.
+     */
+    @Id
+    @Column(name = "RS_REACTION_COUNT_PUBLICATION_ID")
+    private Long publicationId;
+
+    /**
+     * Número total de reacciones de la publicación.
+     */
+    @Column(name = "RS_REACTION_COUNT_TOTAL", nullable = false)
+    private Long total;
+
+    /**
+     * Número de veces que se ha actualizado el total. Solo crece, de modo que cambia aunque las reacciones que
+     * gana la publicación y las que pierde otro elemento se compensen en una suma.
+     */
+    @Column(name = "RS_REACTION_COUNT_VERSION", nullable = false)
+    private Long version;
+}
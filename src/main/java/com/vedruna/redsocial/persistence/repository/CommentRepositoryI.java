@@ -2,9 +2,12 @@ package com.vedruna.redsocial.persistence.repository;
 
 import com.vedruna.redsocial.persistence.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -20,4 +23,62 @@ public interface CommentRepositoryI extends JpaRepository<Comment, Long> {
      * @return Lista de comentarios asociados a la publicación especificada.
      */
     List<Comment> findByPublicationPublicationId(Long publicationId);
+
+    /**
+     * Obtiene los identificadores de los comentarios de una publicación, sin cargar las entidades.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return Identificadores únicos de los comentarios de la publicación.
+     */
+    @Query("SELECT c.commentId FROM Comment c WHERE c.publication.publicationId = :publicationId")
+    List<Long> findIdsByPublicationId(Long publicationId);
+
+    /**
+     * Cuenta los comentarios de varias publicaciones en una única consulta agrupada.
+     *
+     * @param publicationIds Identificadores únicos de las publicaciones.
+     * @return Número de comentarios por publicación (las publicaciones sin comentarios no aparecen).
+     */
+    @Query("SELECT c.publication.publicationId AS publicationId, COUNT(c) AS commentCount " +
+            "FROM Comment c WHERE c.publication.publicationId IN :publicationIds " +
+            "GROUP BY c.publication.publicationId")
+    List<CommentCount> countByPublicationIds(Collection<Long> publicationIds);
+
+    /**
+     * Obtiene los últimos comentarios de cada publicación indicada en una única consulta con ventana.
+     *
+     * @param publicationIds Identificadores únicos de las publicaciones.
+     * @param limit          Número máximo de comentarios por publicación.
+     * @return Comentarios más recientes de cada publicación, ordenados por publicación y fecha descendente.
+     */
+    @Query(value = "SELECT ranked.RS_COMMENT_ID AS commentId, " +
+            "ranked.RS_COMMENT_PUBLICATION_ID AS publicationId, " +
+            "ranked.RS_COMMENT_USER_ID AS userId, " +
+            "ranked.RS_COMMENT_TEXT AS text, " +
+            "ranked.RS_COMMENT_CREATION_DATE AS creationDate " +
+            "FROM (SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.RS_COMMENT_PUBLICATION_ID " +
+            "ORDER BY c.RS_COMMENT_CREATION_DATE DESC, c.RS_COMMENT_ID DESC) AS rn " +
+            "FROM RS_COMMENT c WHERE c.RS_COMMENT_PUBLICATION_ID IN (:publicationIds)) ranked " +
+            "WHERE ranked.rn <= :limit " +
+            "ORDER BY ranked.RS_COMMENT_PUBLICATION_ID, ranked.rn", nativeQuery = true)
+    List<CommentPreview> findLatestByPublicationIds(Collection<Long> publicationIds, int limit);
+
+    /**
+     * Proyección con el número de comentarios de una publicación.
+     */
+    interface CommentCount {
+        Long getPublicationId();
+        Long getCommentCount();
+    }
+
+    /**
+     * Proyección con los datos mínimos de un comentario para la vista previa del feed.
+     */
+    interface CommentPreview {
+        Long getCommentId();
+        Long getPublicationId();
+        Long getUserId();
+        String getText();
+        LocalDateTime getCreationDate();
+    }
 }
@@ -5,6 +5,7 @@ import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.vedruna.redsocial.persistence.model.Follow;
@@ -22,10 +23,11 @@ public interface FollowRepositoryI extends JpaRepository<Follow, Long> {
      *
      * @param followerId Identificador único del seguidor.
      * @param followedId Identificador único del seguido.
+     * @return Número de relaciones eliminadas: 0 si no lo seguía.
      */
     @Transactional
     @Modifying
-    void deleteByFollowerUserIdAndFollowedUserId(Long followerId, Long followedId);
+    long deleteByFollowerUserIdAndFollowedUserId(Long followerId, Long followedId);
     
     /**
      * Obtiene una lista de relaciones de seguimiento donde el usuario es el seguido.
@@ -51,4 +53,45 @@ public interface FollowRepositoryI extends JpaRepository<Follow, Long> {
      * @return Un objeto Optional que contiene la relación de seguimiento si se encuentra, o un Optional vacío de lo contrario.
      */
     Optional<Follow> findByFollowerUserIdAndFollowedUserId(Long followerId, Long followedId);
+
+    /**
+     * Comprueba si existe una relación de seguimiento entre un seguidor y un seguido.
+     *
+     * @param followerId Identificador único del seguidor.
+     * @param followedId Identificador único del seguido.
+     * @return true si el seguidor sigue al seguido.
+     */
+    boolean existsByFollowerUserIdAndFollowedUserId(Long followerId, Long followedId);
+
+    /**
+     * Cuenta los seguidores de un usuario.
+     *
+     * @param userId Identificador único del usuario seguido.
+     * @return Número de seguidores del usuario.
+     */
+    long countByFollowedUserId(Long userId);
+
+    /**
+     * Cuenta los usuarios a los que sigue un usuario.
+     *
+     * @param userId Identificador único del usuario seguidor.
+     * @return Número de usuarios seguidos.
+     */
+    long countByFollowerUserId(Long userId);
+
+    /**
+     * Cuenta los seguidores de todos los usuarios que tienen alguno.
+     *
+     * @return Número de seguidores por usuario.
+     */
+    @Query("SELECT f.followed.userId AS userId, COUNT(f) AS followerCount FROM Follow f GROUP BY f.followed.userId")
+    List<FollowerCount> countFollowersByUser();
+
+    /**
+     * Proyección con el número de seguidores de un usuario.
+     */
+    interface FollowerCount {
+        Long getUserId();
+        Long getFollowerCount();
+    }
 }
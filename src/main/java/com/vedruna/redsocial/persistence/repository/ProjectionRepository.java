@@ -0,0 +1,68 @@
+package com.vedruna.redsocial.persistence.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Consultas que leen solo algunas columnas de una entidad, para las respuestas con un subconjunto de campos.
+ *
+ * Las columnas se piden como rutas de atributos de la entidad ("text", "author.userId"); una ruta al
+ * identificador de una relación ManyToOne se resuelve con la clave ajena, sin JOIN.
+ */
+@Repository
+public class ProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Obtiene las columnas indicadas de las filas de una entidad, opcionalmente filtradas por un atributo.
+     *
+     * @param entityClass     Clase de la entidad.
+     * @param columns         Alias de cada columna y ruta del atributo correspondiente.
+     * @param filterAttribute Ruta del atributo por el que se filtra, o null para leer todas las filas.
+     * @param filterValues    Valores admitidos del atributo de filtro.
+     * @return Filas leídas, con cada columna accesible por su alias.
+     */
+    public List<Tuple> findColumns(Class<?> entityClass, Map<String, String> columns,
+            String filterAttribute, Collection<?> filterValues) {
+        if (filterAttribute != null && filterValues.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<?> root = query.from(entityClass);
+
+        List<Selection<?>> selections = new ArrayList<>(columns.size());
+        columns.forEach((alias, attribute) -> selections.add(path(root, attribute).alias(alias)));
+        query.multiselect(selections);
+
+        if (filterAttribute != null) {
+            query.where(path(root, filterAttribute).in(filterValues));
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static Path<?> path(Root<?> root, String attribute) {
+        Path<?> path = root;
+        for (String part : attribute.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+}
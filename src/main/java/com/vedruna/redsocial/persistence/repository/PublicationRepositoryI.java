@@ -1,7 +1,10 @@
 package com.vedruna.redsocial.persistence.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -22,6 +25,23 @@ public interface PublicationRepositoryI extends JpaRepository<Publication, Long>
      */
     List<Publication> findByAuthorUserId(Long userId);
 
+    /**
+     * Obtiene las publicaciones más recientes de un usuario específico.
+     *
+     * @param userId   Identificador único del usuario.
+     * @param pageable Página de publicaciones a obtener.
+     * @return Publicaciones del usuario, de la más reciente a la más antigua.
+     */
+    List<Publication> findByAuthorUserIdOrderByCreationDateDesc(Long userId, Pageable pageable);
+
+    /**
+     * Cuenta las publicaciones realizadas por un usuario específico.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Número de publicaciones del usuario.
+     */
+    long countByAuthorUserId(Long userId);
+
     /**
      * Obtiene una lista de publicaciones realizadas por los seguidores de un usuario específico.
      *
@@ -41,4 +61,61 @@ public interface PublicationRepositoryI extends JpaRepository<Publication, Long>
      * @return Lista de publicaciones realizadas por los usuarios especificados.
      */
     List<Publication> findByAuthorUserIdIn(List<Long> authorUserIds);
+
+    /**
+     * Obtiene la fecha de la última modificación de una publicación sin cargar la entidad.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return Fecha de edición (o de creación si nunca se ha editado), o un Optional vacío si no existe.
+     */
+    @Query("SELECT COALESCE(p.editionDate, p.creationDate) FROM Publication p WHERE p.publicationId = :publicationId")
+    Optional<LocalDateTime> findVersionDateById(Long publicationId);
+
+    /**
+     * Resume en una sola consulta todo lo que cambia el feed de un usuario: los usuarios que sigue, sus
+     * publicaciones, las reacciones a ellas y sus comentarios con las reacciones a estos. Cada agregado se calcula
+     * en una subconsulta propia para que las uniones no multipliquen las filas de los demás. De las reacciones se
+     * suman las versiones de los totales, no los totales: las versiones solo crecen, así que una reacción nueva en
+     * una publicación y una retirada en otra no se compensan.
+     *
+     * @param userId Identificador único del usuario que sigue a los autores.
+     * @return Resumen del feed.
+     */
+    @Query(value = "SELECT fo.followCount AS followCount, fo.lastFollowId AS lastFollowId, " +
+            "pu.publicationCount AS publicationCount, pu.lastPublicationId AS lastPublicationId, " +
+            "pu.lastVersionDate AS lastVersionDate, pu.reactionVersion AS reactionVersion, " +
+            "co.commentCount AS commentCount, co.lastCommentId AS lastCommentId, " +
+            "co.commentReactionVersion AS commentReactionVersion " +
+            "FROM (SELECT COUNT(*) AS followCount, MAX(f.RS_FOLLOW_ID) AS lastFollowId " +
+            "      FROM RS_FOLLOW f WHERE f.RS_FOLLOW_FOLLOWER = :userId) fo " +
+            "CROSS JOIN (SELECT COUNT(*) AS publicationCount, MAX(p.RS_PUBLICATION_ID) AS lastPublicationId, " +
+            "      MAX(COALESCE(p.RS_PUBLICATION_EDITION_DATE, p.RS_PUBLICATION_CREATION_DATE)) AS lastVersionDate, " +
+            "      COALESCE(SUM(rc.RS_REACTION_COUNT_VERSION), 0) AS reactionVersion " +
+            "      FROM RS_FOLLOW f " +
+            "      JOIN RS_PUBLICATION p ON p.RS_PUBLICATION_AUTHOR = f.RS_FOLLOW_FOLLOWED " +
+            "      LEFT JOIN RS_REACTION_COUNT rc ON rc.RS_REACTION_COUNT_PUBLICATION_ID = p.RS_PUBLICATION_ID " +
+            "      WHERE f.RS_FOLLOW_FOLLOWER = :userId) pu " +
+            "CROSS JOIN (SELECT COUNT(*) AS commentCount, MAX(c.RS_COMMENT_ID) AS lastCommentId, " +
+            "      COALESCE(SUM(crc.RS_COMMENT_REACTION_COUNT_VERSION), 0) AS commentReactionVersion " +
+            "      FROM RS_FOLLOW f " +
+            "      JOIN RS_PUBLICATION p ON p.RS_PUBLICATION_AUTHOR = f.RS_FOLLOW_FOLLOWED " +
+            "      JOIN RS_COMMENT c ON c.RS_COMMENT_PUBLICATION_ID = p.RS_PUBLICATION_ID " +
+            "      LEFT JOIN RS_COMMENT_REACTION_COUNT crc ON crc.RS_COMMENT_REACTION_COUNT_COMMENT_ID = c.RS_COMMENT_ID " +
+            "      WHERE f.RS_FOLLOW_FOLLOWER = :userId) co", nativeQuery = true)
+    FeedHead findFeedHead(Long userId);
+
+    /**
+     * Proyección con el resumen del feed de un usuario.
+     */
+    interface FeedHead {
+        Long getFollowCount();
+        Long getLastFollowId();
+        Long getPublicationCount();
+        Long getLastPublicationId();
+        LocalDateTime getLastVersionDate();
+        Long getReactionVersion();
+        Long getCommentCount();
+        Long getLastCommentId();
+        Long getCommentReactionVersion();
+    }
 }
@@ -0,0 +1,182 @@
+package com.vedruna.redsocial.persistence.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repositorio JDBC que vuelca en lote los cambios de reacciones acumulados en memoria.
+ *
+ * Sirve tanto para las reacciones a publicaciones como para las reacciones a comentarios: cada operación recibe
+ * la {@link ReactionTable} sobre la que actúa.
+ */
+@Repository
+public class ReactionBatchRepository {
+
+    /**
+     * Tablas de reacciones y de totales de cada tipo de elemento al que se puede reaccionar.
+     */
+    public enum ReactionTable {
+
+        PUBLICATION("RS_REACTION", "RS_REACTION_USER_ID", "RS_REACTION_PUBLICATION_ID",
+                "RS_REACTION_CREATION_DATE", "RS_REACTION_COUNT", "RS_REACTION_COUNT_PUBLICATION_ID",
+                "RS_REACTION_COUNT_TOTAL", "RS_REACTION_COUNT_VERSION"),
+
+        COMMENT("RS_COMMENT_REACTION", "RS_COMMENT_REACTION_USER_ID", "RS_COMMENT_REACTION_COMMENT_ID",
+                "RS_COMMENT_REACTION_CREATION_DATE", "RS_COMMENT_REACTION_COUNT",
+                "RS_COMMENT_REACTION_COUNT_COMMENT_ID", "RS_COMMENT_REACTION_COUNT_TOTAL",
+                "RS_COMMENT_REACTION_COUNT_VERSION");
+
+        private final String insertReaction;
+        private final String deleteReaction;
+        private final String existsReaction;
+        private final String selectReactions;
+        private final String upsertCount;
+        private final String deleteCount;
+        private final String selectCounts;
+
+        ReactionTable(String table, String userColumn, String targetColumn, String dateColumn,
+                String countTable, String countTargetColumn, String totalColumn, String versionColumn) {
+            this.insertReaction = "INSERT IGNORE INTO " + table + " (" + userColumn + ", " + targetColumn + ", "
+                    + dateColumn + ") VALUES (?, ?, ?)";
+            this.deleteReaction = "DELETE FROM " + table + " WHERE " + userColumn + " = ? AND " + targetColumn + " = ?";
+            this.existsReaction = "SELECT COUNT(*) FROM " + table + " WHERE " + userColumn + " = ? AND "
+                    + targetColumn + " = ?";
+            this.selectReactions = "SELECT " + userColumn + ", " + targetColumn + " FROM " + table;
+            this.upsertCount = "INSERT INTO " + countTable + " (" + countTargetColumn + ", " + totalColumn + ", "
+                    + versionColumn + ") VALUES (?, ?, 1) ON DUPLICATE KEY UPDATE " + totalColumn + " = "
+                    + totalColumn + " + VALUES(" + totalColumn + "), " + versionColumn + " = " + versionColumn + " + 1";
+            this.deleteCount = "DELETE FROM " + countTable + " WHERE " + countTargetColumn + " = ?";
+            this.selectCounts = "SELECT " + countTargetColumn + ", " + totalColumn + " FROM " + countTable;
+        }
+    }
+
+    /**
+     * Receptor de los pares (usuario, elemento) leídos de una tabla de reacciones.
+     */
+    @FunctionalInterface
+    public interface ReactionKeyConsumer {
+        void accept(long userId, long targetId);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor de la clase ReactionBatchRepository.
+     *
+     * @param jdbcTemplate Plantilla JDBC.
+     */
+    @Autowired
+    public ReactionBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Aplica en una sola transacción las altas, bajas y variaciones de totales pendientes. Cada total que se
+     * actualiza incrementa también su versión.
+     *
+     * @param table   Tabla de reacciones.
+     * @param inserts Pares {usuario, elemento} a insertar.
+     * @param deletes Pares {usuario, elemento} a eliminar.
+     * @param deltas  Variación del total por elemento.
+     */
+    @Transactional
+    public void applyChanges(ReactionTable table, List<long[]> inserts, List<long[]> deletes, Map<Long, Long> deltas) {
+        if (!inserts.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> args = new ArrayList<>(inserts.size());
+            for (long[] pair : inserts) {
+                args.add(new Object[] {pair[0], pair[1], now});
+            }
+            jdbcTemplate.batchUpdate(table.insertReaction, args);
+        }
+
+        if (!deletes.isEmpty()) {
+            List<Object[]> args = new ArrayList<>(deletes.size());
+            for (long[] pair : deletes) {
+                args.add(new Object[] {pair[0], pair[1]});
+            }
+            jdbcTemplate.batchUpdate(table.deleteReaction, args);
+        }
+
+        if (!deltas.isEmpty()) {
+            List<Object[]> args = new ArrayList<>(deltas.size());
+            deltas.forEach((targetId, delta) -> args.add(new Object[] {targetId, delta}));
+            jdbcTemplate.batchUpdate(table.upsertCount, args);
+        }
+    }
+
+    /**
+     * Indica si existe la reacción de un usuario a un elemento.
+     *
+     * @param table    Tabla de reacciones.
+     * @param userId   Identificador único del usuario.
+     * @param targetId Identificador único del elemento.
+     * @return true si la reacción está guardada.
+     */
+    public boolean exists(ReactionTable table, long userId, long targetId) {
+        Long count = jdbcTemplate.queryForObject(table.existsReaction, Long.class, userId, targetId);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Recorre los totales guardados de todos los elementos.
+     *
+     * @param table    Tabla de reacciones.
+     * @param consumer Receptor de cada par (elemento, total).
+     */
+    public void forEachCount(ReactionTable table, BiConsumer<Long, Long> consumer) {
+        jdbcTemplate.query(table.selectCounts, (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1), rs.getLong(2)));
+    }
+
+    /**
+     * Recorre todas las reacciones guardadas fila a fila, sin cargarlas en memoria: el tamaño de lectura
+     * Integer.MIN_VALUE hace que el controlador de MySQL entregue el resultado en streaming.
+     *
+     * @param table    Tabla de reacciones.
+     * @param consumer Receptor de cada par (usuario, elemento).
+     * @return Número de reacciones leídas.
+     */
+    public long forEachReaction(ReactionTable table, ReactionKeyConsumer consumer) {
+        long[] count = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(table.selectReactions,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            consumer.accept(rs.getLong(1), rs.getLong(2));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * Elimina los totales de reacciones de varios elementos.
+     *
+     * @param table     Tabla de reacciones.
+     * @param targetIds Identificadores únicos de los elementos.
+     */
+    public void deleteCounts(ReactionTable table, Collection<Long> targetIds) {
+        if (targetIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(targetIds.size());
+        for (Long targetId : targetIds) {
+            args.add(new Object[] {targetId});
+        }
+        jdbcTemplate.batchUpdate(table.deleteCount, args);
+    }
+}
@@ -24,6 +24,30 @@ public interface UserRepositoryI extends JpaRepository<User, Long> {
      */
     boolean existsByUserNameOrEmail(String userName, String email);
 
+    /**
+     * Verifica si existe un usuario con el nombre de usuario dado.
+     *
+     * @param userName Nombre de usuario a verificar.
+     * @return Verdadero si existe un usuario con ese nombre de usuario, falso de lo contrario.
+     */
+    boolean existsByUserName(String userName);
+
+    /**
+     * Verifica si existe un usuario con el correo electrónico dado.
+     *
+     * @param email Correo electrónico a verificar.
+     * @return Verdadero si existe un usuario con ese correo electrónico, falso de lo contrario.
+     */
+    boolean existsByEmail(String email);
+
+    /**
+     * Obtiene el identificador, el nombre de usuario y el correo electrónico de todos los usuarios, sin cargar las entidades.
+     *
+     * @return Lista de identificadores públicos de los usuarios.
+     */
+    @Query("SELECT u.userId AS userId, u.userName AS userName, u.email AS email FROM User u")
+    List<UserIdentifiers> findAllIdentifiers();
+
     /**
      * Busca un usuario por su nombre de usuario.
      *
@@ -56,4 +80,13 @@ public interface UserRepositoryI extends JpaRepository<User, Long> {
      * @return Lista de todos los usuarios en la base de datos.
      */
     List<User> findAll();
+
+    /**
+     * Proyección con el identificador, el nombre de usuario y el correo electrónico de un usuario.
+     */
+    interface UserIdentifiers {
+        Long getUserId();
+        String getUserName();
+        String getEmail();
+    }
 }
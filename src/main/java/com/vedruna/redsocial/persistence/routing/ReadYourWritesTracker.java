@@ -0,0 +1,68 @@
+package com.vedruna.redsocial.persistence.routing;
+
+import java.time.Duration;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Recuerda durante un tiempo qué usuarios acaban de escribir, para que sus lecturas vayan a la base de datos
+ * principal hasta que las réplicas se hayan puesto al día (lectura de las propias escrituras).
+ *
+ * Los usuarios se identifican por el nombre del contexto de seguridad. Las entradas caducan solas al terminar
+ * la ventana, de modo que el tamaño queda acotado por los usuarios que escriben en ese intervalo.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    /**
+     * Constructor de la clase ReadYourWritesTracker.
+     *
+     * @param window      Tiempo durante el que un usuario lee de la principal tras escribir.
+     * @param maximumSize Número máximo de usuarios recordados.
+     */
+    public ReadYourWritesTracker(Duration window, long maximumSize) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Registra una escritura del usuario, abriendo (o renovando) su ventana.
+     *
+     * @param user Nombre del usuario.
+     */
+    public void markWrite(String user) {
+        recentWriters.put(user, Boolean.TRUE);
+    }
+
+    /**
+     * Indica si el usuario ha escrito dentro de la ventana.
+     *
+     * @param user Nombre del usuario.
+     * @return true si sus lecturas deben ir a la principal.
+     */
+    public boolean isSticky(String user) {
+        return recentWriters.getIfPresent(user) != null;
+    }
+
+    /**
+     * Obtiene el nombre del usuario autenticado en el hilo actual.
+     *
+     * @return Nombre del usuario, o null si la petición es anónima o no hay contexto de seguridad.
+     */
+    public static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
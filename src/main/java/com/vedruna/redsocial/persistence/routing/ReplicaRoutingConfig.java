@@ -0,0 +1,133 @@
+package com.vedruna.redsocial.persistence.routing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.vedruna.redsocial.RedSocialApplication;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sustituye el DataSource de Spring Boot por uno que reparte las lecturas entre réplicas cuando se configuran
+ * sus URL en "redsocial.datasource.replicas.urls" (separadas por comas). Sin esa propiedad la aplicación usa
+ * solo spring.datasource.url, como hasta ahora.
+ *
+ * La principal se configura con spring.datasource.* y spring.datasource.hikari.*; las réplicas comparten
+ * controlador y tamaño de pool con la principal, y por defecto también usuario y contraseña. Las conexiones de
+ * las réplicas se marcan como de solo lectura, así que una escritura enviada por error falla en lugar de
+ * desincronizarlas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "redsocial.datasource.replicas.urls")
+public class ReplicaRoutingConfig {
+
+    /**
+     * Pool de la base de datos principal.
+     *
+     * @param properties Propiedades spring.datasource.*.
+     * @return DataSource de la principal.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Registro de los usuarios que acaban de escribir, cuyas lecturas van a la principal. También lo consultan
+     * los servicios que comparten lecturas entre peticiones, para no servir a esos usuarios una lectura ajena.
+     *
+     * @param readYourWrites Tiempo durante el que un usuario lee de la principal tras escribir.
+     * @param trackedUsers   Número máximo de usuarios con la ventana de lectura abierta.
+     * @return Registro de escrituras recientes.
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${redsocial.datasource.read-your-writes.window:5s}") Duration readYourWrites,
+            @Value("${redsocial.datasource.read-your-writes.maximum-size:100000}") long trackedUsers) {
+        return new ReadYourWritesTracker(readYourWrites, trackedUsers);
+    }
+
+    /**
+     * DataSource que elige entre la principal y las réplicas en cada conexión.
+     *
+     * @param primaryDataSource  Pool de la principal.
+     * @param properties         Propiedades spring.datasource.*.
+     * @param meterRegistry      Registro de métricas.
+     * @param urls               URL JDBC de las réplicas.
+     * @param username           Usuario de las réplicas.
+     * @param password           Contraseña de las réplicas.
+     * @param connectionTimeout  Tiempo máximo para obtener una conexión de una réplica antes de apartarla.
+     * @param readYourWrites     Registro de escrituras recientes.
+     * @param ejectionTime       Tiempo que se aparta una réplica que ha fallado.
+     * @return DataSource de enrutado.
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+            DataSourceProperties properties, MeterRegistry meterRegistry, ReadYourWritesTracker readYourWrites,
+            @Value("${redsocial.datasource.replicas.urls}") List<String> urls,
+            @Value("${redsocial.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${redsocial.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${redsocial.datasource.replicas.connection-timeout:1s}") Duration connectionTimeout,
+            @Value("${redsocial.datasource.replicas.ejection-time:30s}") Duration ejectionTime) {
+        List<DataSource> replicas = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWrites, ejectionTime,
+                RedSocialApplication.class.getPackageName(), meterRegistry);
+    }
+
+    /**
+     * DataSource de la aplicación: retrasa la elección del destino hasta la primera sentencia, cuando la
+     * transacción ya ha indicado si es de solo lectura.
+     *
+     * @param replicaRoutingDataSource DataSource de enrutado.
+     * @return DataSource usado por JPA y JDBC.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Hace que Hibernate devuelva la conexión al terminar cada transacción. Spring la retiene por defecto durante
+     * toda la sesión, que con open-in-view dura la petición entera: una escritura después de una lectura
+     * reutilizaría la conexión de la réplica.
+     *
+     * @return Ajuste de las propiedades de Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
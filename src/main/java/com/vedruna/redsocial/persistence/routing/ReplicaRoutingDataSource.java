@@ -0,0 +1,252 @@
+package com.vedruna.redsocial.persistence.routing;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * DataSource que envía las transacciones de solo lectura a un conjunto de réplicas y el resto a la principal.
+ *
+ * Solo se tienen en cuenta las transacciones de solo lectura declaradas por la aplicación (los métodos get* de
+ * los servicios): Spring Data declara readOnly en todos los métodos de lectura de los repositorios, y esas
+ * transacciones también envuelven las búsquedas previas a una escritura o la carga del usuario al autenticar,
+ * que deben ver siempre el último estado.
+ *
+ * Las réplicas se eligen por turnos. Una réplica que no entrega conexión se aparta durante el tiempo de
+ * expulsión y la conexión se pide a la siguiente; si no queda ninguna disponible se usa la principal. Pasado
+ * ese tiempo, la siguiente petición vuelve a probarla.
+ *
+ * Cuando un usuario autenticado confirma una transacción de escritura, sus lecturas van a la principal durante
+ * la ventana de ReadYourWritesTracker. No se consulta el retraso de replicación de cada réplica: la ventana es
+ * fija, así que debe ser mayor que el retraso esperado, y una réplica que vaya más atrasada puede devolver a
+ * otros usuarios (o al mismo, pasada la ventana) datos anteriores a la escritura.
+ *
+ * Debe usarse detrás de un LazyConnectionDataSourceProxy: la conexión se pide al ejecutar la primera sentencia,
+ * cuando ya se sabe si la transacción es de solo lectura.
+ *
+ * Cada conexión incrementa el contador "redsocial.datasource.routing" con la etiqueta "target" (primary,
+ * replica, sticky o fallback), y cada expulsión "redsocial.datasource.replica.ejections" con la etiqueta
+ * "replica".
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private static final Object WRITE_MARKER = new Object();
+
+    private final DataSource primary;
+
+    private final List<String> replicaKeys = new ArrayList<>();
+
+    private final Map<String, DataSource> replicas = new HashMap<>();
+
+    private final Map<String, Long> ejectedUntil = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final ReadYourWritesTracker readYourWrites;
+
+    private final long ejectionNanos;
+
+    private final String applicationPackage;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor de la clase ReplicaRoutingDataSource.
+     *
+     * @param primary            DataSource de la base de datos principal.
+     * @param replicas           DataSource de cada réplica.
+     * @param readYourWrites     Registro de usuarios que acaban de escribir.
+     * @param ejectionTime       Tiempo que se aparta una réplica que ha fallado.
+     * @param applicationPackage Paquete cuyas transacciones de solo lectura pueden ir a las réplicas.
+     * @param meterRegistry      Registro de métricas.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker readYourWrites,
+            Duration ejectionTime, String applicationPackage, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.readYourWrites = readYourWrites;
+        this.ejectionNanos = ejectionTime.toNanos();
+        this.applicationPackage = applicationPackage + ".";
+        this.meterRegistry = meterRegistry;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            this.replicas.put(key, replicas.get(i));
+            targets.put(key, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        meterRegistry.gauge("redsocial.datasource.replicas.available", this, ReplicaRoutingDataSource::availableReplicas);
+    }
+
+    /**
+     * Decide el destino de la conexión: una réplica para las lecturas de la aplicación y la principal para el
+     * resto, para los usuarios que acaban de escribir o cuando no hay réplicas disponibles.
+     *
+     * @return Clave del DataSource de destino.
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!isApplicationReadOnlyTransaction()) {
+            return route(PRIMARY);
+        }
+        String user = ReadYourWritesTracker.currentUser();
+        if (user != null && readYourWrites.isSticky(user)) {
+            meterRegistry.counter("redsocial.datasource.routing", "target", "sticky").increment();
+            return PRIMARY;
+        }
+        String replica = nextAvailableReplica();
+        if (replica == null) {
+            meterRegistry.counter("redsocial.datasource.routing", "target", "fallback").increment();
+            return PRIMARY;
+        }
+        return route(replica);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(username, password);
+    }
+
+    /**
+     * Cierra los pools de las réplicas. La principal la gestiona quien la ha creado.
+     */
+    @Override
+    public void close() {
+        for (DataSource replica : replicas.values()) {
+            closeQuietly(replica);
+        }
+    }
+
+    private Connection connect(String username, String password) throws SQLException {
+        String key = (String) determineCurrentLookupKey();
+        while (!PRIMARY.equals(key)) {
+            try {
+                Connection connection = open(replicas.get(key), username, password);
+                if (!ejectedUntil.isEmpty()) {
+                    ejectedUntil.remove(key);
+                }
+                return connection;
+            } catch (SQLException e) {
+                eject(key, e);
+                key = nextAvailableReplica();
+                if (key == null) {
+                    meterRegistry.counter("redsocial.datasource.routing", "target", "fallback").increment();
+                    key = PRIMARY;
+                }
+            }
+        }
+        trackWrite();
+        return open(primary, username, password);
+    }
+
+    /**
+     * Si la conexión es para una transacción de escritura de un usuario autenticado, abre su ventana de lectura
+     * de las propias escrituras cuando la transacción se confirma.
+     */
+    private void trackWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || TransactionSynchronizationManager.hasResource(WRITE_MARKER)) {
+            return;
+        }
+        String user = ReadYourWritesTracker.currentUser();
+        if (user == null) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_MARKER, user);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_MARKER);
+                if (status == STATUS_COMMITTED) {
+                    readYourWrites.markWrite(user);
+                }
+            }
+        });
+    }
+
+    private boolean isApplicationReadOnlyTransaction() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name != null && name.startsWith(applicationPackage);
+    }
+
+    private String nextAvailableReplica() {
+        int count = replicaKeys.size();
+        long now = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            String key = replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), count));
+            Long until = ejectedUntil.get(key);
+            if (until == null || now - until >= 0) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private void eject(String key, SQLException e) {
+        ejectedUntil.put(key, System.nanoTime() + ejectionNanos);
+        meterRegistry.counter("redsocial.datasource.replica.ejections", "replica", key).increment();
+        log.error("Error during connection to " + key + ", ejected: " + e.getMessage(), e);
+    }
+
+    private String route(String key) {
+        meterRegistry.counter("redsocial.datasource.routing", "target", PRIMARY.equals(key) ? PRIMARY : "replica").increment();
+        return key;
+    }
+
+    private double availableReplicas() {
+        long now = System.nanoTime();
+        return replicaKeys.stream()
+                .filter(key -> {
+                    Long until = ejectedUntil.get(key);
+                    return until == null || now - until >= 0;
+                })
+                .count();
+    }
+
+    private static Connection open(DataSource dataSource, String username, String password) throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.error("Error during data source shutdown: " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -1,21 +1,86 @@
 package com.vedruna.redsocial.sc.handler;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import com.vedruna.redsocial.exception.ConflictException;
+import com.vedruna.redsocial.exception.ForbiddenException;
+import com.vedruna.redsocial.exception.NotFoundException;
+import com.vedruna.redsocial.exception.RedSocialException;
+import com.vedruna.redsocial.exception.UnauthorizedException;
+import com.vedruna.redsocial.exception.UnavailableException;
+import com.vedruna.redsocial.sc.security.crypto.PasswordHashingRejectedException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Traduce las excepciones de los controladores a respuestas HTTP.
+ *
+ * Los errores de dominio (RedSocialException) se responden con su estado (404, 403, 409, 401 o 503) y cuentan en
+ * "redsocial.errors" con la etiqueta "type"; no se registran en el log porque son parte del funcionamiento
+ * normal. El resto de excepciones se registran y se responden con 500.
+ */
+@Slf4j
 @ControllerAdvice
 public class GlobalExceptionHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor de la clase GlobalExceptionHandler.
+     *
+     * @param meterRegistry Registro de métricas.
+     */
+    @Autowired
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 	
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<String> handleException(Exception e) {
+        log.error("Error during request: " + e.getMessage(), e);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal Server Error: " + e.getMessage());
     }
 
+    @ExceptionHandler(NotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<String> handleNotFoundException(NotFoundException e) {
+        return domainError(HttpStatus.NOT_FOUND, "Not Found", e);
+    }
+
+    @ExceptionHandler(ForbiddenException.class)
+    @ResponseStatus(HttpStatus.FORBIDDEN)
+    public ResponseEntity<String> handleForbiddenException(ForbiddenException e) {
+        return domainError(HttpStatus.FORBIDDEN, "Forbidden", e);
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<String> handleConflictException(ConflictException e) {
+        return domainError(HttpStatus.CONFLICT, "Conflict", e);
+    }
+
+    @ExceptionHandler(UnauthorizedException.class)
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    public ResponseEntity<String> handleUnauthorizedException(UnauthorizedException e) {
+        return domainError(HttpStatus.UNAUTHORIZED, "Unauthorized", e);
+    }
+
+    @ExceptionHandler(UnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<String> handleUnavailableException(UnavailableException e) {
+        return domainError(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", e);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException e) {
@@ -29,4 +94,23 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> handleDuplicateKeyException(DuplicateKeyException e) {
         return ResponseEntity.status(HttpStatus.CONFLICT).body("Conflict: " + e.getMessage());
     }
+
+    @ExceptionHandler(AuthenticationException.class)
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    public ResponseEntity<String> handleAuthenticationException(AuthenticationException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Unauthorized: " + e.getMessage());
+    }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ResponseEntity<String> handlePasswordHashingRejectedException(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body("Too Many Requests: " + e.getMessage());
+    }
+
+    private ResponseEntity<String> domainError(HttpStatus status, String reason, RedSocialException e) {
+        meterRegistry.counter("redsocial.errors", "type", e.getClass().getSimpleName()).increment();
+        return ResponseEntity.status(status).body(reason + ": " + e.getMessage());
+    }
 }
@@ -0,0 +1,43 @@
+package com.vedruna.redsocial.sc.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Token de refresco emitido a un usuario. Solo se guarda el SHA-256 del token, nunca el valor original.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name="S_REFRESH_TOKEN")
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(nullable = false, unique = true)
+    String tokenHash;
+
+    @Column(nullable = false)
+    String username;
+
+    @Column(nullable = false)
+    Instant expiresAt;
+
+    boolean revoked;
+
+    public RefreshToken(String tokenHash, String username, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.username = username;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,31 @@
+package com.vedruna.redsocial.sc.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Identificador (jti) de un token de acceso revocado antes de caducar.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name="S_REVOKED_TOKEN")
+public class RevokedToken {
+
+    @Id
+    String jti;
+
+    @Column(nullable = false)
+    Instant expiresAt;
+
+    @Column(nullable = false)
+    Instant revokedAt;
+}
@@ -46,6 +46,12 @@ public class SecurityUser implements UserDetails {
     @Enumerated(EnumType.STRING)
     Role role;
 
+    /**
+     * Identificador del perfil de la red social (RS_USER) asociado a esta cuenta.
+     */
+    @Column(unique = true)
+    Long socialUserId;
+
     public SecurityUser(String username, String firstName, String lastName, String country, String password, Role role) {
         this.username = username;
         this.firstName = firstName;
@@ -2,9 +2,14 @@ package com.vedruna.redsocial.sc.model;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<SecurityUser, Long> {
     Optional<SecurityUser> findByUsername(String username);
 
+    List<SecurityUser> findBySocialUserIdIsNull();
+
+    boolean existsBySocialUserId(Long socialUserId);
+
 }
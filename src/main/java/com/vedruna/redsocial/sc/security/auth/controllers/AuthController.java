@@ -10,10 +10,16 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.vedruna.redsocial.exception.UnauthorizedException;
 import com.vedruna.redsocial.sc.security.auth.model.AuthResponse;
 import com.vedruna.redsocial.sc.security.auth.model.LoginRequest;
+import com.vedruna.redsocial.sc.security.auth.model.RefreshRequest;
 import com.vedruna.redsocial.sc.security.auth.model.RegisterRequest;
 import com.vedruna.redsocial.sc.security.auth.services.AuthService;
+import com.vedruna.redsocial.sc.security.jwt.JWTAuthenticationFilter;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * Controlador que maneja las solicitudes relacionadas con la autenticación.
@@ -55,6 +61,30 @@ public class AuthController {
         return ResponseEntity.ok(authService.register(request));
     }
 
+    /**
+     * Cambia un token de refresco por un token JWT nuevo y otro token de refresco.
+     *
+     * @param request Token de refresco proporcionado en el cuerpo de la solicitud.
+     * @return ResponseEntity que contiene la respuesta de autenticación.
+     */
+    @PostMapping(value = "/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    /**
+     * Cierra la sesión: revoca el token JWT de la cabecera Authorization y, si se envía, el token de refresco.
+     *
+     * @param request     Token de refresco proporcionado en el cuerpo de la solicitud (opcional).
+     * @param httpRequest Solicitud HTTP, con las reclamaciones del token JWT verificado.
+     * @return ResponseEntity vacío.
+     */
+    @PostMapping(value = "/logout")
+    public ResponseEntity<Void> logout(@RequestBody(required = false) RefreshRequest request, HttpServletRequest httpRequest) {
+        authService.logout(request, (Claims) httpRequest.getAttribute(JWTAuthenticationFilter.CLAIMS_ATTRIBUTE));
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Valida si el token proporcionado coincide con el valor esperado.
      *
@@ -62,7 +92,7 @@ public class AuthController {
      */
     private void validateToken(String token) {
         if (!expectedToken.equals(token)) {
-            throw new RuntimeException("Token no válido");
+            throw new UnauthorizedException("Token no válido");
         }
     }
 }
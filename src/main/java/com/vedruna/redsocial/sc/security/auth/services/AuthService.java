@@ -2,21 +2,28 @@ package com.vedruna.redsocial.sc.security.auth.services;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.vedruna.redsocial.exception.ConflictException;
 import com.vedruna.redsocial.sc.model.Role;
 import com.vedruna.redsocial.sc.model.SecurityUser;
 import com.vedruna.redsocial.sc.model.UserRepository;
 import com.vedruna.redsocial.sc.security.auth.model.LoginRequest;
+import com.vedruna.redsocial.sc.security.auth.model.RefreshRequest;
 import com.vedruna.redsocial.sc.security.auth.model.RegisterRequest;
 import com.vedruna.redsocial.sc.security.auth.model.AuthResponse;
 
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+
 /**
  * Servicio de autenticación que proporciona métodos para iniciar sesión y registrar usuarios.
  */
 @Service
+@Slf4j
 public class AuthService implements AuthServiceI {
 
     @Autowired
@@ -31,23 +38,43 @@ public class AuthService implements AuthServiceI {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private IdentityLinkService identityLinkService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     /**
-     * Realiza el proceso de inicio de sesión y genera un token JWT.
+     * Realiza el proceso de inicio de sesión y genera un token JWT. Si la cuenta aún no tiene perfil enlazado,
+     * intenta enlazarla con la contraseña recién verificada.
      *
      * @param request Objeto de solicitud de inicio de sesión que contiene el nombre de usuario y la contraseña.
-     * @return Objeto AuthResponse que contiene el token JWT generado.
+     * @return Objeto AuthResponse que contiene el token JWT generado y un token de refresco.
      */
     public AuthResponse login(LoginRequest request) {
         authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
         SecurityUser user = userRepository.findByUsername(request.getUsername()).orElseThrow();
-        return new AuthResponse(jwtService.getToken(user));
+        if (user.getSocialUserId() == null) {
+            try {
+                identityLinkService.link(user, request.getPassword());
+            } catch (ConflictException e) {
+                log.warn("User {} not linked: {}", user.getUsername(), e.getMessage());
+            }
+        }
+        return issueTokens(user);
     }
 
     /**
-     * Registra un nuevo usuario y genera un token JWT.
+     * Registra un nuevo usuario y genera un token JWT. La contraseña se codifica antes de abrir la transacción
+     * en la que IdentityLinkService guarda la cuenta y su enlace con el perfil, para no retener una conexión
+     * mientras se calcula el hash.
      *
      * @param request Objeto de solicitud de registro que contiene la información del nuevo usuario.
-     * @return Objeto AuthResponse que contiene el token JWT generado.
+     * @return Objeto AuthResponse que contiene el token JWT generado y un token de refresco.
+     * @throws ConflictException Si el nombre de usuario pertenece a un perfil de otra persona.
      */
     public AuthResponse register(RegisterRequest request) {
         SecurityUser user = new SecurityUser(
@@ -58,7 +85,39 @@ public class AuthService implements AuthServiceI {
                 passwordEncoder.encode(request.getPassword()),
                 Role.USER
         );
-        userRepository.save(user);
-        return new AuthResponse(jwtService.getToken(user));
+        identityLinkService.register(user, request.getPassword());
+        return issueTokens(user);
+    }
+
+    /**
+     * Cambia un token de refresco por un token JWT nuevo y otro token de refresco. El token usado deja de valer.
+     *
+     * @param request Objeto de solicitud que contiene el token de refresco.
+     * @return Objeto AuthResponse que contiene el token JWT generado y el nuevo token de refresco.
+     */
+    public AuthResponse refresh(RefreshRequest request) {
+        String username = refreshTokenService.consume(request.getRefreshToken());
+        SecurityUser user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new BadCredentialsException("Usuario no encontrado"));
+        return issueTokens(user);
+    }
+
+    /**
+     * Cierra la sesión revocando el token JWT actual y, si se indica, el token de refresco.
+     *
+     * @param request      Objeto de solicitud que contiene el token de refresco (opcional).
+     * @param accessClaims Reclamaciones del token JWT de la petición (pueden ser null).
+     */
+    public void logout(RefreshRequest request, Claims accessClaims) {
+        if (accessClaims != null) {
+            tokenRevocationService.revoke(accessClaims.getId(), accessClaims.getExpiration().toInstant());
+        }
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+    }
+
+    private AuthResponse issueTokens(SecurityUser user) {
+        return new AuthResponse(jwtService.getToken(user), refreshTokenService.issue(user.getUsername()));
     }
 }
@@ -1,10 +1,15 @@
 package com.vedruna.redsocial.sc.security.auth.services;
 
 import com.vedruna.redsocial.sc.security.auth.model.LoginRequest;
+import com.vedruna.redsocial.sc.security.auth.model.RefreshRequest;
 import com.vedruna.redsocial.sc.security.auth.model.RegisterRequest;
 import com.vedruna.redsocial.sc.security.auth.model.AuthResponse;
 
+import io.jsonwebtoken.Claims;
+
 public interface AuthServiceI {
     AuthResponse login(LoginRequest request);
     AuthResponse register(RegisterRequest request);
+    AuthResponse refresh(RefreshRequest request);
+    void logout(RefreshRequest request, Claims accessClaims);
 }
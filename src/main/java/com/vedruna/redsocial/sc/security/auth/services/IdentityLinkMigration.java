@@ -0,0 +1,67 @@
+package com.vedruna.redsocial.sc.security.auth.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.vedruna.redsocial.sc.model.SecurityUser;
+import com.vedruna.redsocial.sc.model.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Migración que enlaza al arrancar las cuentas de S_USER creadas antes de existir el enlace con RS_USER.
+ *
+ * Solo procesa las cuentas sin enlazar, así que se puede ejecutar en cada arranque. Un perfil existente solo
+ * se reutiliza si tiene el mismo hash de contraseña que la cuenta (ver IdentityLinkService).
+ */
+@Component
+@Slf4j
+public class IdentityLinkMigration implements ApplicationRunner {
+
+    private final UserRepository securityUserRepository;
+
+    private final IdentityLinkService identityLinkService;
+
+    /**
+     * Constructor de la clase IdentityLinkMigration.
+     *
+     * @param securityUserRepository Repositorio de cuentas de autenticación.
+     * @param identityLinkService    Servicio de enlace de identidades.
+     */
+    @Autowired
+    public IdentityLinkMigration(UserRepository securityUserRepository, IdentityLinkService identityLinkService) {
+        this.securityUserRepository = securityUserRepository;
+        this.identityLinkService = identityLinkService;
+    }
+
+    /**
+     * Enlaza todas las cuentas pendientes. Las cuentas cuyo nombre pertenece a un perfil de otra persona se
+     * dejan sin enlazar: se enlazan al iniciar sesión si la contraseña coincide con la del perfil.
+     *
+     * @param args Argumentos de la aplicación.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        List<SecurityUser> unlinked = securityUserRepository.findBySocialUserIdIsNull();
+        int linked = 0;
+        for (SecurityUser securityUser : unlinked) {
+            try {
+                if (identityLinkService.linkExisting(securityUser)) {
+                    linked++;
+                } else {
+                    log.warn("User {} not linked: the profile with that name belongs to another account",
+                            securityUser.getUsername());
+                }
+            } catch (RuntimeException e) {
+                log.error("Error linking user " + securityUser.getUsername() + ": " + e.getMessage(), e);
+            }
+        }
+        if (!unlinked.isEmpty()) {
+            log.info("Linked {} of {} security users to social profiles", linked, unlinked.size());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.vedruna.redsocial.sc.security.auth.services;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vedruna.redsocial.exception.ConflictException;
+import com.vedruna.redsocial.persistence.model.User;
+import com.vedruna.redsocial.persistence.repository.UserRepositoryI;
+import com.vedruna.redsocial.sc.model.SecurityUser;
+import com.vedruna.redsocial.sc.model.UserRepository;
+import com.vedruna.redsocial.service.UserServiceI;
+
+/**
+ * Servicio que mantiene el enlace 1:1 entre las cuentas de autenticación (S_USER) y los perfiles de la red
+ * social (RS_USER).
+ *
+ * Una cuenta solo se enlaza con un perfil existente si demuestra que es suya: con la contraseña del perfil al
+ * registrarse o iniciar sesión, o, en la migración, con el mismo hash de contraseña (el perfil se creó a partir
+ * de la cuenta). Compartir el nombre de usuario no basta.
+ *
+ * La contraseña se comprueba antes de abrir la transacción, para no retener una conexión mientras se calcula
+ * el hash; dentro de la transacción solo se confirma que el perfil sigue siendo el mismo.
+ */
+@Service
+public class IdentityLinkService {
+
+    private final UserRepository securityUserRepository;
+
+    private final UserRepositoryI userRepository;
+
+    private final UserServiceI userService;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor de la clase IdentityLinkService.
+     *
+     * @param securityUserRepository Repositorio de cuentas de autenticación.
+     * @param userRepository         Repositorio de usuarios de la red social.
+     * @param userService            Servicio de usuarios de la red social.
+     * @param passwordEncoder        Codificador de contraseñas.
+     * @param transactionManager     Gestor de transacciones.
+     */
+    @Autowired
+    public IdentityLinkService(UserRepository securityUserRepository, UserRepositoryI userRepository,
+            UserServiceI userService, PasswordEncoder passwordEncoder, PlatformTransactionManager transactionManager) {
+        this.securityUserRepository = securityUserRepository;
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Guarda una cuenta nueva y la enlaza con su perfil en la misma transacción, de modo que un registro
+     * rechazado no deja una cuenta sin enlazar. La contraseña de la cuenta ya debe estar codificada.
+     *
+     * @param securityUser Cuenta de autenticación nueva.
+     * @param rawPassword  Contraseña en claro con la que se registra la cuenta.
+     * @throws ConflictException Si el nombre de usuario pertenece a un perfil de otra persona.
+     */
+    public void register(SecurityUser securityUser, String rawPassword) {
+        Optional<Long> profileId = verifyOwnership(securityUser, rawPassword);
+        transactionTemplate.executeWithoutResult(status -> {
+            checkProfileUnchanged(securityUser, profileId);
+            securityUserRepository.save(securityUser);
+            save(securityUser, profileId);
+        });
+    }
+
+    /**
+     * Enlaza una cuenta con su perfil. Si ya existe un perfil con su nombre de usuario solo se enlaza cuando la
+     * contraseña coincide con la del perfil; si no existe, se crea. No hace nada si la cuenta ya está enlazada.
+     *
+     * @param securityUser Cuenta de autenticación.
+     * @param rawPassword  Contraseña en claro con la que se ha registrado o identificado la cuenta.
+     * @throws ConflictException Si el nombre de usuario pertenece a un perfil de otra persona.
+     */
+    public void link(SecurityUser securityUser, String rawPassword) {
+        if (securityUser.getSocialUserId() != null) {
+            return;
+        }
+
+        Optional<Long> profileId = verifyOwnership(securityUser, rawPassword);
+        transactionTemplate.executeWithoutResult(status -> {
+            checkProfileUnchanged(securityUser, profileId);
+            save(securityUser, profileId);
+        });
+    }
+
+    /**
+     * Enlaza una cuenta existente sin conocer su contraseña en claro: solo se reutiliza un perfil con el mismo
+     * hash de contraseña que la cuenta, que es el que se crea a partir de ella.
+     *
+     * @param securityUser Cuenta de autenticación.
+     * @return true si la cuenta ha quedado enlazada; false si su nombre pertenece a otro perfil.
+     */
+    @Transactional
+    public boolean linkExisting(SecurityUser securityUser) {
+        if (securityUser.getSocialUserId() != null) {
+            return true;
+        }
+
+        Optional<User> profile = userRepository.findByUserName(securityUser.getUsername());
+        if (profile.isPresent() && !securityUser.getPassword().equals(profile.get().getPassword())) {
+            return false;
+        }
+        save(securityUser, profile.map(User::getUserId));
+        return true;
+    }
+
+    /**
+     * Comprueba, fuera de cualquier transacción, que el perfil con el nombre de la cuenta es suyo.
+     *
+     * @return Identificador del perfil, o vacío si no existe ninguno con ese nombre.
+     */
+    private Optional<Long> verifyOwnership(SecurityUser securityUser, String rawPassword) {
+        Optional<User> profile = userRepository.findByUserName(securityUser.getUsername());
+        if (profile.isPresent() && (rawPassword == null || profile.get().getPassword() == null
+                || !passwordEncoder.matches(rawPassword, profile.get().getPassword()))) {
+            throw new ConflictException("El nombre de usuario ya está en uso");
+        }
+        return profile.map(User::getUserId);
+    }
+
+    /**
+     * Comprueba, dentro de la transacción, que el perfil con el nombre de la cuenta es el que se verificó.
+     */
+    private void checkProfileUnchanged(SecurityUser securityUser, Optional<Long> profileId) {
+        Optional<Long> current = userRepository.findByUserName(securityUser.getUsername()).map(User::getUserId);
+        if (!current.equals(profileId)) {
+            throw new ConflictException("El nombre de usuario ya está en uso");
+        }
+    }
+
+    private void save(SecurityUser securityUser, Optional<Long> profileId) {
+        Long socialUserId;
+        if (profileId.isPresent()) {
+            socialUserId = profileId.get();
+            if (securityUserRepository.existsBySocialUserId(socialUserId)) {
+                throw new ConflictException("El perfil ya está enlazado a otra cuenta");
+            }
+        } else {
+            socialUserId = userService.createProfile(securityUser.getUsername(), securityUser.getPassword()).getUserId();
+        }
+
+        securityUser.setSocialUserId(socialUserId);
+        securityUserRepository.save(securityUser);
+    }
+}
@@ -1,29 +1,88 @@
 package com.vedruna.redsocial.sc.security.auth.services;
 
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import com.vedruna.redsocial.sc.model.SecurityUser;
+import com.vedruna.redsocial.util.Digests;
 
 import javax.crypto.SecretKey;
 
 /**
  * Servicio que proporciona métodos para la generación y validación de tokens JWT.
+ *
+ * La clave y el parser se construyen una sola vez y se comparten entre hilos. Al rotar la clave se conserva
+ * la anterior para verificar los tokens emitidos antes de la rotación hasta que caduquen.
+ *
+ * Cada token se verifica una sola vez: las reclamaciones resultantes se guardan en una caché acotada, indexada
+ * por el SHA-256 del token, y cada entrada caduca a la vez que el propio token.
  */
 @Service
 public class JWTService implements JWTServiceI {
 
-    @Value("${jwt.secret}")
-    String SECRET_KEY;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private volatile SigningKeys signingKeys;
+
+    private final Cache<String, Claims> verifiedTokens;
+
+    private final Duration accessTtl;
+
+    /**
+     * Constructor de la clase JWTService.
+     *
+     * @param secretKey          Clave secreta en Base64 para firmar y verificar los tokens.
+     * @param verifiedCacheSize  Número máximo de tokens verificados en caché.
+     * @param accessTtl          Tiempo de vida de los tokens de acceso.
+     */
+    @Autowired
+    public JWTService(@Value("${jwt.secret}") String secretKey,
+            @Value("${redsocial.security.jwt.verified-cache-size:10000}") long verifiedCacheSize,
+            @Value("${redsocial.security.jwt.access-ttl:15m}") Duration accessTtl) {
+        this.signingKeys = new SigningKeys(buildKey(secretKey), null);
+        this.accessTtl = accessTtl;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return nanosUntilExpiration(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return nanosUntilExpiration(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
 
     /**
      * Genera un token JWT para un usuario.
@@ -33,11 +92,14 @@ public class JWTService implements JWTServiceI {
      */
     @Override
     public String getToken(SecurityUser user) {
-        return getToken(Map.of(
-                "userId", user.getId(),
-                "firstName", user.getFirstName(),
-                "lastName", user.getLastName()
-        ), user);
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", user.getId());
+        claims.put("firstName", user.getFirstName());
+        claims.put("lastName", user.getLastName());
+        claims.put("role", user.getRole() == null ? null : user.getRole().name());
+        claims.put("socialUserId", user.getSocialUserId());
+        claims.values().removeIf(Objects::isNull);
+        return getToken(claims, user);
     }
 
     /**
@@ -49,24 +111,70 @@ public class JWTService implements JWTServiceI {
      */
     @Override
     public String getToken(Map<String, Object> extraClaims, SecurityUser user) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .claims(extraClaims)
+                .id(UUID.randomUUID().toString())
                 .subject(user.getUsername())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 24)) // Expire en 24 horas
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + accessTtl.toMillis()))
                 .signWith(getKey())
                 .compact();
     }
 
     /**
-     * Obtiene la clave secreta para firmar y verificar los tokens.
+     * Obtiene la clave secreta actual para firmar y verificar los tokens.
      *
      * @return Clave secreta para firmar y verificar los tokens.
      */
     @Override
     public SecretKey getKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKeys.currentKey;
+    }
+
+    /**
+     * Sustituye la clave de firma por una aleatoria generada aquí, del mismo tamaño que la actual. Los nuevos
+     * tokens se firman con la nueva clave y los emitidos con la anterior se siguen aceptando.
+     *
+     * La nueva clave solo existe en la memoria de esta instancia: no se guarda ni se comunica a otras
+     * instancias, y al reiniciar se vuelve a usar jwt.secret.
+     */
+    @Override
+    public synchronized void rotateKey() {
+        byte[] keyBytes = new byte[signingKeys.currentKey.getEncoded().length];
+        RANDOM.nextBytes(keyBytes);
+        signingKeys = new SigningKeys(Keys.hmacShaKeyFor(keyBytes), signingKeys.currentKey);
+        verifiedTokens.invalidateAll();
+    }
+
+    /**
+     * Indica si todavía se aceptan tokens firmados con la clave anterior a la última rotación.
+     *
+     * @return true si hay una clave anterior.
+     */
+    @Override
+    public boolean hasPreviousKey() {
+        return signingKeys.previousParser != null;
+    }
+
+    /**
+     * Verifica la firma y la caducidad de un token JWT y devuelve sus reclamaciones.
+     *
+     * @param token Token JWT.
+     * @return Reclamaciones verificadas del token.
+     * @throws io.jsonwebtoken.JwtException Si el token no es válido o ha expirado.
+     */
+    @Override
+    public Claims verifyToken(String token) {
+        String tokenHash = Digests.sha256Token(token);
+        Claims claims = verifiedTokens.getIfPresent(tokenHash);
+        if (claims == null || isExpired(claims)) {
+            claims = parseClaims(token);
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(tokenHash, claims);
+            }
+        }
+        return claims;
     }
 
     /**
@@ -87,23 +195,37 @@ public class JWTService implements JWTServiceI {
      * @return `true` si el token es válido, `false` de lo contrario.
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return isTokenValid(verifyToken(token), userDetails);
+    }
+
+    /**
+     * Verifica si las reclamaciones de un token ya verificado corresponden a un usuario y no han expirado.
+     *
+     * @param claims      Reclamaciones verificadas del token.
+     * @param userDetails Detalles del usuario.
+     * @return `true` si el token es válido, `false` de lo contrario.
+     */
+    @Override
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims);
     }
 
     /**
-     * Obtiene todas las reclamaciones de un token JWT.
+     * Analiza un token JWT y verifica su firma con la clave actual o, si no coincide, con la anterior.
      *
      * @param token Token JWT.
      * @return Reclamaciones extraídas del token.
      */
-    private Claims getAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private Claims parseClaims(String token) {
+        SigningKeys keys = signingKeys;
+        try {
+            return keys.currentParser.parseSignedClaims(token).getPayload();
+        } catch (SignatureException e) {
+            if (keys.previousParser == null) {
+                throw e;
+            }
+            return keys.previousParser.parseSignedClaims(token).getPayload();
+        }
     }
 
     /**
@@ -114,27 +236,44 @@ public class JWTService implements JWTServiceI {
      * @return Reclamación extraída del token.
      */
     public <T> T getClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaims(token);
+        final Claims claims = verifyToken(token);
         return claimsResolver.apply(claims);
     }
 
     /**
-     * Obtiene la fecha de expiración de un token JWT.
+     * Verifica si unas reclamaciones han expirado.
      *
-     * @param token Token JWT.
-     * @return Fecha de expiración del token.
+     * @param claims Reclamaciones del token.
+     * @return `true` si el token ha expirado, `false` de lo contrario.
      */
-    private Date getExpiration(String token) {
-        return getClaim(token, Claims::getExpiration);
+    private static boolean isExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
+    }
+
+    private static long nanosUntilExpiration(Claims claims) {
+        long millis = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+    }
+
+    private static SecretKey buildKey(String secretKey) {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        return Keys.hmacShaKeyFor(keyBytes);
     }
 
     /**
-     * Verifica si un token JWT ha expirado.
-     *
-     * @param token Token JWT.
-     * @return `true` si el token ha expirado, `false` de lo contrario.
+     * Clave actual, parser asociado y parser de la clave anterior (si la hay). Se sustituye completo en cada
+     * rotación para que las lecturas vean siempre un estado coherente.
      */
-    private boolean isTokenExpired(String token) {
-        return getExpiration(token).before(new Date());
+    private static final class SigningKeys {
+
+        private final SecretKey currentKey;
+        private final JwtParser currentParser;
+        private final JwtParser previousParser;
+
+        private SigningKeys(SecretKey currentKey, SecretKey previousKey) {
+            this.currentKey = currentKey;
+            this.currentParser = Jwts.parser().verifyWith(currentKey).build();
+            this.previousParser = previousKey == null ? null : Jwts.parser().verifyWith(previousKey).build();
+        }
     }
 }
@@ -3,6 +3,8 @@ package com.vedruna.redsocial.sc.security.auth.services;
 import org.springframework.security.core.userdetails.UserDetails;
 import com.vedruna.redsocial.sc.model.SecurityUser;
 
+import io.jsonwebtoken.Claims;
+
 import java.security.Key;
 import java.util.Map;
 
@@ -14,7 +16,15 @@ public interface JWTServiceI {
 
     Key getKey();
 
+    void rotateKey();
+
+    boolean hasPreviousKey();
+
+    Claims verifyToken(String token);
+
     String getUsernameFromToken(String token);
 
     boolean isTokenValid(String token, UserDetails userDetails);
+
+    boolean isTokenValid(Claims claims, UserDetails userDetails);
 }
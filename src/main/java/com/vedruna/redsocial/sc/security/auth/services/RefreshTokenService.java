@@ -0,0 +1,101 @@
+package com.vedruna.redsocial.sc.security.auth.services;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.vedruna.redsocial.sc.model.RefreshToken;
+import com.vedruna.redsocial.sc.model.RefreshTokenRepository;
+import com.vedruna.redsocial.util.Digests;
+
+/**
+ * Servicio de tokens de refresco opacos y de un solo uso.
+ *
+ * Cada uso devuelve un token nuevo y revoca el anterior. Si se presenta un token ya revocado, se entiende que
+ * ha sido robado y se revocan todos los tokens de refresco del usuario.
+ */
+@Service
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final Duration refreshTtl;
+
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Constructor de la clase RefreshTokenService.
+     *
+     * @param refreshTokenRepository Repositorio de tokens de refresco.
+     * @param refreshTtl             Tiempo de vida de cada token de refresco.
+     */
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+            @Value("${redsocial.security.jwt.refresh-ttl:30d}") Duration refreshTtl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTtl = refreshTtl;
+    }
+
+    /**
+     * Emite un token de refresco para un usuario.
+     *
+     * @param username Nombre de usuario.
+     * @return Token de refresco.
+     */
+    public String issue(String username) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(Digests.sha256Token(token), username, Instant.now().plus(refreshTtl)));
+        return token;
+    }
+
+    /**
+     * Consume un token de refresco y devuelve el usuario al que pertenece.
+     *
+     * @param token Token de refresco.
+     * @return Nombre de usuario.
+     * @throws BadCredentialsException Si el token no existe, ha caducado o ya se había usado.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public String consume(String token) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(Digests.sha256Token(token))
+                .orElseThrow(() -> new BadCredentialsException("Token de refresco no válido"));
+
+        if (refreshToken.getExpiresAt().isBefore(Instant.now())) {
+            throw new BadCredentialsException("Token de refresco caducado");
+        }
+        // La actualización condicional hace que, si dos peticiones usan el mismo token a la vez, solo una gane.
+        if (refreshToken.isRevoked() || refreshTokenRepository.markRevoked(refreshToken.getId()) == 0) {
+            refreshTokenRepository.revokeAllByUsername(refreshToken.getUsername());
+            throw new BadCredentialsException("Token de refresco reutilizado");
+        }
+        return refreshToken.getUsername();
+    }
+
+    /**
+     * Revoca un token de refresco, si existe.
+     *
+     * @param token Token de refresco.
+     */
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHash(Digests.sha256Token(token))
+                .ifPresent(refreshToken -> refreshTokenRepository.markRevoked(refreshToken.getId()));
+    }
+
+    /**
+     * Borra periódicamente los tokens de refresco caducados.
+     */
+    @Scheduled(fixedDelayString = "${redsocial.security.revocation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+}
@@ -0,0 +1,144 @@
+package com.vedruna.redsocial.sc.security.auth.services;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.vedruna.redsocial.sc.model.RevokedToken;
+import com.vedruna.redsocial.sc.model.RevokedTokenRepository;
+import com.vedruna.redsocial.util.BloomFilter;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lista de revocación de tokens de acceso por su identificador (jti).
+ *
+ * Las revocaciones se guardan en S_REVOKED_TOKEN y se mantienen en memoria en un filtro de Bloom y un conjunto
+ * exacto: casi todos los tokens se descartan con el filtro, y solo los "puede que esté" se confirman en el
+ * conjunto. Comprobar un token nunca consulta la base de datos. Las revocaciones hechas en otros nodos se
+ * incorporan periódicamente, y las de tokens ya caducados se purgan.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final long expectedRevocations;
+
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    /**
+     * Identificadores revocados y el instante (en milisegundos) en que caduca cada token.
+     */
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    /**
+     * Constructor de la clase TokenRevocationService.
+     *
+     * @param revokedTokenRepository Repositorio de tokens revocados.
+     * @param expectedRevocations    Número mínimo de revocaciones para dimensionar el filtro.
+     * @param falsePositiveRate      Tasa de falsos positivos del filtro.
+     */
+    @Autowired
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+            @Value("${redsocial.security.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${redsocial.security.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Carga las revocaciones vigentes al arrancar.
+     */
+    @PostConstruct
+    public void loadRevocations() {
+        Instant now = Instant.now();
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            revoked.put(token.getJti(), token.getExpiresAt().toEpochMilli());
+        }
+        lastSync = now;
+        rebuildFilter();
+        log.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    /**
+     * Revoca un token de acceso hasta su caducidad.
+     *
+     * @param jti       Identificador del token.
+     * @param expiresAt Instante de caducidad del token.
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt.isBefore(Instant.now())) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt, Instant.now()));
+        add(jti, expiresAt.toEpochMilli());
+    }
+
+    /**
+     * Indica si un token de acceso está revocado.
+     *
+     * @param jti Identificador del token.
+     * @return true si se ha revocado.
+     */
+    public boolean isRevoked(String jti) {
+        return jti != null && filter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    /**
+     * Incorpora las revocaciones registradas por otros nodos desde la última sincronización.
+     */
+    @Scheduled(fixedDelayString = "${redsocial.security.revocation.sync-interval-ms:5000}")
+    public void syncRevocations() {
+        Instant since = lastSync;
+        Instant now = Instant.now();
+        // Se solapa un segundo con la sincronización anterior para no perder revocaciones en el límite.
+        List<RevokedToken> tokens = revokedTokenRepository.findByRevokedAtAfter(since.minusSeconds(1));
+        for (RevokedToken token : tokens) {
+            if (!revoked.containsKey(token.getJti())) {
+                add(token.getJti(), token.getExpiresAt().toEpochMilli());
+            }
+        }
+        lastSync = now;
+    }
+
+    /**
+     * Descarta las revocaciones de tokens ya caducados y reconstruye el filtro sin ellas.
+     */
+    @Scheduled(fixedDelayString = "${redsocial.security.revocation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt < now);
+        revokedTokenRepository.deleteExpired(Instant.ofEpochMilli(now));
+        rebuildFilter();
+    }
+
+    private synchronized void add(String jti, long expiresAtMillis) {
+        revoked.put(jti, expiresAtMillis);
+        filter.put(jti);
+    }
+
+    /**
+     * Sustituye el filtro por uno nuevo con las revocaciones vigentes. Se sincroniza con {@link #add} para que
+     * ninguna revocación quede fuera del filtro nuevo.
+     */
+    private synchronized void rebuildFilter() {
+        BloomFilter newFilter = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2L), falsePositiveRate);
+        for (String jti : revoked.keySet()) {
+            newFilter.put(jti);
+        }
+        filter = newFilter;
+    }
+}
@@ -1,18 +1,21 @@
 package com.vedruna.redsocial.sc.security.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.vedruna.redsocial.sc.model.SecurityUser;
 import com.vedruna.redsocial.sc.model.UserRepository;
+import com.vedruna.redsocial.sc.security.crypto.BoundedPasswordEncoder;
 
 /**
  * Configuración de la aplicación relacionada con la autenticación.
@@ -23,6 +26,18 @@ public class ApplicationConfig {
     @Autowired
     private UserRepository userRepository;
 
+    @Value("${redsocial.security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${redsocial.security.bcrypt.threads:0}")
+    private int bcryptThreads;
+
+    @Value("${redsocial.security.bcrypt.queue-capacity:64}")
+    private int bcryptQueueCapacity;
+
+    @Value("${redsocial.security.bcrypt.retry-after-seconds:1}")
+    private long bcryptRetryAfterSeconds;
+
     /**
      * Configuración del administrador de autenticación.
      *
@@ -45,6 +60,7 @@ public class ApplicationConfig {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(userDetailService());
         authenticationProvider.setPasswordEncoder(passwordEncoder());
+        authenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authenticationProvider;
     }
 
@@ -60,12 +76,28 @@ public class ApplicationConfig {
     }
 
     /**
-     * Codificador de contraseñas que utiliza el algoritmo BCrypt.
+     * Servicio que guarda la contraseña recalculada cuando el coste de BCrypt ha cambiado desde que se cifró.
+     *
+     * @return El servicio de actualización de contraseñas configurado.
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (user, newPassword) -> {
+            SecurityUser securityUser = (SecurityUser) user;
+            securityUser.setPassword(newPassword);
+            return userRepository.save(securityUser);
+        };
+    }
+
+    /**
+     * Codificador de contraseñas que utiliza el algoritmo BCrypt en un ejecutor acotado, fuera de los hilos
+     * del servidor.
      *
      * @return El codificador de contraseñas configurado.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int threads = bcryptThreads > 0 ? bcryptThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(bcryptStrength, threads, bcryptQueueCapacity, bcryptRetryAfterSeconds);
     }
 }
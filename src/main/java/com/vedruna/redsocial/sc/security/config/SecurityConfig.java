@@ -1,6 +1,7 @@
 package com.vedruna.redsocial.sc.security.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -10,7 +11,10 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.vedruna.redsocial.sc.model.Role;
 import com.vedruna.redsocial.sc.security.jwt.JWTAuthenticationFilter;
+import com.vedruna.redsocial.sc.security.jwt.JWTKeyEndpoint;
+import com.vedruna.redsocial.sc.security.ratelimit.RateLimitFilter;
 
 /**
  * Configuración de seguridad para la aplicación, que establece reglas de acceso, proveedores de autenticación y filtros de seguridad.
@@ -22,6 +26,9 @@ public class SecurityConfig {
     @Autowired
     private JWTAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Autowired
     private AuthenticationProvider authProvider;
 
@@ -36,12 +43,14 @@ public class SecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http.csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(authReq ->
-                        authReq.requestMatchers("/auth/**", "/swagger-ui/**", "/v3/**", "/api/login", "/api/register", "/api/profile/{username}", "/api/user/{userId}/publications").permitAll()
+                        authReq.requestMatchers("/auth/**", "/swagger-ui/**", "/v3/**", "/api/login", "/api/register", "/api/user/available", "/api/profile/{username}", "/api/user/{userId}/publications").permitAll()
+                                .requestMatchers(EndpointRequest.to(JWTKeyEndpoint.class)).hasAuthority(Role.ADMIN.name())
                                 .anyRequest().authenticated()
                 )
                 .sessionManagement(sessionManager -> sessionManager.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authProvider)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JWTAuthenticationFilter.class)
                 .build();
     }
 }
@@ -0,0 +1,125 @@
+package com.vedruna.redsocial.sc.security.crypto;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Codificador de contraseñas BCrypt que ejecuta el hashing y la verificación en un ejecutor propio y acotado.
+ *
+ * El ejecutor tiene tantos hilos como núcleos y una cola limitada, de modo que una ráfaga de inicios de sesión
+ * no ocupa todos los hilos del servidor con trabajo de CPU. Cuando la cola está llena la operación se rechaza
+ * de inmediato con {@link PasswordHashingRejectedException}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder delegate;
+
+    private final int strength;
+
+    private final ThreadPoolExecutor executor;
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Crea el codificador y su ejecutor.
+     *
+     * @param strength          Coste de BCrypt (entre 4 y 31).
+     * @param threads           Número de hilos del ejecutor.
+     * @param queueCapacity     Número máximo de operaciones en espera.
+     * @param retryAfterSeconds Segundos recomendados antes de reintentar una operación rechazada.
+     */
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long retryAfterSeconds) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Cifra una contraseña en el ejecutor de hashing.
+     *
+     * @param rawPassword Contraseña sin cifrar.
+     * @return Contraseña cifrada con el coste configurado.
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Comprueba una contraseña en el ejecutor de hashing.
+     *
+     * @param rawPassword     Contraseña sin cifrar.
+     * @param encodedPassword Contraseña cifrada almacenada.
+     * @return true si coinciden.
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Indica si una contraseña almacenada se cifró con un coste distinto del configurado y debe recalcularse.
+     *
+     * @param encodedPassword Contraseña cifrada almacenada.
+     * @return true si hay que volver a cifrarla.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Detiene el ejecutor al cerrar el contexto de Spring.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingRejectedException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido mientras se procesaba la contraseña", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.vedruna.redsocial.sc.security.crypto;
+
+/**
+ * Excepción lanzada cuando el ejecutor de hashing de contraseñas está saturado y no acepta más trabajo.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Crea la excepción indicando cuándo conviene reintentar.
+     *
+     * @param retryAfterSeconds Segundos recomendados antes de reintentar.
+     */
+    public PasswordHashingRejectedException(long retryAfterSeconds) {
+        super("Demasiadas operaciones de autenticación en curso, inténtalo más tarde");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return Segundos recomendados antes de reintentar.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -10,12 +10,15 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import com.vedruna.redsocial.sc.security.auth.services.JWTService;
+import com.vedruna.redsocial.sc.security.auth.services.TokenRevocationService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 
 import java.io.IOException;
 
@@ -25,10 +28,17 @@ import java.io.IOException;
 @Component
 public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Atributo de la solicitud con las reclamaciones verificadas del token.
+     */
+    public static final String CLAIMS_ATTRIBUTE = JWTAuthenticationFilter.class.getName() + ".claims";
+
     @Autowired
     private JWTService jwtService;
     @Autowired
-    private UserDetailsService userDetailsService;
+    private JWTPrincipalResolver principalResolver;
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
 
     /**
      * Método principal para procesar la solicitud y realizar la autenticación basada en JWT.
@@ -42,19 +52,32 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         final String token = getTokenFromRequest(request);
-        final String username;
+        final Claims claims;
 
         if (token == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        username = jwtService.getUsernameFromToken(token);
+        try {
+            claims = jwtService.verifyToken(token);
+        } catch (JwtException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (tokenRevocationService.isRevoked(claims.getId())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+
+        final String username = claims.getSubject();
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = principalResolver.resolve(claims);
 
-            if (jwtService.isTokenValid(token, userDetails)) {
+            if (jwtService.isTokenValid(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
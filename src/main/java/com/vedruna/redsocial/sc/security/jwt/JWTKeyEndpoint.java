@@ -0,0 +1,63 @@
+package com.vedruna.redsocial.sc.security.jwt;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import com.vedruna.redsocial.sc.security.auth.services.JWTServiceI;
+
+/**
+ * Endpoint de Actuator ("/actuator/jwtkeys") para rotar la clave de firma de los tokens sin reiniciar.
+ *
+ * No se expone por defecto: hay que añadirlo a management.endpoints.web.exposure.include. Solo pueden usarlo
+ * los usuarios con el rol ADMIN (ver SecurityConfig).
+ *
+ * La rotación solo afecta a la instancia que recibe la petición: la nueva clave se genera en el servidor, no se
+ * guarda y no se propaga. Con varias instancias, o para que sobreviva a un reinicio, hay que cambiar jwt.secret
+ * en la configuración y reiniciar todas las instancias.
+ */
+@Component
+@Endpoint(id = "jwtkeys")
+public class JWTKeyEndpoint {
+
+    private final JWTServiceI jwtService;
+
+    /**
+     * Constructor de la clase JWTKeyEndpoint.
+     *
+     * @param jwtService Servicio de tokens JWT.
+     */
+    @Autowired
+    public JWTKeyEndpoint(JWTServiceI jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    /**
+     * Muestra el estado de las claves de firma.
+     *
+     * @return Algoritmo de la clave actual y si se sigue aceptando la anterior.
+     */
+    @ReadOperation
+    public Map<String, Object> keys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("algorithm", jwtService.getKey().getAlgorithm());
+        keys.put("previousKeyAccepted", jwtService.hasPreviousKey());
+        return keys;
+    }
+
+    /**
+     * Rota la clave de firma de esta instancia a una clave aleatoria generada en el servidor.
+     *
+     * @return Estado de las claves tras la rotación.
+     */
+    @WriteOperation
+    public Map<String, Object> rotate() {
+        jwtService.rotateKey();
+        return keys();
+    }
+}
@@ -0,0 +1,103 @@
+package com.vedruna.redsocial.sc.security.jwt;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vedruna.redsocial.sc.model.Role;
+import com.vedruna.redsocial.sc.model.SecurityUser;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Obtiene el usuario autenticado a partir de las reclamaciones verificadas de un token JWT.
+ *
+ * En modo STATELESS el usuario se construye directamente con las reclamaciones (identificador, nombre, rol y
+ * perfil enlazado), sin consultar la base de datos. En modo DATABASE se carga con el UserDetailsService en cada
+ * petición, o desde una caché de vida corta si se configura un TTL mayor que cero.
+ */
+@Component
+public class JWTPrincipalResolver {
+
+    /**
+     * Forma de obtener el usuario de cada petición autenticada.
+     */
+    public enum AuthMode {
+        DATABASE, STATELESS
+    }
+
+    private final UserDetailsService userDetailsService;
+
+    private final AuthMode authMode;
+
+    private final Cache<String, UserDetails> userDetailsCache;
+
+    /**
+     * Constructor de la clase JWTPrincipalResolver.
+     *
+     * @param userDetailsService Servicio de detalles de usuario.
+     * @param authMode           Modo de autenticación.
+     * @param cacheTtl           Tiempo de vida de los usuarios en caché en modo DATABASE (0 para desactivarla).
+     * @param cacheSize          Número máximo de usuarios en caché.
+     */
+    @Autowired
+    public JWTPrincipalResolver(UserDetailsService userDetailsService,
+            @Value("${redsocial.security.auth-mode:DATABASE}") AuthMode authMode,
+            @Value("${redsocial.security.user-details-cache.ttl:0s}") Duration cacheTtl,
+            @Value("${redsocial.security.user-details-cache.maximum-size:10000}") long cacheSize) {
+        this.userDetailsService = userDetailsService;
+        this.authMode = authMode;
+        this.userDetailsCache = cacheTtl.isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    /**
+     * Obtiene el usuario de un token ya verificado.
+     *
+     * @param claims Reclamaciones verificadas del token.
+     * @return Detalles del usuario autenticado.
+     */
+    public UserDetails resolve(Claims claims) {
+        if (authMode == AuthMode.STATELESS && claims.get("role") != null && claims.get("userId") != null) {
+            return fromClaims(claims);
+        }
+        if (userDetailsCache != null) {
+            // La carga se hace fuera de Cache.get para no consultar la base de datos dentro de un bloque
+            // synchronized del mapa (fijaría el hilo portador de un hilo virtual).
+            UserDetails userDetails = userDetailsCache.getIfPresent(claims.getSubject());
+            if (userDetails == null) {
+                userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+                userDetailsCache.put(claims.getSubject(), userDetails);
+            }
+            return userDetails;
+        }
+        return userDetailsService.loadUserByUsername(claims.getSubject());
+    }
+
+    /**
+     * Construye el usuario con las reclamaciones del token. No incluye la contraseña.
+     */
+    private static SecurityUser fromClaims(Claims claims) {
+        SecurityUser user = new SecurityUser(
+                claims.getSubject(),
+                claims.get("firstName", String.class),
+                claims.get("lastName", String.class),
+                null,
+                null,
+                Role.valueOf(claims.get("role", String.class))
+        );
+        user.setId(((Number) claims.get("userId")).longValue());
+        if (claims.get("socialUserId") instanceof Number socialUserId) {
+            user.setSocialUserId(socialUserId.longValue());
+        }
+        return user;
+    }
+}
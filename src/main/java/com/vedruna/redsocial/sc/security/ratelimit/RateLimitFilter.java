@@ -0,0 +1,189 @@
+package com.vedruna.redsocial.sc.security.ratelimit;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.vedruna.redsocial.util.RequestPaths;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro que limita el ritmo de peticiones por grupos de rutas y responde 429 con Retry-After al superarlo.
+ *
+ * - "auth": inicio de sesión y registro, por dirección IP.
+ * - "write": peticiones POST, PUT y DELETE de la API, por usuario autenticado o, si no lo hay, por dirección IP.
+ *
+ * El grupo se elige con la ruta normalizada como la compara Spring MVC (sin parámetros de matriz y
+ * decodificada), para que "/api/login;x" cuente como inicio de sesión.
+ *
+ * Se ejecuta después del filtro JWT para conocer al usuario. Las peticiones rechazadas se cuentan en la
+ * métrica "redsocial.ratelimit.throttled" etiquetada por grupo.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> AUTH_PATHS = Set.of("/auth/login", "/auth/register", "/api/login", "/api/register");
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "DELETE");
+
+    private final boolean enabled;
+
+    private final long idleEvictionNanos;
+
+    private final RateLimiter authLimiter;
+
+    private final RateLimiter writeLimiter;
+
+    private final Counter authThrottled;
+
+    private final Counter writeThrottled;
+
+    /**
+     * Constructor de la clase RateLimitFilter.
+     *
+     * @param meterRegistry         Registro de métricas.
+     * @param enabled               Si es false, el filtro no limita nada.
+     * @param idleEvictionMs        Milisegundos sin uso tras los que se descarta el cubo de una clave.
+     * @param authCapacity          Peticiones seguidas admitidas en el grupo "auth".
+     * @param authRefillPerSecond   Peticiones por segundo sostenidas en el grupo "auth".
+     * @param writeCapacity         Peticiones seguidas admitidas en el grupo "write".
+     * @param writeRefillPerSecond  Peticiones por segundo sostenidas en el grupo "write".
+     */
+    @Autowired
+    public RateLimitFilter(MeterRegistry meterRegistry,
+            @Value("${redsocial.ratelimit.enabled:true}") boolean enabled,
+            @Value("${redsocial.ratelimit.idle-eviction-ms:600000}") long idleEvictionMs,
+            @Value("${redsocial.ratelimit.auth.capacity:10}") long authCapacity,
+            @Value("${redsocial.ratelimit.auth.refill-per-second:0.2}") double authRefillPerSecond,
+            @Value("${redsocial.ratelimit.write.capacity:30}") long writeCapacity,
+            @Value("${redsocial.ratelimit.write.refill-per-second:5}") double writeRefillPerSecond) {
+        this.enabled = enabled;
+        this.idleEvictionNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictionMs);
+        this.authLimiter = new RateLimiter("auth", authCapacity, authRefillPerSecond);
+        this.writeLimiter = new RateLimiter("write", writeCapacity, writeRefillPerSecond);
+        this.authThrottled = Counter.builder("redsocial.ratelimit.throttled").tag("group", "auth").register(meterRegistry);
+        this.writeThrottled = Counter.builder("redsocial.ratelimit.throttled").tag("group", "write").register(meterRegistry);
+        meterRegistry.gauge("redsocial.ratelimit.keys", List.of(Tag.of("group", "auth")),
+                authLimiter, RateLimiter::size);
+        meterRegistry.gauge("redsocial.ratelimit.keys", List.of(Tag.of("group", "write")),
+                writeLimiter, RateLimiter::size);
+    }
+
+    /**
+     * Comprueba el límite del grupo al que pertenece la petición antes de dejarla pasar.
+     *
+     * @param request     La solicitud HTTP entrante.
+     * @param response    La respuesta HTTP que se enviará al cliente.
+     * @param filterChain Cadena de filtros para pasar la solicitud al siguiente filtro.
+     * @throws ServletException Si ocurre un error durante el procesamiento de la solicitud.
+     * @throws IOException      Si ocurre un error de entrada/salida durante el procesamiento de la solicitud.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (enabled) {
+            String path = RequestPaths.normalize(request.getRequestURI().substring(request.getContextPath().length()));
+            long waitNanos = tryAcquire(request, request.getMethod(), path);
+
+            if (waitNanos > 0) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(waitNanos)));
+                response.setContentType("text/plain;charset=UTF-8");
+                response.getWriter().write("Too Many Requests");
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Convierte la espera de un limitador en el valor de la cabecera Retry-After: segundos enteros redondeados
+     * hacia arriba, como mínimo 1.
+     *
+     * @param waitNanos Nanosegundos hasta que se pueda reintentar.
+     * @return Segundos de espera.
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    /**
+     * Indica si un método HTTP cuenta en el grupo "write".
+     *
+     * @param method Método HTTP.
+     * @return true para POST, PUT y DELETE.
+     */
+    public static boolean isWriteMethod(String method) {
+        return WRITE_METHODS.contains(method);
+    }
+
+    /**
+     * Consume un permiso del grupo al que pertenece una petición. También lo usan las peticiones que no pasan
+     * por este filtro, como las subpeticiones de /api/batch.
+     *
+     * @param request Petición en curso, para obtener la clave del cliente.
+     * @param method  Método HTTP de la petición.
+     * @param path    Ruta normalizada de la petición (ver RequestPaths).
+     * @return Nanosegundos que hay que esperar, o 0 si se concede el permiso o la petición no tiene límite.
+     */
+    public long tryAcquire(HttpServletRequest request, String method, String path) {
+        if (!enabled) {
+            return 0;
+        }
+        if (AUTH_PATHS.contains(path)) {
+            long waitNanos = authLimiter.tryAcquire(request.getRemoteAddr());
+            if (waitNanos > 0) {
+                authThrottled.increment();
+            }
+            return waitNanos;
+        }
+        if (isWriteMethod(method) && path.startsWith("/api/")) {
+            long waitNanos = writeLimiter.tryAcquire(clientKey(request));
+            if (waitNanos > 0) {
+                writeThrottled.increment();
+            }
+            return waitNanos;
+        }
+        return 0;
+    }
+
+    /**
+     * Descarta periódicamente los cubos de claves que ya no hacen peticiones.
+     */
+    @Scheduled(fixedDelayString = "${redsocial.ratelimit.idle-eviction-ms:600000}")
+    public void evictIdleBuckets() {
+        authLimiter.evictIdle(idleEvictionNanos);
+        writeLimiter.evictIdle(idleEvictionNanos);
+    }
+
+    /**
+     * Clave de la petición: el usuario autenticado o, si no lo hay, la dirección IP.
+     */
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
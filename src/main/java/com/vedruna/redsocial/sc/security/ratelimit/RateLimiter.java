@@ -0,0 +1,90 @@
+package com.vedruna.redsocial.sc.security.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de peticiones con un cubo de tokens por clave (dirección IP o usuario).
+ *
+ * Los cubos se guardan en un ConcurrentHashMap, que reparte las claves entre sus segmentos, y se descartan
+ * tras un tiempo de inactividad para que el mapa no crezca sin límite.
+ */
+public class RateLimiter {
+
+    private final String name;
+
+    private final long capacity;
+
+    private final double refillPerNano;
+
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Crea un limitador.
+     *
+     * @param name            Nombre del grupo de rutas al que se aplica.
+     * @param capacity        Número máximo de peticiones seguidas.
+     * @param refillPerSecond Peticiones por segundo sostenidas.
+     */
+    public RateLimiter(String name, long capacity, double refillPerSecond) {
+        this(name, capacity, refillPerSecond, System::nanoTime);
+    }
+
+    /**
+     * Crea un limitador con un reloj propio.
+     *
+     * @param name            Nombre del grupo de rutas al que se aplica.
+     * @param capacity        Número máximo de peticiones seguidas.
+     * @param refillPerSecond Peticiones por segundo sostenidas.
+     * @param clock           Reloj en nanosegundos, monótono como System.nanoTime.
+     */
+    public RateLimiter(String name, long capacity, double refillPerSecond, LongSupplier clock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Configuración de límite de peticiones no válida: " + name);
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.clock = clock;
+    }
+
+    /**
+     * Intenta admitir una petición de la clave dada.
+     *
+     * @param key Dirección IP o usuario.
+     * @return 0 si se admite; si no, nanosegundos hasta que se pueda reintentar.
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        TokenBucket bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, now));
+        return bucket.tryConsume(capacity, refillPerNano, now);
+    }
+
+    /**
+     * Descarta los cubos sin uso. Si la inactividad supera el tiempo de rellenado, el cubo ya está lleno y
+     * descartarlo no cambia el resultado.
+     *
+     * @param idleNanos Tiempo de inactividad en nanosegundos.
+     */
+    public void evictIdle(long idleNanos) {
+        long now = clock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+
+    /**
+     * @return Nombre del grupo de rutas.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Número de claves con cubo activo.
+     */
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,62 @@
+package com.vedruna.redsocial.sc.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cubo de tokens sin bloqueos: el estado (tokens disponibles y momento del último recálculo) es inmutable y se
+ * sustituye con compare-and-set.
+ *
+ * Un hilo puede llegar con un instante anterior al del último recálculo; en ese caso no se repone nada y el
+ * momento del recálculo no retrocede, para no volver a reponer el mismo intervalo.
+ */
+final class TokenBucket {
+
+    private final AtomicReference<State> state;
+
+    TokenBucket(long capacity, long now) {
+        this.state = new AtomicReference<>(new State(capacity, now));
+    }
+
+    /**
+     * Intenta consumir un token.
+     *
+     * @param capacity     Número máximo de tokens acumulables.
+     * @param refillPerNano Tokens repuestos por nanosegundo.
+     * @param now          Instante actual en nanosegundos.
+     * @return 0 si se ha consumido un token; si no, nanosegundos hasta que haya uno disponible.
+     */
+    long tryConsume(long capacity, double refillPerNano, long now) {
+        while (true) {
+            State current = state.get();
+            double tokens = Math.min(capacity, current.tokens + Math.max(0, now - current.timestamp) * refillPerNano);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / refillPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.timestamp)))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Indica si el cubo lleva más del tiempo dado sin usarse.
+     *
+     * @param now       Instante actual en nanosegundos.
+     * @param idleNanos Tiempo de inactividad en nanosegundos.
+     * @return true si se puede descartar.
+     */
+    boolean isIdle(long now, long idleNanos) {
+        return now - state.get().timestamp > idleNanos;
+    }
+
+    private static final class State {
+
+        private final double tokens;
+        private final long timestamp;
+
+        private State(double tokens, long timestamp) {
+            this.tokens = tokens;
+            this.timestamp = timestamp;
+        }
+    }
+}
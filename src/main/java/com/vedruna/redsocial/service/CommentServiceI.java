@@ -1,6 +1,7 @@
 package com.vedruna.redsocial.service;
 
 import com.vedruna.redsocial.dto.CommentDTO;
+import com.vedruna.redsocial.dto.PublicationDTO;
 
 import java.util.List;
 
@@ -26,4 +27,20 @@ public interface CommentServiceI {
      * @return Lista de DTO que representan los comentarios asociados a la publicación especificada.
      */
     List<CommentDTO> getCommentsByPublicationId(Long publicationId);
+
+    /**
+     * Completa cada publicación con su número de comentarios y los últimos comentarios,
+     * resolviendo toda la página con una consulta agrupada y otra con ventana.
+     *
+     * @param publications Publicaciones a completar.
+     */
+    void attachCommentSummaries(List<PublicationDTO> publications);
+
+    /**
+     * Obtiene los identificadores de los comentarios de una publicación.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return Identificadores únicos de los comentarios.
+     */
+    List<Long> getCommentIdsByPublicationId(Long publicationId);
 }
@@ -1,17 +1,28 @@
 package com.vedruna.redsocial.service;
 
+import com.vedruna.redsocial.cache.UserCache;
 import com.vedruna.redsocial.dto.CommentDTO;
+import com.vedruna.redsocial.dto.PublicationDTO;
 import com.vedruna.redsocial.dto.UserDTO;
+import com.vedruna.redsocial.exception.ForbiddenException;
+import com.vedruna.redsocial.exception.NotFoundException;
 import com.vedruna.redsocial.persistence.model.Comment;
 import com.vedruna.redsocial.persistence.repository.CommentRepositoryI;
+import com.vedruna.redsocial.persistence.repository.CommentRepositoryI.CommentCount;
+import com.vedruna.redsocial.persistence.repository.CommentRepositoryI.CommentPreview;
 import com.vedruna.redsocial.persistence.repository.PublicationRepositoryI;
 import com.vedruna.redsocial.persistence.repository.UserRepositoryI;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -20,10 +31,20 @@ import java.util.stream.Collectors;
 @Service
 public class CommentServiceImpl implements CommentServiceI {
 
+    /**
+     * Número máximo de identificadores por consulta al resumir páginas grandes.
+     */
+    private static final int SUMMARY_BATCH_SIZE = 500;
+
     private final CommentRepositoryI commentRepository;
     private final UserRepositoryI userRepository;
     private final PublicationRepositoryI publicationRepository;
     private UserServiceI userService;
+    private final UserCache userCache;
+    private final ReactionServiceI reactionService;
+
+    @Value("${redsocial.feed.comment-previews:3}")
+    private int commentPreviewLimit;
 
     /**
      * Constructor de la clase CommentServiceImpl.
@@ -32,17 +53,23 @@ public class CommentServiceImpl implements CommentServiceI {
      * @param userRepository        Repositorio de usuarios.
      * @param publicationRepository Repositorio de publicaciones.
      * @param userService           Servicio de usuarios.
+     * @param userCache             Caché de usuarios.
+     * @param reactionService       Servicio de reacciones.
      */
     @Autowired
     public CommentServiceImpl(
         CommentRepositoryI commentRepository,
         UserRepositoryI userRepository,
         PublicationRepositoryI publicationRepository,
-        UserServiceI userService) {
+        UserServiceI userService,
+        UserCache userCache,
+        ReactionServiceI reactionService) {
         this.commentRepository = commentRepository;
         this.userRepository = userRepository;
         this.publicationRepository = publicationRepository;
         this.userService = userService;
+        this.userCache = userCache;
+        this.reactionService = reactionService;
     }
 
     /**
@@ -52,11 +79,13 @@ public class CommentServiceImpl implements CommentServiceI {
      * @return Lista de DTO que representan los comentarios asociados a la publicación especificada.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<CommentDTO> getCommentsByPublicationId(Long publicationId) {
         List<Comment> comments = commentRepository.findByPublicationPublicationId(publicationId);
         List<CommentDTO> commentDTOs = comments.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        reactionService.attachCommentReactionCounts(commentDTOs);
 
         return commentDTOs;
     }
@@ -75,21 +104,78 @@ public class CommentServiceImpl implements CommentServiceI {
         UserDTO authenticatedUser = userService.getAuthenticatedUser();
 
         if (!authenticatedUser.getUserId().equals(userId)) {
-            throw new RuntimeException("No autorizado para agregar un comentario en nombre de otro usuario");
+            throw new ForbiddenException("No autorizado para agregar un comentario en nombre de otro usuario");
         }
 
         Comment commentEntity = new Comment();
-        commentEntity.setUser(userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado")));
+        if (!userCache.exists(userId)) {
+            throw new NotFoundException("Usuario no encontrado");
+        }
+        commentEntity.setUser(userRepository.getReferenceById(userId));
         commentEntity.setPublication(publicationRepository.findById(publicationId)
-                .orElseThrow(() -> new RuntimeException("Publicación no encontrada")));
+                .orElseThrow(() -> new NotFoundException("Publicación no encontrada")));
         commentEntity.setText(commentDTO.getText());
         
         commentEntity.setCreationDate(LocalDateTime.now());
 
         commentRepository.save(commentEntity);
 
-        return convertToDTO(commentEntity);
+        CommentDTO addedComment = convertToDTO(commentEntity);
+        addedComment.setReactionCount(0L);
+        return addedComment;
+    }
+
+    /**
+     * Completa cada publicación con su número de comentarios y los últimos comentarios.
+     *
+     * @param publications Publicaciones a completar.
+     */
+    @Override
+    public void attachCommentSummaries(List<PublicationDTO> publications) {
+        if (publications.isEmpty()) {
+            return;
+        }
+
+        List<Long> publicationIds = publications.stream()
+                .map(PublicationDTO::getPublicationId)
+                .collect(Collectors.toList());
+
+        Map<Long, Long> counts = new HashMap<>();
+        Map<Long, List<CommentDTO>> previews = new HashMap<>();
+
+        for (int from = 0; from < publicationIds.size(); from += SUMMARY_BATCH_SIZE) {
+            List<Long> batch = publicationIds.subList(from, Math.min(from + SUMMARY_BATCH_SIZE, publicationIds.size()));
+
+            for (CommentCount count : commentRepository.countByPublicationIds(batch)) {
+                counts.put(count.getPublicationId(), count.getCommentCount());
+            }
+
+            if (commentPreviewLimit > 0) {
+                for (CommentPreview preview : commentRepository.findLatestByPublicationIds(batch, commentPreviewLimit)) {
+                    previews.computeIfAbsent(preview.getPublicationId(), id -> new ArrayList<>())
+                            .add(convertToDTO(preview));
+                }
+            }
+        }
+
+        previews.values().forEach(reactionService::attachCommentReactionCounts);
+
+        for (PublicationDTO publication : publications) {
+            publication.setCommentCount(counts.getOrDefault(publication.getPublicationId(), 0L));
+            publication.setLatestComments(previews.getOrDefault(publication.getPublicationId(), Collections.emptyList()));
+        }
+    }
+
+    /**
+     * Obtiene los identificadores de los comentarios de una publicación.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return Identificadores únicos de los comentarios.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> getCommentIdsByPublicationId(Long publicationId) {
+        return commentRepository.findIdsByPublicationId(publicationId);
     }
 
     /**
@@ -100,6 +186,7 @@ public class CommentServiceImpl implements CommentServiceI {
      */
     private CommentDTO convertToDTO(Comment commentEntity) {
         CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setCommentId(commentEntity.getCommentId());
         commentDTO.setUserId(commentEntity.getUser().getUserId());
         commentDTO.setPublicationId(commentEntity.getPublication().getPublicationId());
         commentDTO.setText(commentEntity.getText());
@@ -111,4 +198,19 @@ public class CommentServiceImpl implements CommentServiceI {
         return commentDTO;
     }
 
+    /**
+     * Convierte una vista previa de comentario a un objeto CommentDTO.
+     *
+     * @param preview Proyección del comentario a convertir.
+     * @return Objeto CommentDTO creado a partir de la proyección.
+     */
+    private CommentDTO convertToDTO(CommentPreview preview) {
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setCommentId(preview.getCommentId());
+        commentDTO.setUserId(preview.getUserId());
+        commentDTO.setPublicationId(preview.getPublicationId());
+        commentDTO.setText(preview.getText());
+        commentDTO.setCreationDate(preview.getCreationDate());
+        return commentDTO;
+    }
 }
@@ -41,4 +41,28 @@ public interface FollowServiceI {
      */
     List<UserDTO> getFollowingByUserId(Long userId);
 
+    /**
+     * Cuenta los seguidores de un usuario específico.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Número de seguidores.
+     */
+    long countFollowers(Long userId);
+
+    /**
+     * Cuenta los usuarios seguidos por un usuario específico.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Número de usuarios seguidos.
+     */
+    long countFollowing(Long userId);
+
+    /**
+     * Comprueba si un usuario sigue a otro.
+     *
+     * @param followerId Identificador único del seguidor.
+     * @param followedId Identificador único del seguido.
+     * @return true si existe la relación de seguimiento.
+     */
+    boolean isFollowing(Long followerId, Long followedId);
 }
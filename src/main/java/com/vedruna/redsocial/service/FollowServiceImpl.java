@@ -1,11 +1,14 @@
 package com.vedruna.redsocial.service;
 
-import jakarta.transaction.Transactional;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.vedruna.redsocial.cache.UserCache;
 import com.vedruna.redsocial.dto.UserDTO;
+import com.vedruna.redsocial.exception.ConflictException;
+import com.vedruna.redsocial.exception.ForbiddenException;
+import com.vedruna.redsocial.exception.NotFoundException;
 import com.vedruna.redsocial.persistence.model.Follow;
 import com.vedruna.redsocial.persistence.model.User;
 import com.vedruna.redsocial.persistence.repository.FollowRepositoryI;
@@ -23,6 +26,8 @@ public class FollowServiceImpl implements FollowServiceI {
     private FollowRepositoryI followRepository;
     private UserRepositoryI userRepository;
     private UserServiceI userService;
+    private UserCache userCache;
+    private UserAutocompleteServiceI userAutocompleteService;
 
     /**
      * Constructor de la clase FollowServiceImpl.
@@ -30,13 +35,17 @@ public class FollowServiceImpl implements FollowServiceI {
      * @param followRepository Repositorio de relaciones de seguimiento.
      * @param userRepository  Repositorio de usuarios.
      * @param userService     Servicio de usuarios.
+     * @param userCache       Caché de usuarios.
+     * @param userAutocompleteService Servicio de autocompletado de nombres de usuario.
      */
     @Autowired
     public FollowServiceImpl(FollowRepositoryI followRepository, UserRepositoryI userRepository,
-    		UserServiceI userService) {
+    		UserServiceI userService, UserCache userCache, UserAutocompleteServiceI userAutocompleteService) {
     	this.followRepository = followRepository;
     	this.userRepository = userRepository;
     	this.userService = userService;
+    	this.userCache = userCache;
+    	this.userAutocompleteService = userAutocompleteService;
     }
 
     /**
@@ -59,23 +68,30 @@ public class FollowServiceImpl implements FollowServiceI {
         UserDTO authenticatedUser = getAuthenticatedUser();
 
         if (!authenticatedUser.getUserId().equals(followerId)) {
-            throw new RuntimeException("No autorizado para seguir a un usuario en nombre de otro usuario");
+            throw new ForbiddenException("No autorizado para seguir a un usuario en nombre de otro usuario");
         }
 
         List<UserDTO> followers = getFollowersByUserId(followedId);
 
         if (followers.stream().anyMatch(f -> f.getUserId().equals(followerId))) {
-            throw new RuntimeException("Ya estás siguiendo a este usuario");
+            throw new ConflictException("Ya estás siguiendo a este usuario");
+        }
+
+        if (!userCache.exists(followerId)) {
+            throw new NotFoundException("Seguidor no encontrado");
+        }
+        if (!userCache.exists(followedId)) {
+            throw new NotFoundException("Seguido no encontrado");
         }
 
-        followRepository.save(new Follow(followedId, userRepository.findById(followerId)
-                .orElseThrow(() -> new RuntimeException("Seguido no encontrado")),
-                userRepository.findById(followedId)
-                        .orElseThrow(() -> new RuntimeException("Seguidor no encontrado"))));
+        followRepository.save(new Follow(null, userRepository.getReferenceById(followerId),
+                userRepository.getReferenceById(followedId)));
+        userAutocompleteService.adjustFollowers(followedId, 1);
     }
 
     /**
-     * Elimina una relación de seguimiento entre un seguidor y un seguido.
+     * Elimina una relación de seguimiento entre un seguidor y un seguido. El número de seguidores del
+     * autocompletado solo baja si de verdad había una relación que eliminar.
      *
      * @param followerId Identificador único del seguidor.
      * @param followedId Identificador único del seguido.
@@ -86,10 +102,12 @@ public class FollowServiceImpl implements FollowServiceI {
         UserDTO authenticatedUser = getAuthenticatedUser();
 
         if (!authenticatedUser.getUserId().equals(followerId)) {
-            throw new RuntimeException("No autorizado para dejar de seguir a un usuario en nombre de otro usuario");
+            throw new ForbiddenException("No autorizado para dejar de seguir a un usuario en nombre de otro usuario");
         }
 
-        followRepository.deleteByFollowerUserIdAndFollowedUserId(followerId, followedId);
+        if (followRepository.deleteByFollowerUserIdAndFollowedUserId(followerId, followedId) > 0) {
+            userAutocompleteService.adjustFollowers(followedId, -1);
+        }
     }
 
     /**
@@ -99,6 +117,7 @@ public class FollowServiceImpl implements FollowServiceI {
      * @return Lista de DTO que representan a los usuarios seguidores.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> getFollowersByUserId(Long userId) {
         List<Follow> followers = followRepository.findByFollowedUserId(userId);
         return followers.stream()
@@ -113,15 +132,53 @@ public class FollowServiceImpl implements FollowServiceI {
      * @return Lista de DTO que representan a los usuarios seguidos.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> getFollowingByUserId(Long userId) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> new NotFoundException("User not found"));
 
         return user.getFollowing().stream()
                 .map(follow -> userService.convertToDTO(follow.getFollowed()))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Cuenta los seguidores de un usuario específico sin cargarlos.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Número de seguidores.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long countFollowers(Long userId) {
+        return followRepository.countByFollowedUserId(userId);
+    }
+
+    /**
+     * Cuenta los usuarios seguidos por un usuario específico sin cargarlos.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Número de usuarios seguidos.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long countFollowing(Long userId) {
+        return followRepository.countByFollowerUserId(userId);
+    }
+
+    /**
+     * Comprueba si un usuario sigue a otro.
+     *
+     * @param followerId Identificador único del seguidor.
+     * @param followedId Identificador único del seguido.
+     * @return true si existe la relación de seguimiento.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isFollowing(Long followerId, Long followedId) {
+        return followRepository.existsByFollowerUserIdAndFollowedUserId(followerId, followedId);
+    }
+
     /**
      * Convierte una entidad User a un objeto UserDTO.
      *
@@ -0,0 +1,17 @@
+package com.vedruna.redsocial.service;
+
+import com.vedruna.redsocial.dto.ProfileSummaryDTO;
+
+/**
+ * Interfaz que define los servicios relacionados con los perfiles de usuario en la red social.
+ */
+public interface ProfileServiceI {
+
+    /**
+     * Obtiene el resumen del perfil de un usuario visto por el usuario autenticado.
+     *
+     * @param username Nombre de usuario del perfil.
+     * @return DTO con el usuario, sus publicaciones recientes, los contadores y la relación de seguimiento.
+     */
+    ProfileSummaryDTO getProfileSummary(String username);
+}
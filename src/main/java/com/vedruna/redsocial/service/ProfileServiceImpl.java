@@ -0,0 +1,150 @@
+package com.vedruna.redsocial.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+
+import com.vedruna.redsocial.dto.ProfileSummaryDTO;
+import com.vedruna.redsocial.dto.PublicationDTO;
+import com.vedruna.redsocial.dto.UserDTO;
+import com.vedruna.redsocial.exception.UnavailableException;
+import com.vedruna.redsocial.util.BoundedExecutors;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Implementación de la interfaz ProfileServiceI que proporciona servicios relacionados con los perfiles de usuario.
+ *
+ * El usuario del perfil y el usuario autenticado se resuelven en el hilo de la petición (ambos salen de la caché
+ * de usuarios). Las consultas que dependen de ellos son independientes entre sí y se lanzan a la vez en un
+ * ejecutor acotado, de modo que el tiempo de respuesta es el de la consulta más lenta y no la suma de todas.
+ * Las consultas se ejecutan con el contexto de seguridad de la petición, para que el usuario autenticado lea
+ * sus propias escrituras aunque las lecturas vayan a réplicas. Si no terminan a tiempo, o alguna falla, se
+ * cancelan las que sigan en curso para no ocupar hilos ni conexiones con un resultado que ya no se usará.
+ */
+@Service
+public class ProfileServiceImpl implements ProfileServiceI {
+
+    private UserServiceI userService;
+    private PublicationServiceI publicationService;
+    private FollowServiceI followService;
+    private ExecutorService executor;
+    private int recentPublications;
+    private long timeoutMs;
+
+    /**
+     * Constructor de la clase ProfileServiceImpl.
+     *
+     * @param userService        Servicio de usuarios.
+     * @param publicationService Servicio de publicaciones.
+     * @param followService      Servicio de relaciones de seguimiento.
+     * @param recentPublications Número de publicaciones recientes del resumen.
+     * @param threads            Número máximo de hilos de plataforma del ejecutor.
+     * @param queueCapacity      Número máximo de consultas en espera con hilos de plataforma.
+     * @param timeoutMs          Milisegundos máximos para completar todas las consultas.
+     * @param virtualThreads     Si es true, cada consulta se ejecuta en un hilo virtual.
+     */
+    @Autowired
+    public ProfileServiceImpl(UserServiceI userService, PublicationServiceI publicationService,
+            FollowServiceI followService,
+            @Value("${redsocial.profile.recent-publications:10}") int recentPublications,
+            @Value("${redsocial.profile.threads:16}") int threads,
+            @Value("${redsocial.profile.queue-capacity:200}") int queueCapacity,
+            @Value("${redsocial.profile.timeout-ms:5000}") long timeoutMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.userService = userService;
+        this.publicationService = publicationService;
+        this.followService = followService;
+        this.executor = new DelegatingSecurityContextExecutorService(
+                BoundedExecutors.forBlockingTasks("profile", threads, queueCapacity, virtualThreads));
+        this.recentPublications = recentPublications;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Detiene el ejecutor al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Obtiene el resumen del perfil de un usuario visto por el usuario autenticado. Las publicaciones recientes,
+     * los contadores y la relación de seguimiento se consultan en paralelo.
+     *
+     * @param username Nombre de usuario del perfil.
+     * @return DTO con el usuario, sus publicaciones recientes, los contadores y la relación de seguimiento.
+     * @throws UnavailableException Si las consultas no terminan en el tiempo máximo.
+     */
+    @Override
+    public ProfileSummaryDTO getProfileSummary(String username) {
+        UserDTO user = userService.getUserByUsername(username);
+        UserDTO viewer = userService.getAuthenticatedUser();
+        Long userId = user.getUserId();
+        boolean ownProfile = viewer.getUserId().equals(userId);
+
+        List<Future<?>> tasks = new ArrayList<>();
+        CompletableFuture<List<PublicationDTO>> publications =
+                async(tasks, () -> publicationService.getRecentPublicationsByUser(userId, recentPublications));
+        CompletableFuture<Long> publicationCount = async(tasks, () -> publicationService.countPublicationsByUser(userId));
+        CompletableFuture<Long> followerCount = async(tasks, () -> followService.countFollowers(userId));
+        CompletableFuture<Long> followingCount = async(tasks, () -> followService.countFollowing(userId));
+        CompletableFuture<Boolean> followedByViewer = ownProfile ? CompletableFuture.completedFuture(false)
+                : async(tasks, () -> followService.isFollowing(viewer.getUserId(), userId));
+        CompletableFuture<Boolean> followsViewer = ownProfile ? CompletableFuture.completedFuture(false)
+                : async(tasks, () -> followService.isFollowing(userId, viewer.getUserId()));
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(publications, publicationCount, followerCount,
+                followingCount, followedByViewer, followsViewer);
+        try {
+            all.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            tasks.forEach(task -> task.cancel(true));
+            if (e.getCause() instanceof TimeoutException) {
+                throw new UnavailableException("Tiempo de espera agotado al obtener el perfil de " + username);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        ProfileSummaryDTO summary = new ProfileSummaryDTO();
+        summary.setUser(user);
+        summary.setRecentPublications(publications.join());
+        summary.setPublicationCount(publicationCount.join());
+        summary.setFollowerCount(followerCount.join());
+        summary.setFollowingCount(followingCount.join());
+        summary.setFollowedByViewer(followedByViewer.join());
+        summary.setFollowsViewer(followsViewer.join());
+        return summary;
+    }
+
+    /**
+     * Lanza una consulta en el ejecutor. A diferencia de CompletableFuture.supplyAsync, la tarea queda en la lista
+     * para poder cancelarla e interrumpir su hilo.
+     */
+    private <T> CompletableFuture<T> async(List<Future<?>> tasks, Supplier<T> query) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        tasks.add(executor.submit(() -> {
+            try {
+                result.complete(query.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }));
+        return result;
+    }
+}
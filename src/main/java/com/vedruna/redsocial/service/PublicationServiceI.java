@@ -1,6 +1,7 @@
 package com.vedruna.redsocial.service;
 
 import java.util.List;
+import java.util.Set;
 
 import com.vedruna.redsocial.dto.PublicationDTO;
 
@@ -16,6 +17,14 @@ public interface PublicationServiceI {
      */
     List<PublicationDTO> getAllPublications();
 
+    /**
+     * Obtiene todas las publicaciones leyendo solo las columnas de los campos pedidos.
+     *
+     * @param fields Campos de PublicationDTO que se devuelven.
+     * @return Lista de DTO con solo los campos pedidos.
+     */
+    List<PublicationDTO> getAllPublications(Set<String> fields);
+
     /**
      * Obtiene las publicaciones de un usuario específico.
      *
@@ -24,6 +33,32 @@ public interface PublicationServiceI {
      */
     List<PublicationDTO> getPublicationsByUser(Long userId);
 
+    /**
+     * Obtiene las publicaciones de un usuario leyendo solo las columnas de los campos pedidos.
+     *
+     * @param userId Identificador único del usuario.
+     * @param fields Campos de PublicationDTO que se devuelven.
+     * @return Lista de DTO con solo los campos pedidos.
+     */
+    List<PublicationDTO> getPublicationsByUser(Long userId, Set<String> fields);
+
+    /**
+     * Obtiene las publicaciones más recientes de un usuario específico.
+     *
+     * @param userId Identificador único del usuario.
+     * @param limit  Número máximo de publicaciones.
+     * @return Lista de DTO de las publicaciones, de la más reciente a la más antigua.
+     */
+    List<PublicationDTO> getRecentPublicationsByUser(Long userId, int limit);
+
+    /**
+     * Cuenta las publicaciones de un usuario específico.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Número de publicaciones del usuario.
+     */
+    long countPublicationsByUser(Long userId);
+
     /**
      * Obtiene las publicaciones de los usuarios seguidos por un usuario específico.
      *
@@ -32,6 +67,15 @@ public interface PublicationServiceI {
      */
     List<PublicationDTO> getPublicationsByUsersFollowed(Long userId);
 
+    /**
+     * Obtiene las publicaciones de los usuarios seguidos leyendo solo las columnas de los campos pedidos.
+     *
+     * @param userId Identificador único del usuario.
+     * @param fields Campos de PublicationDTO que se devuelven.
+     * @return Lista de DTO con solo los campos pedidos.
+     */
+    List<PublicationDTO> getPublicationsByUsersFollowed(Long userId, Set<String> fields);
+
     /**
      * Crea una nueva publicación para un usuario específico.
      *
@@ -66,4 +110,20 @@ public interface PublicationServiceI {
      * @return DTO que representa la publicación.
      */
 	PublicationDTO getPublicationByPublicationId(Long publicationId);
+
+    /**
+     * Obtiene la versión actual de una publicación sin cargarla, para responder a peticiones condicionales.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return Versión de la publicación.
+     */
+    String getPublicationVersion(Long publicationId);
+
+    /**
+     * Obtiene la versión actual del feed de un usuario sin construirlo, para responder a peticiones condicionales.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Versión del feed.
+     */
+    String getFeedVersion(Long userId);
 }
@@ -1,17 +1,38 @@
 package com.vedruna.redsocial.service;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.vedruna.redsocial.cache.UserCache;
 import com.vedruna.redsocial.dto.PublicationDTO;
 import com.vedruna.redsocial.dto.UserDTO;
+import com.vedruna.redsocial.exception.ForbiddenException;
+import com.vedruna.redsocial.exception.NotFoundException;
 import com.vedruna.redsocial.persistence.model.Publication;
+import com.vedruna.redsocial.persistence.repository.ProjectionRepository;
 import com.vedruna.redsocial.persistence.repository.PublicationRepositoryI;
+import com.vedruna.redsocial.persistence.repository.PublicationRepositoryI.FeedHead;
 import com.vedruna.redsocial.persistence.repository.UserRepositoryI;
+import com.vedruna.redsocial.persistence.routing.ReadYourWritesTracker;
+import com.vedruna.redsocial.util.SingleFlight;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -20,10 +41,23 @@ import java.util.stream.Collectors;
 @Service
 public class PublicationServiceImpl implements PublicationServiceI {
 
+    /**
+     * Ruta del atributo de Publication que corresponde a cada campo de PublicationDTO leído de la tabla.
+     */
+    private static final Map<String, String> COLUMNS = columns();
+
     private PublicationRepositoryI publicationRepository;
     private UserRepositoryI userRepository;
     private UserServiceI userService;
     private FollowServiceI followService;
+    private CommentServiceI commentService;
+    private ReactionServiceI reactionService;
+    private UserCache userCache;
+    private ProjectionRepository projectionRepository;
+    private SingleFlight<Long, PublicationDTO> publicationLoads;
+    private SingleFlight<Long, String> versionLoads;
+    private TransactionTemplate readOnlyTransaction;
+    private ReadYourWritesTracker readYourWrites;
 
     /**
      * Constructor de la clase PublicationServiceImpl.
@@ -32,14 +66,36 @@ public class PublicationServiceImpl implements PublicationServiceI {
      * @param userRepository        Repositorio de usuarios.
      * @param userService           Servicio de usuarios.
      * @param followService          Servicio de relaciones de seguimiento.
+     * @param commentService        Servicio de comentarios.
+     * @param reactionService       Servicio de reacciones.
+     * @param userCache             Caché de usuarios.
+     * @param projectionRepository  Repositorio de consultas con un subconjunto de columnas.
+     * @param transactionManager    Gestor de transacciones.
+     * @param meterRegistry         Registro de métricas.
+     * @param singleFlightTimeout   Tiempo máximo que una lectura espera la misma lectura en curso en otra petición.
+     * @param readYourWrites        Registro de escrituras recientes, si las lecturas se reparten entre réplicas.
      */
     @Autowired
     public PublicationServiceImpl(PublicationRepositoryI publicationRepository, UserRepositoryI userRepository,
-    		UserServiceI userService, FollowServiceI followService) {
+    		UserServiceI userService, FollowServiceI followService, CommentServiceI commentService,
+    		ReactionServiceI reactionService, UserCache userCache, ProjectionRepository projectionRepository,
+    		PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+    		@Value("${redsocial.singleflight.timeout:2s}") Duration singleFlightTimeout,
+    		ObjectProvider<ReadYourWritesTracker> readYourWrites) {
     	this.publicationRepository = publicationRepository;
     	this.userRepository = userRepository;
     	this.userService = userService;
     	this.followService = followService;
+    	this.commentService = commentService;
+    	this.reactionService = reactionService;
+    	this.userCache = userCache;
+    	this.projectionRepository = projectionRepository;
+    	this.publicationLoads = new SingleFlight<>("publication", meterRegistry, singleFlightTimeout);
+    	this.versionLoads = new SingleFlight<>("publication.version", meterRegistry, singleFlightTimeout);
+    	this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    	this.readOnlyTransaction.setReadOnly(true);
+    	this.readOnlyTransaction.setName(PublicationServiceImpl.class.getName());
+    	this.readYourWrites = readYourWrites.getIfAvailable();
     }
 
     /**
@@ -48,11 +104,22 @@ public class PublicationServiceImpl implements PublicationServiceI {
      * @return Lista de DTO que representan todas las publicaciones.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<PublicationDTO> getAllPublications() {
         List<Publication> publications = publicationRepository.findAll();
-        return publications.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return toListDTOs(publications);
+    }
+
+    /**
+     * Obtiene todas las publicaciones leyendo solo las columnas de los campos pedidos.
+     *
+     * @param fields Campos de PublicationDTO que se devuelven.
+     * @return Lista de DTO con solo los campos pedidos.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PublicationDTO> getAllPublications(Set<String> fields) {
+        return findFields(null, fields);
     }
 
     /**
@@ -62,15 +129,54 @@ public class PublicationServiceImpl implements PublicationServiceI {
      * @return Lista de DTO que representan las publicaciones del usuario.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<PublicationDTO> getPublicationsByUser(Long userId) {
         List<Publication> publications = publicationRepository.findByAuthorUserId(userId);
-        List<PublicationDTO> publicationDTOs = publications.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<PublicationDTO> publicationDTOs = toListDTOs(publications);
         System.out.println("Publications by User: " + publicationDTOs);
         return publicationDTOs;
     }
 
+    /**
+     * Obtiene las publicaciones de un usuario leyendo solo las columnas de los campos pedidos.
+     *
+     * @param userId Identificador único del usuario.
+     * @param fields Campos de PublicationDTO que se devuelven.
+     * @return Lista de DTO con solo los campos pedidos.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PublicationDTO> getPublicationsByUser(Long userId, Set<String> fields) {
+        return findFields(List.of(userId), fields);
+    }
+
+    /**
+     * Obtiene las publicaciones más recientes de un usuario específico.
+     *
+     * @param userId Identificador único del usuario.
+     * @param limit  Número máximo de publicaciones.
+     * @return Lista de DTO de las publicaciones, de la más reciente a la más antigua.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PublicationDTO> getRecentPublicationsByUser(Long userId, int limit) {
+        List<Publication> publications = publicationRepository
+                .findByAuthorUserIdOrderByCreationDateDesc(userId, PageRequest.of(0, limit));
+        return toListDTOs(publications);
+    }
+
+    /**
+     * Cuenta las publicaciones de un usuario específico sin cargarlas.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Número de publicaciones del usuario.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long countPublicationsByUser(Long userId) {
+        return publicationRepository.countByAuthorUserId(userId);
+    }
+
     /**
      * Obtiene las publicaciones de los usuarios seguidos por un usuario específico.
      *
@@ -78,6 +184,7 @@ public class PublicationServiceImpl implements PublicationServiceI {
      * @return Lista de DTO que representan las publicaciones de los usuarios seguidos.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<PublicationDTO> getPublicationsByUsersFollowed(Long userId) {
         List<UserDTO> following = followService.getFollowingByUserId(userId);
 
@@ -88,7 +195,27 @@ public class PublicationServiceImpl implements PublicationServiceI {
         List<Long> followedIds = following.stream().map(UserDTO::getUserId).collect(Collectors.toList());
         List<Publication> publications = publicationRepository.findByAuthorUserIdIn(followedIds);
 
-        return publications.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return toListDTOs(publications);
+    }
+
+    /**
+     * Obtiene las publicaciones de los usuarios seguidos leyendo solo las columnas de los campos pedidos.
+     *
+     * @param userId Identificador único del usuario.
+     * @param fields Campos de PublicationDTO que se devuelven.
+     * @return Lista de DTO con solo los campos pedidos.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PublicationDTO> getPublicationsByUsersFollowed(Long userId, Set<String> fields) {
+        List<Long> followedIds = followService.getFollowingByUserId(userId).stream()
+                .map(UserDTO::getUserId)
+                .collect(Collectors.toList());
+
+        if (followedIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return findFields(followedIds, fields);
     }
 
     /**
@@ -103,12 +230,14 @@ public class PublicationServiceImpl implements PublicationServiceI {
         UserDTO authenticatedUser = userService.getAuthenticatedUser();
 
         if (!authenticatedUser.getUserId().equals(userId)) {
-            throw new RuntimeException("No autorizado para crear una publicación en nombre de otro usuario");
+            throw new ForbiddenException("No autorizado para crear una publicación en nombre de otro usuario");
         }
 
         Publication publicationEntity = new Publication();
-        publicationEntity.setAuthor(userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado")));
+        if (!userCache.exists(userId)) {
+            throw new NotFoundException("Usuario no encontrado");
+        }
+        publicationEntity.setAuthor(userRepository.getReferenceById(userId));
         publicationEntity.setText(publicationDTO.getText());
         publicationEntity.setCreationDate(LocalDateTime.now());
         publicationEntity.setEditionDate(LocalDateTime.now());
@@ -131,11 +260,11 @@ public class PublicationServiceImpl implements PublicationServiceI {
         UserDTO authenticatedUser = userService.getAuthenticatedUser();
 
         if (!authenticatedUser.getUserId().equals(userId)) {
-            throw new RuntimeException("No autorizado para editar una publicación en nombre de otro usuario");
+            throw new ForbiddenException("No autorizado para editar una publicación en nombre de otro usuario");
         }
 
         Publication publicationEntity = publicationRepository.findById(publicationId)
-                .orElseThrow(() -> new RuntimeException("Publicación no encontrada"));
+                .orElseThrow(() -> new NotFoundException("Publicación no encontrada"));
 
         publicationEntity.setText(publicationDTO.getText());
         publicationEntity.setEditionDate(LocalDateTime.now());
@@ -156,24 +285,180 @@ public class PublicationServiceImpl implements PublicationServiceI {
         UserDTO authenticatedUser = userService.getAuthenticatedUser();
 
         if (!authenticatedUser.getUserId().equals(userId)) {
-            throw new RuntimeException("No autorizado para eliminar una publicación en nombre de otro usuario");
+            throw new ForbiddenException("No autorizado para eliminar una publicación en nombre de otro usuario");
         }
 
+        List<Long> commentIds = commentService.getCommentIdsByPublicationId(publicationId);
         publicationRepository.deleteById(publicationId);
+        reactionService.evictPublication(publicationId, commentIds);
     }
 
     /**
-     * Obtiene una publicación por su identificador único.
+     * Obtiene una publicación por su identificador único. Las peticiones concurrentes de la misma publicación
+     * comparten una única lectura. La transacción de solo lectura se abre dentro de la lectura compartida, de
+     * modo que las peticiones que esperan no ocupan una conexión. Un usuario que acaba de escribir lee por su
+     * cuenta (ver shared).
      *
      * @param publicationId Identificador único de la publicación.
      * @return DTO que representa la publicación.
      */
     @Override
     public PublicationDTO getPublicationByPublicationId(Long publicationId) {
-        Publication publicationEntity = publicationRepository.findById(publicationId)
-                .orElseThrow(() -> new RuntimeException("Publicación no encontrada"));
+        return shared(publicationLoads, publicationId, () -> readOnlyTransaction.execute(status -> {
+            Publication publicationEntity = publicationRepository.findById(publicationId)
+                    .orElseThrow(() -> new NotFoundException("Publicación no encontrada"));
 
-        return convertToDTO(publicationEntity);
+            return convertToDTO(publicationEntity);
+        }));
+    }
+
+    /**
+     * Obtiene la versión actual de una publicación a partir de su fecha de modificación y de su número de
+     * reacciones, que se mantiene en memoria. Las peticiones concurrentes de la misma publicación comparten una
+     * única lectura, en una transacción de solo lectura abierta dentro de ella. Un usuario que acaba de escribir
+     * lee por su cuenta (ver shared).
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return Versión de la publicación.
+     */
+    @Override
+    public String getPublicationVersion(Long publicationId) {
+        return shared(versionLoads, publicationId, () -> readOnlyTransaction.execute(status -> {
+            LocalDateTime versionDate = publicationRepository.findVersionDateById(publicationId)
+                    .orElseThrow(() -> new NotFoundException("Publicación no encontrada"));
+
+            return PublicationDTO.version(publicationId, versionDate, reactionService.getReactionCount(publicationId));
+        }));
+    }
+
+    /**
+     * Obtiene la versión actual del feed de un usuario con una única consulta de agregación sobre los usuarios
+     * que sigue: seguimientos, número de publicaciones, última publicación y última modificación, versión de las
+     * reacciones y resumen de comentarios y de sus reacciones.
+     *
+     * La versión de las reacciones es la suma de las versiones de los totales, que crecen con cada volcado que
+     * los modifica; a diferencia de la suma de los totales, una reacción nueva en una publicación y una retirada
+     * en otra sí la cambian. Se lee de las tablas de totales, que van por detrás de la memoria como mucho un
+     * intervalo de volcado; durante ese intervalo el feed puede responder 304 con un contador anterior.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Versión del feed.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String getFeedVersion(Long userId) {
+        FeedHead head = publicationRepository.findFeedHead(userId);
+        if (head.getFollowCount() == 0) {
+            return "empty";
+        }
+
+        long versionMillis = head.getLastVersionDate() == null ? 0L : PublicationDTO.toMillis(head.getLastVersionDate());
+        return head.getFollowCount() + "-" + Long.toHexString(orZero(head.getLastFollowId())) + "-"
+                + head.getPublicationCount() + "-" + Long.toHexString(orZero(head.getLastPublicationId())) + "-"
+                + Long.toHexString(versionMillis) + "-" + head.getReactionVersion() + "-"
+                + head.getCommentCount() + "-" + Long.toHexString(orZero(head.getLastCommentId())) + "-"
+                + head.getCommentReactionVersion();
+    }
+
+    private static long orZero(Long value) {
+        return value == null ? 0L : value;
+    }
+
+    /**
+     * Lee solo las columnas de los campos pedidos (el identificador siempre, para completar los resúmenes) y
+     * consulta los comentarios o las reacciones únicamente si se piden.
+     *
+     * @param authorIds Identificadores de los autores, o null para todas las publicaciones.
+     * @param fields    Campos de PublicationDTO que se devuelven.
+     * @return Lista de DTO con solo los campos pedidos.
+     */
+    private List<PublicationDTO> findFields(Collection<Long> authorIds, Set<String> fields) {
+        Map<String, String> selected = new LinkedHashMap<>();
+        selected.put("publicationId", COLUMNS.get("publicationId"));
+        for (String field : fields) {
+            if (COLUMNS.containsKey(field)) {
+                selected.put(field, COLUMNS.get(field));
+            }
+        }
+
+        List<PublicationDTO> publicationDTOs = projectionRepository
+                .findColumns(Publication.class, selected, authorIds == null ? null : "author.userId", authorIds)
+                .stream()
+                .map(row -> {
+                    PublicationDTO publicationDTO = new PublicationDTO();
+                    publicationDTO.setPublicationId(row.get("publicationId", Long.class));
+                    if (selected.containsKey("authorId")) {
+                        publicationDTO.setAuthorId(row.get("authorId", Long.class));
+                    }
+                    if (selected.containsKey("text")) {
+                        publicationDTO.setText(row.get("text", String.class));
+                    }
+                    if (selected.containsKey("imageURL")) {
+                        publicationDTO.setImageURL(row.get("imageURL", String.class));
+                    }
+                    if (selected.containsKey("creationDate")) {
+                        publicationDTO.setCreationDate(row.get("creationDate", LocalDateTime.class));
+                    }
+                    if (selected.containsKey("editionDate")) {
+                        publicationDTO.setEditionDate(row.get("editionDate", LocalDateTime.class));
+                    }
+                    return publicationDTO;
+                })
+                .collect(Collectors.toList());
+
+        if (fields.contains("commentCount") || fields.contains("latestComments")) {
+            commentService.attachCommentSummaries(publicationDTOs);
+        }
+        if (fields.contains("reactionCount")) {
+            reactionService.attachReactionCounts(publicationDTOs);
+        }
+        return publicationDTOs;
+    }
+
+    private static Map<String, String> columns() {
+        Map<String, String> columns = new LinkedHashMap<>();
+        columns.put("publicationId", "publicationId");
+        columns.put("authorId", "author.userId");
+        columns.put("text", "text");
+        columns.put("imageURL", "imageURL");
+        columns.put("creationDate", "creationDate");
+        columns.put("editionDate", "editionDate");
+        return Collections.unmodifiableMap(columns);
+    }
+
+    /**
+     * Ejecuta una lectura compartida con las demás peticiones de la misma clave, salvo que el usuario actual
+     * acabe de escribir: sus lecturas van a la principal, y la lectura en curso de otro usuario puede haberse
+     * hecho en una réplica que aún no tiene su escritura.
+     *
+     * Solo se tiene en cuenta la ventana fija de ReadYourWritesTracker, no el retraso real de las réplicas.
+     *
+     * @param loads  Lecturas en curso.
+     * @param key    Clave de la lectura.
+     * @param loader Lectura a ejecutar.
+     * @return Resultado de la lectura.
+     */
+    private <V> V shared(SingleFlight<Long, V> loads, Long key, Supplier<V> loader) {
+        String user = ReadYourWritesTracker.currentUser();
+        if (readYourWrites != null && user != null && readYourWrites.isSticky(user)) {
+            return loader.get();
+        }
+        return loads.execute(key, loader);
+    }
+
+    /**
+     * Convierte una página de publicaciones a DTO e incluye el resumen de comentarios de toda la página.
+     *
+     * @param publications Publicaciones a convertir.
+     * @return Lista de DTO con el número de comentarios, las vistas previas y el número de reacciones.
+     */
+    private List<PublicationDTO> toListDTOs(List<Publication> publications) {
+        List<PublicationDTO> publicationDTOs = publications.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        commentService.attachCommentSummaries(publicationDTOs);
+        reactionService.attachReactionCounts(publicationDTOs);
+        return publicationDTOs;
     }
 
     /**
@@ -189,6 +474,7 @@ public class PublicationServiceImpl implements PublicationServiceI {
         publicationDTO.setText(publicationEntity.getText());
         publicationDTO.setCreationDate(publicationEntity.getCreationDate());
         publicationDTO.setEditionDate(publicationEntity.getEditionDate());
+        publicationDTO.setReactionCount(reactionService.getReactionCount(publicationEntity.getPublicationId()));
         return publicationDTO;
     }
 }
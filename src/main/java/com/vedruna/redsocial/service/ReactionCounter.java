@@ -0,0 +1,268 @@
+package com.vedruna.redsocial.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.vedruna.redsocial.persistence.repository.ReactionBatchRepository;
+import com.vedruna.redsocial.persistence.repository.ReactionBatchRepository.ReactionTable;
+import com.vedruna.redsocial.util.BloomFilter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Contador en memoria de las reacciones de un tipo de elemento (publicaciones o comentarios).
+ *
+ * Los totales por elemento se cargan al arrancar desde la tabla de totales y se llevan en contadores
+ * {@link LongAdder}. Para deduplicar, cada par (usuario, elemento) se empaqueta en un long y se añade a un
+ * filtro de Bloom, unos pocos bits por reacción: un "no está" del filtro es definitivo y solo un "puede que
+ * esté" se confirma contra la base de datos. Mientras el filtro se llena con las reacciones existentes todas
+ * las comprobaciones van a la base de datos.
+ *
+ * Los cambios de cada par se serializan con un cerrojo de un conjunto fijo de cerrojos, y se guardan como
+ * pendientes hasta que el volcado los confirma en la base de datos, de modo que la comprobación contra la base
+ * de datos nunca se salta un cambio aún no volcado.
+ */
+@Slf4j
+final class ReactionCounter {
+
+    private static final long ID_MASK = 0xFFFFFFFFL;
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ReactionTable table;
+
+    private final ReactionBatchRepository repository;
+
+    private final long expectedReactions;
+
+    private final double falsePositiveRate;
+
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    /**
+     * Pares (usuario, elemento) con reacción, empaquetados en un long. Se crea al cargar los totales.
+     */
+    private volatile BloomFilter reactedKeys;
+
+    /**
+     * Indica si el filtro contiene ya todas las reacciones guardadas.
+     */
+    private volatile boolean keysLoaded;
+
+    /**
+     * Total de reacciones por elemento.
+     */
+    private final ConcurrentHashMap<Long, LongAdder> totals = new ConcurrentHashMap<>();
+
+    /**
+     * Variación del total por elemento pendiente de volcar.
+     */
+    private final ConcurrentHashMap<Long, LongAdder> pendingDeltas = new ConcurrentHashMap<>();
+
+    /**
+     * Último estado pendiente de volcar por par: true para alta, false para baja.
+     */
+    private final ConcurrentHashMap<Long, Boolean> pendingChanges = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor de la clase ReactionCounter.
+     *
+     * @param table             Tabla de reacciones.
+     * @param repository        Repositorio de volcado en lote.
+     * @param expectedReactions Número mínimo de reacciones para dimensionar el filtro.
+     * @param falsePositiveRate Tasa de falsos positivos del filtro.
+     */
+    ReactionCounter(ReactionTable table, ReactionBatchRepository repository, long expectedReactions,
+            double falsePositiveRate) {
+        this.table = table;
+        this.repository = repository;
+        this.expectedReactions = expectedReactions;
+        this.falsePositiveRate = falsePositiveRate;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Carga los totales guardados y crea el filtro, dimensionado con el doble de las reacciones existentes.
+     */
+    void loadCounts() {
+        LongAdder reactions = new LongAdder();
+        repository.forEachCount(table, (targetId, total) -> {
+            counter(totals, targetId).add(total);
+            reactions.add(total);
+        });
+        reactedKeys = new BloomFilter(Math.max(expectedReactions, reactions.sum() * 2), falsePositiveRate);
+        log.info("Loaded {} {} reaction totals ({} reactions)", totals.size(), table, reactions.sum());
+    }
+
+    /**
+     * Añade al filtro las reacciones guardadas. Las reacciones registradas mientras tanto se añaden al mismo
+     * filtro, así que no hace falta reconciliarlas.
+     */
+    void loadKeys() {
+        BloomFilter filter = reactedKeys;
+        long loaded = repository.forEachReaction(table, (userId, targetId) -> filter.put(pack(userId, targetId)));
+        keysLoaded = true;
+        log.info("Loaded {} {} reactions into the dedupe filter", loaded, table);
+    }
+
+    /**
+     * Indica si el elemento tiene un total en memoria.
+     *
+     * @param targetId Identificador único del elemento.
+     * @return true si el elemento tiene total.
+     */
+    boolean isKnown(Long targetId) {
+        return totals.containsKey(targetId);
+    }
+
+    /**
+     * Registra o retira la reacción de un usuario a un elemento.
+     *
+     * @param userId   Identificador único del usuario.
+     * @param targetId Identificador único del elemento.
+     * @param reacted  true para registrar la reacción, false para retirarla.
+     * @return Número de reacciones del elemento tras la operación.
+     */
+    long change(Long userId, Long targetId, boolean reacted) {
+        long key = pack(userId, targetId);
+        ReentrantLock lock = locks[stripe(key)];
+        lock.lock();
+        try {
+            if (isReacted(key, userId, targetId) != reacted) {
+                pendingChanges.put(key, reacted);
+                if (reacted) {
+                    reactedKeys.put(key);
+                }
+                long delta = reacted ? 1 : -1;
+                counter(totals, targetId).add(delta);
+                counter(pendingDeltas, targetId).add(delta);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return getCount(targetId);
+    }
+
+    /**
+     * Obtiene el número de reacciones de un elemento.
+     *
+     * @param targetId Identificador único del elemento.
+     * @return Número de reacciones del elemento.
+     */
+    long getCount(Long targetId) {
+        LongAdder total = totals.get(targetId);
+        return total == null ? 0L : total.sum();
+    }
+
+    /**
+     * Descarta el estado en memoria y los totales guardados de elementos eliminados. Sus reacciones se eliminan
+     * en cascada con el elemento; un "puede que esté" que quede en el filtro se resuelve contra la base de datos.
+     *
+     * @param targetIds Identificadores únicos de los elementos.
+     */
+    void evict(Collection<Long> targetIds) {
+        if (targetIds.isEmpty()) {
+            return;
+        }
+        Set<Long> evicted = new HashSet<>(targetIds);
+        for (Long targetId : evicted) {
+            totals.remove(targetId);
+            pendingDeltas.remove(targetId);
+        }
+        pendingChanges.keySet().removeIf(key -> evicted.contains(key & ID_MASK));
+        repository.deleteCounts(table, evicted);
+    }
+
+    /**
+     * Vuelca en la base de datos los cambios acumulados en memoria.
+     *
+     * Los cambios solo se retiran de los pendientes después de confirmarse, y solo si no han vuelto a cambiar
+     * entretanto; si el volcado falla siguen pendientes y las variaciones de los totales se devuelven para el
+     * siguiente intento.
+     */
+    void flush() {
+        Map<Long, Boolean> changes = new HashMap<>(pendingChanges);
+
+        Map<Long, Long> deltas = new HashMap<>();
+        pendingDeltas.forEach((targetId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(targetId, delta);
+            }
+        });
+
+        if (changes.isEmpty() && deltas.isEmpty()) {
+            return;
+        }
+
+        List<long[]> inserts = new ArrayList<>();
+        List<long[]> deletes = new ArrayList<>();
+        changes.forEach((key, added) -> (added ? inserts : deletes).add(new long[] {key >>> 32, key & ID_MASK}));
+
+        try {
+            repository.applyChanges(table, inserts, deletes, deltas);
+            changes.forEach(pendingChanges::remove);
+        } catch (RuntimeException e) {
+            log.error("Error flushing " + table + " reactions, will retry: " + e.getMessage(), e);
+            deltas.forEach((targetId, delta) -> {
+                if (totals.containsKey(targetId)) {
+                    counter(pendingDeltas, targetId).add(delta);
+                }
+            });
+        }
+    }
+
+    /**
+     * Estado de un par: el pendiente si lo hay; si no, el filtro descarta los que seguro que no existen y el
+     * resto se confirma contra la base de datos.
+     */
+    private boolean isReacted(long key, long userId, long targetId) {
+        Boolean pending = pendingChanges.get(key);
+        if (pending != null) {
+            return pending;
+        }
+        if (keysLoaded && !reactedKeys.mightContain(key)) {
+            return false;
+        }
+        return repository.exists(table, userId, targetId);
+    }
+
+    private static int stripe(long key) {
+        return Long.hashCode(key * 0x9E3779B97F4A7C15L) >>> 26;
+    }
+
+    /**
+     * Obtiene (o crea) el contador de un elemento.
+     *
+     * @param counters Mapa de contadores.
+     * @param targetId Identificador único del elemento.
+     * @return Contador del elemento.
+     */
+    private static LongAdder counter(ConcurrentHashMap<Long, LongAdder> counters, Long targetId) {
+        return counters.computeIfAbsent(targetId, id -> new LongAdder());
+    }
+
+    /**
+     * Empaqueta un par (usuario, elemento) en un long, 32 bits para cada identificador.
+     *
+     * @param userId   Identificador único del usuario.
+     * @param targetId Identificador único del elemento.
+     * @return Clave empaquetada.
+     */
+    private static long pack(long userId, long targetId) {
+        if ((userId >>> 32) != 0 || (targetId >>> 32) != 0) {
+            throw new IllegalArgumentException("Identificador fuera de rango para reacciones");
+        }
+        return (userId << 32) | targetId;
+    }
+}
@@ -0,0 +1,92 @@
+package com.vedruna.redsocial.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.vedruna.redsocial.dto.CommentDTO;
+import com.vedruna.redsocial.dto.PublicationDTO;
+
+/**
+ * Interfaz que define los servicios relacionados con las reacciones ("me gusta") a publicaciones y comentarios.
+ */
+public interface ReactionServiceI {
+
+    /**
+     * Registra la reacción de un usuario a una publicación.
+     *
+     * @param userId        Identificador único del usuario que reacciona.
+     * @param publicationId Identificador único de la publicación.
+     * @return Número de reacciones de la publicación tras la operación.
+     */
+    long addReaction(Long userId, Long publicationId);
+
+    /**
+     * Retira la reacción de un usuario a una publicación.
+     *
+     * @param userId        Identificador único del usuario.
+     * @param publicationId Identificador único de la publicación.
+     * @return Número de reacciones de la publicación tras la operación.
+     */
+    long removeReaction(Long userId, Long publicationId);
+
+    /**
+     * Obtiene el número de reacciones de una publicación.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return Número de reacciones de la publicación.
+     */
+    long getReactionCount(Long publicationId);
+
+    /**
+     * Completa cada publicación con su número de reacciones.
+     *
+     * @param publications Publicaciones a completar.
+     */
+    void attachReactionCounts(List<PublicationDTO> publications);
+
+    /**
+     * Registra la reacción de un usuario a un comentario.
+     *
+     * @param userId    Identificador único del usuario que reacciona.
+     * @param commentId Identificador único del comentario.
+     * @return Número de reacciones del comentario tras la operación.
+     */
+    long addCommentReaction(Long userId, Long commentId);
+
+    /**
+     * Retira la reacción de un usuario a un comentario.
+     *
+     * @param userId    Identificador único del usuario.
+     * @param commentId Identificador único del comentario.
+     * @return Número de reacciones del comentario tras la operación.
+     */
+    long removeCommentReaction(Long userId, Long commentId);
+
+    /**
+     * Obtiene el número de reacciones de un comentario.
+     *
+     * @param commentId Identificador único del comentario.
+     * @return Número de reacciones del comentario.
+     */
+    long getCommentReactionCount(Long commentId);
+
+    /**
+     * Completa cada comentario con su número de reacciones.
+     *
+     * @param comments Comentarios a completar.
+     */
+    void attachCommentReactionCounts(List<CommentDTO> comments);
+
+    /**
+     * Descarta el estado en memoria de una publicación eliminada y de sus comentarios.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @param commentIds    Identificadores únicos de los comentarios de la publicación.
+     */
+    void evictPublication(Long publicationId, Collection<Long> commentIds);
+
+    /**
+     * Vuelca en la base de datos los cambios acumulados en memoria.
+     */
+    void flush();
+}
@@ -0,0 +1,242 @@
+package com.vedruna.redsocial.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.vedruna.redsocial.dto.CommentDTO;
+import com.vedruna.redsocial.dto.PublicationDTO;
+import com.vedruna.redsocial.dto.UserDTO;
+import com.vedruna.redsocial.exception.ForbiddenException;
+import com.vedruna.redsocial.exception.NotFoundException;
+import com.vedruna.redsocial.persistence.repository.CommentRepositoryI;
+import com.vedruna.redsocial.persistence.repository.PublicationRepositoryI;
+import com.vedruna.redsocial.persistence.repository.ReactionBatchRepository;
+import com.vedruna.redsocial.persistence.repository.ReactionBatchRepository.ReactionTable;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementación de la interfaz ReactionServiceI que cuenta las reacciones en memoria.
+ *
+ * Las reacciones a publicaciones y a comentarios se llevan en dos {@link ReactionCounter}: totales por
+ * elemento cargados desde RS_REACTION_COUNT y RS_COMMENT_REACTION_COUNT, y un filtro de Bloom por tipo para
+ * deduplicar. Los cambios se vuelcan periódicamente a la base de datos en lotes, de modo que un "me gusta"
+ * nunca bloquea una fila de la base de datos.
+ */
+@Service
+@Slf4j
+public class ReactionServiceImpl implements ReactionServiceI {
+
+    private final PublicationRepositoryI publicationRepository;
+    private final CommentRepositoryI commentRepository;
+    private final UserServiceI userService;
+
+    private final ReactionCounter publicationReactions;
+    private final ReactionCounter commentReactions;
+
+    /**
+     * Constructor de la clase ReactionServiceImpl.
+     *
+     * @param reactionBatchRepository Repositorio de volcado en lote.
+     * @param publicationRepository   Repositorio de publicaciones.
+     * @param commentRepository       Repositorio de comentarios.
+     * @param userService             Servicio de usuarios.
+     * @param expectedReactions       Número mínimo de reacciones para dimensionar los filtros de deduplicación.
+     * @param falsePositiveRate       Tasa de falsos positivos de los filtros de deduplicación.
+     */
+    @Autowired
+    public ReactionServiceImpl(ReactionBatchRepository reactionBatchRepository,
+            PublicationRepositoryI publicationRepository, CommentRepositoryI commentRepository,
+            UserServiceI userService,
+            @Value("${redsocial.reactions.expected-reactions:1000000}") long expectedReactions,
+            @Value("${redsocial.reactions.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.publicationRepository = publicationRepository;
+        this.commentRepository = commentRepository;
+        this.userService = userService;
+        this.publicationReactions = new ReactionCounter(ReactionTable.PUBLICATION, reactionBatchRepository,
+                expectedReactions, falsePositiveRate);
+        this.commentReactions = new ReactionCounter(ReactionTable.COMMENT, reactionBatchRepository,
+                expectedReactions, falsePositiveRate);
+    }
+
+    /**
+     * Carga los totales guardados antes de atender peticiones.
+     */
+    @PostConstruct
+    public void loadCounts() {
+        publicationReactions.loadCounts();
+        commentReactions.loadCounts();
+    }
+
+    /**
+     * Llena los filtros de deduplicación con las reacciones guardadas una vez arrancada la aplicación. Hasta
+     * entonces las comprobaciones de duplicados van a la base de datos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadReactions() {
+        publicationReactions.loadKeys();
+        commentReactions.loadKeys();
+    }
+
+    /**
+     * Registra la reacción de un usuario a una publicación.
+     *
+     * @param userId        Identificador único del usuario que reacciona.
+     * @param publicationId Identificador único de la publicación.
+     * @return Número de reacciones de la publicación tras la operación.
+     */
+    @Override
+    public long addReaction(Long userId, Long publicationId) {
+        checkAuthenticatedUser(userId);
+
+        if (!publicationReactions.isKnown(publicationId) && !publicationRepository.existsById(publicationId)) {
+            throw new NotFoundException("Publicación no encontrada");
+        }
+
+        return publicationReactions.change(userId, publicationId, true);
+    }
+
+    /**
+     * Retira la reacción de un usuario a una publicación.
+     *
+     * @param userId        Identificador único del usuario.
+     * @param publicationId Identificador único de la publicación.
+     * @return Número de reacciones de la publicación tras la operación.
+     */
+    @Override
+    public long removeReaction(Long userId, Long publicationId) {
+        checkAuthenticatedUser(userId);
+        return publicationReactions.change(userId, publicationId, false);
+    }
+
+    /**
+     * Obtiene el número de reacciones de una publicación.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @return Número de reacciones de la publicación.
+     */
+    @Override
+    public long getReactionCount(Long publicationId) {
+        return publicationReactions.getCount(publicationId);
+    }
+
+    /**
+     * Completa cada publicación con su número de reacciones.
+     *
+     * @param publications Publicaciones a completar.
+     */
+    @Override
+    public void attachReactionCounts(List<PublicationDTO> publications) {
+        for (PublicationDTO publication : publications) {
+            publication.setReactionCount(getReactionCount(publication.getPublicationId()));
+        }
+    }
+
+    /**
+     * Registra la reacción de un usuario a un comentario.
+     *
+     * @param userId    Identificador único del usuario que reacciona.
+     * @param commentId Identificador único del comentario.
+     * @return Número de reacciones del comentario tras la operación.
+     */
+    @Override
+    public long addCommentReaction(Long userId, Long commentId) {
+        checkAuthenticatedUser(userId);
+
+        if (!commentReactions.isKnown(commentId) && !commentRepository.existsById(commentId)) {
+            throw new NotFoundException("Comentario no encontrado");
+        }
+
+        return commentReactions.change(userId, commentId, true);
+    }
+
+    /**
+     * Retira la reacción de un usuario a un comentario.
+     *
+     * @param userId    Identificador único del usuario.
+     * @param commentId Identificador único del comentario.
+     * @return Número de reacciones del comentario tras la operación.
+     */
+    @Override
+    public long removeCommentReaction(Long userId, Long commentId) {
+        checkAuthenticatedUser(userId);
+        return commentReactions.change(userId, commentId, false);
+    }
+
+    /**
+     * Obtiene el número de reacciones de un comentario.
+     *
+     * @param commentId Identificador único del comentario.
+     * @return Número de reacciones del comentario.
+     */
+    @Override
+    public long getCommentReactionCount(Long commentId) {
+        return commentReactions.getCount(commentId);
+    }
+
+    /**
+     * Completa cada comentario con su número de reacciones.
+     *
+     * @param comments Comentarios a completar.
+     */
+    @Override
+    public void attachCommentReactionCounts(List<CommentDTO> comments) {
+        for (CommentDTO comment : comments) {
+            comment.setReactionCount(getCommentReactionCount(comment.getCommentId()));
+        }
+    }
+
+    /**
+     * Descarta el estado en memoria de una publicación eliminada y de sus comentarios.
+     *
+     * @param publicationId Identificador único de la publicación.
+     * @param commentIds    Identificadores únicos de los comentarios de la publicación.
+     */
+    @Override
+    public void evictPublication(Long publicationId, Collection<Long> commentIds) {
+        publicationReactions.evict(List.of(publicationId));
+        commentReactions.evict(commentIds);
+    }
+
+    /**
+     * Vuelca en la base de datos los cambios acumulados en memoria.
+     *
+     * Si el volcado falla, los cambios siguen pendientes para el siguiente intento.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${redsocial.reactions.flush-interval-ms:1000}")
+    public void flush() {
+        publicationReactions.flush();
+        commentReactions.flush();
+    }
+
+    /**
+     * Vuelca los cambios pendientes antes de detener la aplicación.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Verifica que el usuario autenticado es quien realiza la operación.
+     *
+     * @param userId Identificador único del usuario indicado en la petición.
+     */
+    private void checkAuthenticatedUser(Long userId) {
+        UserDTO authenticatedUser = userService.getAuthenticatedUser();
+
+        if (!authenticatedUser.getUserId().equals(userId)) {
+            throw new ForbiddenException("No autorizado para reaccionar en nombre de otro usuario");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.vedruna.redsocial.service;
+
+import java.util.List;
+
+import com.vedruna.redsocial.dto.UserDTO;
+
+/**
+ * Interfaz que define el autocompletado de nombres de usuario por prefijo.
+ */
+public interface UserAutocompleteServiceI {
+
+    /**
+     * Busca los usuarios cuyo nombre empieza por el prefijo dado.
+     *
+     * @param prefix Prefijo del nombre de usuario (sin distinguir mayúsculas).
+     * @param limit  Número máximo de resultados.
+     * @param boost  Si es true, ordena los resultados por número de seguidores.
+     * @return Lista de DTO con el identificador y el nombre de cada usuario.
+     */
+    List<UserDTO> autocomplete(String prefix, int limit, boolean boost);
+
+    /**
+     * Añade un usuario recién registrado al índice.
+     *
+     * @param userId   Identificador único del usuario.
+     * @param userName Nombre de usuario.
+     */
+    void addUser(Long userId, String userName);
+
+    /**
+     * Ajusta el número de seguidores usado para ordenar los resultados.
+     *
+     * @param userId Identificador único del usuario seguido.
+     * @param delta  Variación del número de seguidores.
+     */
+    void adjustFollowers(Long userId, int delta);
+}
@@ -0,0 +1,213 @@
+package com.vedruna.redsocial.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.vedruna.redsocial.dto.UserDTO;
+import com.vedruna.redsocial.persistence.repository.FollowRepositoryI;
+import com.vedruna.redsocial.persistence.repository.FollowRepositoryI.FollowerCount;
+import com.vedruna.redsocial.persistence.repository.UserRepositoryI;
+import com.vedruna.redsocial.persistence.repository.UserRepositoryI.UserIdentifiers;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementación de la interfaz UserAutocompleteServiceI basada en un array ordenado de nombres de usuario.
+ *
+ * Las búsquedas localizan el primer candidato con búsqueda binaria y recorren los siguientes mientras compartan
+ * el prefijo, sin tocar la base de datos. El array se sustituye por una copia en cada registro (copy-on-write),
+ * de modo que las lecturas nunca se bloquean.
+ */
+@Service
+@Slf4j
+public class UserAutocompleteServiceImpl implements UserAutocompleteServiceI {
+
+    /**
+     * Número máximo de resultados que se pueden pedir.
+     */
+    private static final int MAX_LIMIT = 50;
+
+    /**
+     * Número máximo de candidatos examinados al ordenar por seguidores, para acotar prefijos muy cortos.
+     */
+    private static final int MAX_BOOST_CANDIDATES = 512;
+
+    private static final Comparator<Entry> BY_FOLLOWERS = Comparator
+            .comparingLong((Entry entry) -> entry.followers.get()).reversed()
+            .thenComparing(entry -> entry.key);
+
+    private final UserRepositoryI userRepository;
+
+    private final FollowRepositoryI followRepository;
+
+    private volatile Entry[] entries = new Entry[0];
+
+    private final Map<Long, Entry> entriesByUserId = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor de la clase UserAutocompleteServiceImpl.
+     *
+     * @param userRepository   Repositorio de usuarios.
+     * @param followRepository Repositorio de relaciones de seguimiento.
+     */
+    @Autowired
+    public UserAutocompleteServiceImpl(UserRepositoryI userRepository, FollowRepositoryI followRepository) {
+        this.userRepository = userRepository;
+        this.followRepository = followRepository;
+    }
+
+    /**
+     * Construye el índice con los usuarios existentes una vez arrancada la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        Map<Long, Long> followerCounts = new HashMap<>();
+        for (FollowerCount count : followRepository.countFollowersByUser()) {
+            followerCounts.put(count.getUserId(), count.getFollowerCount());
+        }
+
+        List<Entry> loaded = new ArrayList<>();
+        for (UserIdentifiers user : userRepository.findAllIdentifiers()) {
+            if (user.getUserName() != null) {
+                loaded.add(new Entry(user.getUserId(), user.getUserName(),
+                        followerCounts.getOrDefault(user.getUserId(), 0L)));
+            }
+        }
+
+        synchronized (this) {
+            List<Entry> merged = new ArrayList<>(Arrays.asList(entries));
+            for (Entry entry : loaded) {
+                if (entriesByUserId.putIfAbsent(entry.userId, entry) == null) {
+                    merged.add(entry);
+                }
+            }
+            merged.sort(Comparator.comparing((Entry entry) -> entry.key));
+            entries = merged.toArray(new Entry[0]);
+        }
+        log.info("Autocomplete index built for {} users", entries.length);
+    }
+
+    /**
+     * Busca los usuarios cuyo nombre empieza por el prefijo dado.
+     *
+     * @param prefix Prefijo del nombre de usuario (sin distinguir mayúsculas).
+     * @param limit  Número máximo de resultados.
+     * @param boost  Si es true, ordena los resultados por número de seguidores.
+     * @return Lista de DTO con el identificador y el nombre de cada usuario.
+     */
+    @Override
+    public List<UserDTO> autocomplete(String prefix, int limit, boolean boost) {
+        String key = normalize(prefix);
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Entry[] snapshot = entries;
+
+        int scanLimit = boost ? MAX_BOOST_CANDIDATES : max;
+        List<Entry> matches = new ArrayList<>();
+        for (int i = lowerBound(snapshot, key); i < snapshot.length && matches.size() < scanLimit; i++) {
+            if (!snapshot[i].key.startsWith(key)) {
+                break;
+            }
+            matches.add(snapshot[i]);
+        }
+
+        if (boost) {
+            matches.sort(BY_FOLLOWERS);
+        }
+
+        List<UserDTO> result = new ArrayList<>(Math.min(max, matches.size()));
+        for (int i = 0; i < matches.size() && i < max; i++) {
+            UserDTO user = new UserDTO();
+            user.setUserId(matches.get(i).userId);
+            user.setUserName(matches.get(i).userName);
+            result.add(user);
+        }
+        return result;
+    }
+
+    /**
+     * Añade un usuario recién registrado al índice.
+     *
+     * @param userId   Identificador único del usuario.
+     * @param userName Nombre de usuario.
+     */
+    @Override
+    public synchronized void addUser(Long userId, String userName) {
+        Entry entry = new Entry(userId, userName, 0L);
+        if (entriesByUserId.putIfAbsent(userId, entry) != null) {
+            return;
+        }
+
+        Entry[] current = entries;
+        int position = lowerBound(current, entry.key);
+        Entry[] updated = new Entry[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, position);
+        updated[position] = entry;
+        System.arraycopy(current, position, updated, position + 1, current.length - position);
+        entries = updated;
+    }
+
+    /**
+     * Ajusta el número de seguidores usado para ordenar los resultados.
+     *
+     * @param userId Identificador único del usuario seguido.
+     * @param delta  Variación del número de seguidores.
+     */
+    @Override
+    public void adjustFollowers(Long userId, int delta) {
+        Entry entry = entriesByUserId.get(userId);
+        if (entry != null) {
+            entry.followers.accumulateAndGet(delta, (current, d) -> Math.max(0, current + d));
+        }
+    }
+
+    /**
+     * Primera posición cuya clave es mayor o igual que la dada.
+     */
+    private static int lowerBound(Entry[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].key.compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String normalize(String userName) {
+        return userName.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Entrada del índice: nombre normalizado para buscar, nombre original para mostrar y número de seguidores.
+     */
+    private static final class Entry {
+
+        private final Long userId;
+        private final String userName;
+        private final String key;
+        private final AtomicLong followers;
+
+        private Entry(Long userId, String userName, long followers) {
+            this.userId = userId;
+            this.userName = userName;
+            this.key = normalize(userName);
+            this.followers = new AtomicLong(followers);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.vedruna.redsocial.service;
+
+/**
+ * Interfaz que define la comprobación rápida de disponibilidad de nombres de usuario y correos electrónicos.
+ */
+public interface UserAvailabilityServiceI {
+
+    /**
+     * Indica si un nombre de usuario está libre.
+     *
+     * @param userName Nombre de usuario a comprobar.
+     * @return true si ningún usuario lo utiliza.
+     */
+    boolean isUserNameAvailable(String userName);
+
+    /**
+     * Indica si un correo electrónico está libre.
+     *
+     * @param email Correo electrónico a comprobar.
+     * @return true si ningún usuario lo utiliza.
+     */
+    boolean isEmailAvailable(String email);
+
+    /**
+     * Indica si el nombre de usuario o el correo electrónico pueden estar en uso. Un resultado false
+     * es definitivo y no necesita consultar la base de datos.
+     *
+     * @param userName Nombre de usuario.
+     * @param email    Correo electrónico.
+     * @return false si es seguro que ambos están libres.
+     */
+    boolean mightBeTaken(String userName, String email);
+
+    /**
+     * Registra un nombre de usuario y/o un correo electrónico como ocupados.
+     *
+     * @param userName Nombre de usuario (puede ser null).
+     * @param email    Correo electrónico (puede ser null).
+     */
+    void markTaken(String userName, String email);
+}
@@ -0,0 +1,171 @@
+package com.vedruna.redsocial.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.vedruna.redsocial.persistence.repository.UserRepositoryI;
+import com.vedruna.redsocial.persistence.repository.UserRepositoryI.UserIdentifiers;
+import com.vedruna.redsocial.util.BloomFilter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementación de la interfaz UserAvailabilityServiceI basada en dos filtros de Bloom, uno para los nombres
+ * de usuario y otro para los correos electrónicos de RS_USER.
+ *
+ * Los filtros se construyen al arrancar y se actualizan en cada registro. Un "libre" del filtro es definitivo;
+ * solo un "puede que esté ocupado" se confirma contra la base de datos. Mientras los filtros no están listos
+ * todas las consultas van a la base de datos.
+ */
+@Service
+@Slf4j
+public class UserAvailabilityServiceImpl implements UserAvailabilityServiceI {
+
+    private final UserRepositoryI userRepository;
+
+    private final long expectedUsers;
+
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter userNames;
+
+    private volatile BloomFilter emails;
+
+    /**
+     * Registros producidos mientras se construyen los filtros, protegidos por su propio monitor.
+     */
+    private final List<String[]> takenDuringBuild = new ArrayList<>();
+
+    /**
+     * Constructor de la clase UserAvailabilityServiceImpl.
+     *
+     * @param userRepository    Repositorio de usuarios.
+     * @param expectedUsers     Número mínimo de usuarios para dimensionar los filtros.
+     * @param falsePositiveRate Tasa de falsos positivos de los filtros.
+     */
+    @Autowired
+    public UserAvailabilityServiceImpl(UserRepositoryI userRepository,
+            @Value("${redsocial.availability.expected-users:100000}") long expectedUsers,
+            @Value("${redsocial.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Construye los filtros con los usuarios existentes una vez arrancada la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildFilters() {
+        List<UserIdentifiers> users = userRepository.findAllIdentifiers();
+        long capacity = Math.max(expectedUsers, users.size() * 2L);
+
+        BloomFilter newUserNames = new BloomFilter(capacity, falsePositiveRate);
+        BloomFilter newEmails = new BloomFilter(capacity, falsePositiveRate);
+        for (UserIdentifiers user : users) {
+            putIfPresent(newUserNames, user.getUserName());
+            putIfPresent(newEmails, user.getEmail());
+        }
+
+        synchronized (takenDuringBuild) {
+            for (String[] taken : takenDuringBuild) {
+                putIfPresent(newUserNames, taken[0]);
+                putIfPresent(newEmails, taken[1]);
+            }
+            takenDuringBuild.clear();
+            this.emails = newEmails;
+            this.userNames = newUserNames;
+        }
+        log.info("Availability filters built for {} users", users.size());
+    }
+
+    /**
+     * Indica si un nombre de usuario está libre.
+     *
+     * @param userName Nombre de usuario a comprobar.
+     * @return true si ningún usuario lo utiliza.
+     */
+    @Override
+    public boolean isUserNameAvailable(String userName) {
+        if (!mightContain(userNames, userName)) {
+            return true;
+        }
+        return !userRepository.existsByUserName(userName);
+    }
+
+    /**
+     * Indica si un correo electrónico está libre.
+     *
+     * @param email Correo electrónico a comprobar.
+     * @return true si ningún usuario lo utiliza.
+     */
+    @Override
+    public boolean isEmailAvailable(String email) {
+        if (!mightContain(emails, email)) {
+            return true;
+        }
+        return !userRepository.existsByEmail(email);
+    }
+
+    /**
+     * Indica si el nombre de usuario o el correo electrónico pueden estar en uso.
+     *
+     * @param userName Nombre de usuario.
+     * @param email    Correo electrónico.
+     * @return false si es seguro que ambos están libres.
+     */
+    @Override
+    public boolean mightBeTaken(String userName, String email) {
+        return mightContain(userNames, userName) || mightContain(emails, email);
+    }
+
+    /**
+     * Registra un nombre de usuario y/o un correo electrónico como ocupados.
+     *
+     * @param userName Nombre de usuario (puede ser null).
+     * @param email    Correo electrónico (puede ser null).
+     */
+    @Override
+    public void markTaken(String userName, String email) {
+        if (userNames == null) {
+            synchronized (takenDuringBuild) {
+                if (userNames == null) {
+                    takenDuringBuild.add(new String[] {userName, email});
+                    return;
+                }
+            }
+        }
+        putIfPresent(userNames, userName);
+        putIfPresent(emails, email);
+    }
+
+    /**
+     * Un filtro que aún no se ha construido responde siempre "puede que esté".
+     */
+    private static boolean mightContain(BloomFilter filter, String value) {
+        if (value == null) {
+            return false;
+        }
+        return filter == null || filter.mightContain(normalize(value));
+    }
+
+    private static void putIfPresent(BloomFilter filter, String value) {
+        if (value != null) {
+            filter.put(normalize(value));
+        }
+    }
+
+    /**
+     * Los valores se comparan sin distinguir mayúsculas, igual que la colación de MySQL.
+     */
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
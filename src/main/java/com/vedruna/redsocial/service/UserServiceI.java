@@ -2,7 +2,9 @@ package com.vedruna.redsocial.service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import com.vedruna.redsocial.dto.UserBatchDTO;
 import com.vedruna.redsocial.dto.UserDTO;
 import com.vedruna.redsocial.persistence.model.User;
 
@@ -22,6 +24,15 @@ public interface UserServiceI {
      */
     UserDTO registerUser(String userName, String email, String password, String description);
 
+    /**
+     * Crea el perfil de la red social de una cuenta registrada en el sistema de autenticación.
+     *
+     * @param userName        Nombre de usuario de la cuenta.
+     * @param encodedPassword Contraseña ya cifrada de la cuenta.
+     * @return DTO que representa el perfil creado.
+     */
+    UserDTO createProfile(String userName, String encodedPassword);
+
     /**
      * Inicia sesión para un usuario existente en la red social.
      *
@@ -72,13 +83,21 @@ public interface UserServiceI {
      */
     UserDTO getUserByUserId(Long userId);
 
+    /**
+     * Obtiene varios usuarios por su identificador único en una sola operación.
+     *
+     * @param userIds Identificadores únicos de los usuarios a buscar.
+     * @return DTO con los usuarios encontrados, en el orden pedido, y los identificadores inexistentes.
+     */
+    UserBatchDTO getUsersByUserIds(List<Long> userIds);
+
     /**
      * Cierra la sesión del usuario actual.
      */
     void logoutUser();
 
     /**
-     * Obtiene el usuario autenticado actualmente en la sesión.
+     * Obtiene el usuario autenticado en la petición actual.
      *
      * @return DTO que representa el usuario autenticado.
      */
@@ -108,4 +127,12 @@ public interface UserServiceI {
      * @return Lista de DTO que representan todos los usuarios.
      */
     List<UserDTO> getAllUsers();
+
+    /**
+     * Obtiene todos los usuarios leyendo solo las columnas de los campos pedidos.
+     *
+     * @param fields Campos de UserDTO que se devuelven.
+     * @return Lista de DTO con solo los campos pedidos.
+     */
+    List<UserDTO> getAllUsers(Set<String> fields);
 }
@@ -1,20 +1,37 @@
 package com.vedruna.redsocial.service;
 
 import java.sql.Date;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import com.vedruna.redsocial.cache.UserCache;
+import com.vedruna.redsocial.dto.UserBatchDTO;
 import com.vedruna.redsocial.dto.UserDTO;
+import com.vedruna.redsocial.exception.ConflictException;
+import com.vedruna.redsocial.exception.NotFoundException;
+import com.vedruna.redsocial.exception.UnauthorizedException;
 import com.vedruna.redsocial.persistence.model.User;
+import com.vedruna.redsocial.persistence.repository.ProjectionRepository;
 import com.vedruna.redsocial.persistence.repository.UserRepositoryI;
+import com.vedruna.redsocial.sc.model.SecurityUser;
 
-import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -24,22 +41,46 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class UserServiceImpl implements UserServiceI {
 
+    /**
+     * Atributo de la petición donde se guarda el usuario autenticado una vez resuelto.
+     */
+    private static final String AUTHENTICATED_USER_ATTRIBUTE = UserServiceImpl.class.getName() + ".authenticatedUser";
+
     private UserRepositoryI userRepository;
     
     private PasswordEncoder passwordEncoder;
 
-    private UserDTO authenticatedUser;
-    
+    private UserCache userCache;
+
+    private UserAvailabilityServiceI userAvailabilityService;
+
+    private UserAutocompleteServiceI userAutocompleteService;
+
+    private ProjectionRepository projectionRepository;
+
+    @Value("${redsocial.users.bulk-max:500}")
+    private int bulkMaxUsers;
+
     /**
      * Constructor de la clase UserServiceImpl.
      *
      * @param userRepository Repositorio de usuarios.
      * @param passwordEncoder Codificador de contraseñas.
+     * @param userCache Caché de usuarios.
+     * @param userAvailabilityService Servicio de disponibilidad de nombres de usuario y correos.
+     * @param userAutocompleteService Servicio de autocompletado de nombres de usuario.
+     * @param projectionRepository Repositorio de consultas con un subconjunto de columnas.
      */
     @Autowired
-    public UserServiceImpl(UserRepositoryI userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepositoryI userRepository, PasswordEncoder passwordEncoder, UserCache userCache,
+    		UserAvailabilityServiceI userAvailabilityService, UserAutocompleteServiceI userAutocompleteService,
+    		ProjectionRepository projectionRepository) {
     	this.userRepository = userRepository;
     	this.passwordEncoder = passwordEncoder;
+    	this.userCache = userCache;
+    	this.userAvailabilityService = userAvailabilityService;
+    	this.userAutocompleteService = userAutocompleteService;
+    	this.projectionRepository = projectionRepository;
     }
 
     /**
@@ -53,8 +94,9 @@ public class UserServiceImpl implements UserServiceI {
      */
     @Override
     public UserDTO registerUser(String userName, String email, String password, String description) {
-        if (userRepository.existsByUserNameOrEmail(userName, email)) {
-            throw new RuntimeException("Nombre de usuario o correo electrónico ya en uso");
+        if (userAvailabilityService.mightBeTaken(userName, email)
+                && userRepository.existsByUserNameOrEmail(userName, email)) {
+            throw new ConflictException("Nombre de usuario o correo electrónico ya en uso");
         }
 
         validatePassword(password);
@@ -69,10 +111,35 @@ public class UserServiceImpl implements UserServiceI {
         userEntity.setCreationDate(new Date(currentDate.getTime()));
 
         userRepository.save(userEntity);
+        userCache.invalidate(userEntity);
+        userAvailabilityService.markTaken(userName, email);
+        userAutocompleteService.addUser(userEntity.getUserId(), userName);
 
         return convertToDTO(userEntity);
     }
     
+    /**
+     * Crea el perfil de la red social de una cuenta de S_USER, con la misma contraseña cifrada.
+     *
+     * @param userName Nombre de usuario de la cuenta.
+     * @param encodedPassword Contraseña ya cifrada de la cuenta.
+     * @return DTO del perfil creado.
+     */
+    @Override
+    public UserDTO createProfile(String userName, String encodedPassword) {
+        User userEntity = new User();
+        userEntity.setUserName(userName);
+        userEntity.setPassword(encodedPassword);
+        userEntity.setCreationDate(new Date(System.currentTimeMillis()));
+
+        userRepository.save(userEntity);
+        userCache.invalidate(userEntity);
+        userAvailabilityService.markTaken(userName, null);
+        userAutocompleteService.addUser(userEntity.getUserId(), userName);
+
+        return convertToDTO(userEntity);
+    }
+
     /**
      * Valida la contraseña del usuario.
      *
@@ -81,7 +148,7 @@ public class UserServiceImpl implements UserServiceI {
     private void validatePassword(String password) {
 
         if (password.length() < 8) {
-            throw new RuntimeException("La contraseña debe tener al menos 8 caracteres");
+            throw new IllegalArgumentException("La contraseña debe tener al menos 8 caracteres");
         }
 
     }
@@ -96,15 +163,18 @@ public class UserServiceImpl implements UserServiceI {
     @Override
     public UserDTO loginUser(String username, String password) {
         User userEntity = userRepository.findByUserName(username)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+                .orElseThrow(() -> new UnauthorizedException("Usuario no encontrado"));
 
         if (!isPasswordValid(password, userEntity.getPassword())) {
-            throw new RuntimeException("Credenciales incorrectas");
+            throw new UnauthorizedException("Credenciales incorrectas");
         }
 
-        authenticatedUser = convertToDTO(userEntity);
+        if (passwordEncoder.upgradeEncoding(userEntity.getPassword())) {
+            userEntity.setPassword(passwordEncoder.encode(password));
+            userRepository.save(userEntity);
+        }
 
-        return authenticatedUser;
+        return convertToDTO(userEntity);
     }
 
     /**
@@ -119,16 +189,35 @@ public class UserServiceImpl implements UserServiceI {
     }
     
     /**
-     * Obtiene el usuario autenticado.
+     * Obtiene el usuario autenticado en la petición actual a partir del contexto de seguridad (token JWT).
+     * El perfil se resuelve solo por el enlace de la cuenta (socialUserId), nunca por el nombre de usuario.
+     * El resultado se guarda en la propia petición para no resolverlo más de una vez.
      *
      * @return DTO del usuario autenticado.
      */
     @Override
     public UserDTO getAuthenticatedUser() {
-        if (authenticatedUser == null) {
-            throw new RuntimeException("Usuario no autenticado");
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(AUTHENTICATED_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof UserDTO user) {
+            return user;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            throw new UnauthorizedException("Usuario no autenticado");
+        }
+
+        if (!(authentication.getPrincipal() instanceof SecurityUser securityUser) || securityUser.getSocialUserId() == null) {
+            throw new UnauthorizedException("Cuenta sin perfil enlazado");
+        }
+        UserDTO user = userCache.getById(securityUser.getSocialUserId())
+                .orElseThrow(() -> new UnauthorizedException("Usuario no autenticado"));
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(AUTHENTICATED_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
         }
-        return authenticatedUser;
+        return user;
     }
 
     /**
@@ -141,11 +230,12 @@ public class UserServiceImpl implements UserServiceI {
     @Override
     public UserDTO editDescription(Long userId, String description) {
         User userEntity = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+                .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
 
         userEntity.setDescription(description);
 
         userRepository.save(userEntity);
+        userCache.invalidate(userEntity);
 
         return convertToDTO(userEntity);
     }
@@ -157,9 +247,10 @@ public class UserServiceImpl implements UserServiceI {
      * @return Lista de DTO de usuarios seguidos.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> getUsersFollowedByUser(Long userId) {
         User userEntity = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+                .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
 
         return userEntity.getFollowers().stream()
                 .map(follow -> convertToDTO(follow.getFollower()))
@@ -173,9 +264,10 @@ public class UserServiceImpl implements UserServiceI {
      * @return Lista de DTO de usuarios que siguen.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> getUsersFollowingUser(Long userId) {
         User userEntity = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+                .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
 
         return userEntity.getFollowing().stream()
                 .map(follow -> convertToDTO(follow.getFollowed()))
@@ -190,10 +282,8 @@ public class UserServiceImpl implements UserServiceI {
      */
     @Override
     public UserDTO getUserByUsername(String username) {
-        User userEntity = userRepository.findByUserName(username)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado " + username));
-
-        return convertToDTO(userEntity);
+        return userCache.getByUserName(username)
+                .orElseThrow(() -> new NotFoundException("Usuario no encontrado " + username));
     }
     
     /**
@@ -204,10 +294,41 @@ public class UserServiceImpl implements UserServiceI {
      */
     @Override
     public UserDTO getUserByUserId(Long userId) {
-    	User userEntity = userRepository.findById(userId)
-    			.orElseThrow(() -> new RuntimeException("Usuario no encontrado con ID: " + userId));
-    	
-    	return convertToDTO(userEntity);
+    	return userCache.getById(userId)
+    			.orElseThrow(() -> new NotFoundException("Usuario no encontrado con ID: " + userId));
+    }
+
+    /**
+     * Obtiene varios usuarios por su ID, usando la caché y una única consulta para los que falten.
+     *
+     * @param userIds IDs de los usuarios a buscar.
+     * @return DTO con los usuarios encontrados, en el orden pedido, y los IDs inexistentes.
+     */
+    @Override
+    public UserBatchDTO getUsersByUserIds(List<Long> userIds) {
+        Set<Long> requestedIds = new LinkedHashSet<>(userIds);
+        requestedIds.remove(null);
+        if (requestedIds.size() > bulkMaxUsers) {
+            throw new IllegalArgumentException("Se pueden pedir como máximo " + bulkMaxUsers + " usuarios");
+        }
+
+        Map<Long, UserDTO> found = userCache.getAllById(requestedIds);
+
+        List<UserDTO> users = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long userId : requestedIds) {
+            UserDTO user = found.get(userId);
+            if (user != null) {
+                users.add(user);
+            } else {
+                missingIds.add(userId);
+            }
+        }
+
+        UserBatchDTO batch = new UserBatchDTO();
+        batch.setUsers(users);
+        batch.setMissingIds(missingIds);
+        return batch;
     }
 
     /**
@@ -223,10 +344,10 @@ public class UserServiceImpl implements UserServiceI {
     public Map<String, String> editUserDetails(Long userId, String newDescription, String newEmail) {
         Map<String, String> result = new HashMap<>();
 
-        try {
-            User userEntity = userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        User userEntity = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
 
+        try {
             if (newDescription != null) {
                 userEntity.setDescription(newDescription);
                 result.put("newDescription", newDescription);
@@ -238,6 +359,8 @@ public class UserServiceImpl implements UserServiceI {
             }
 
             userRepository.save(userEntity);
+            userCache.invalidate(userEntity);
+            userAvailabilityService.markTaken(null, newEmail);
 
             return result;
         } catch (Exception e) {
@@ -252,6 +375,7 @@ public class UserServiceImpl implements UserServiceI {
      * @return Lista de DTO de todos los usuarios.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
         List<User> users = userRepository.findAll();
         
@@ -260,12 +384,51 @@ public class UserServiceImpl implements UserServiceI {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Obtiene todos los usuarios leyendo solo las columnas de los campos pedidos (el identificador siempre).
+     * La contraseña nunca se puede pedir.
+     *
+     * @param fields Campos de UserDTO que se devuelven.
+     * @return Lista de DTO con solo los campos pedidos.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDTO> getAllUsers(Set<String> fields) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        columns.put("userId", "userId");
+        for (String field : fields) {
+            if (UserDTO.FIELDS.contains(field)) {
+                columns.put(field, field);
+            }
+        }
+
+        return projectionRepository.findColumns(User.class, columns, null, null).stream()
+                .map(row -> {
+                    UserDTO userDTO = new UserDTO();
+                    userDTO.setUserId(row.get("userId", Long.class));
+                    if (columns.containsKey("userName")) {
+                        userDTO.setUserName(row.get("userName", String.class));
+                    }
+                    if (columns.containsKey("email")) {
+                        userDTO.setEmail(row.get("email", String.class));
+                    }
+                    if (columns.containsKey("description")) {
+                        userDTO.setDescription(row.get("description", String.class));
+                    }
+                    if (columns.containsKey("creationDate")) {
+                        userDTO.setCreationDate(row.get("creationDate", Date.class));
+                    }
+                    return userDTO;
+                })
+                .collect(Collectors.toList());
+    }
+
     /**
      * Cierra la sesión del usuario autenticado.
      */
     @Override
     public void logoutUser() {
-        authenticatedUser = null;
+        SecurityContextHolder.clearContext();
     }
 
     /**
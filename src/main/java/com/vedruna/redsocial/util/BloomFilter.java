@@ -0,0 +1,126 @@
+package com.vedruna.redsocial.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom concurrente sobre cadenas o valores long.
+ *
+ * Responde "seguro que no está" o "puede que esté". Las inserciones son atómicas por palabra de 64 bits,
+ * así que se puede consultar y añadir desde varios hilos sin bloqueos.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    /**
+     * Crea un filtro dimensionado para el número de elementos y la tasa de falsos positivos indicados.
+     *
+     * @param expectedInsertions Número esperado de elementos.
+     * @param falsePositiveRate  Tasa de falsos positivos deseada (entre 0 y 1).
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Parámetros del filtro de Bloom no válidos");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) >>> 6));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Añade un elemento al filtro.
+     *
+     * @param value Elemento a añadir.
+     */
+    public void put(String value) {
+        putHash(hash64(value));
+    }
+
+    /**
+     * Añade un valor long al filtro.
+     *
+     * @param value Valor a añadir.
+     */
+    public void put(long value) {
+        putHash(mix(value));
+    }
+
+    /**
+     * Indica si el elemento puede estar en el filtro.
+     *
+     * @param value Elemento a consultar.
+     * @return false si es seguro que el elemento nunca se añadió; true si puede que se añadiera.
+     */
+    public boolean mightContain(String value) {
+        return mightContainHash(hash64(value));
+    }
+
+    /**
+     * Indica si el valor long puede estar en el filtro.
+     *
+     * @param value Valor a consultar.
+     * @return false si es seguro que el valor nunca se añadió; true si puede que se añadiera.
+     */
+    public boolean mightContain(long value) {
+        return mightContainHash(mix(value));
+    }
+
+    private void putHash(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = bitIndex(h1 + i * h2);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.accumulateAndGet(word, mask, (current, m) -> current | m);
+            }
+        }
+    }
+
+    private boolean mightContainHash(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = bitIndex(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long bitIndex(int combinedHash) {
+        return (combinedHash & 0x7FFFFFFFL) % bitCount;
+    }
+
+    /**
+     * Hash de 64 bits: FNV-1a sobre los caracteres seguido del mezclador final de MurmurHash3.
+     */
+    private static long hash64(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Mezclador final de MurmurHash3: reparte cada bit de entrada por los 64 bits de salida.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,48 @@
+package com.vedruna.redsocial.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fábrica de ejecutores para tareas que bloquean en E/S (por ejemplo, consultas JDBC).
+ *
+ * Con hilos virtuales cada tarea se ejecuta en un hilo virtual propio; la concurrencia real hacia la base de
+ * datos la limita el pool de conexiones. Con hilos de plataforma se usa un pool acotado cuya cola, al llenarse,
+ * ejecuta la tarea en el hilo que la envía en lugar de rechazarla.
+ */
+public final class BoundedExecutors {
+
+    private BoundedExecutors() {
+    }
+
+    /**
+     * Crea un ejecutor para tareas bloqueantes.
+     *
+     * @param name           Prefijo del nombre de los hilos.
+     * @param maxThreads     Número máximo de hilos de plataforma.
+     * @param queueCapacity  Número máximo de tareas en espera con hilos de plataforma.
+     * @param virtualThreads Si es true, usa un hilo virtual por tarea.
+     * @return Ejecutor creado.
+     */
+    public static ExecutorService forBlockingTasks(String name, int maxThreads, int queueCapacity, boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory());
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,62 @@
+package com.vedruna.redsocial.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Resúmenes criptográficos del contenido de los DTO, para ETags y claves de caché, y de los tokens de
+ * autenticación, para guardarlos o indexarlos sin conservar el token.
+ *
+ * A diferencia de Objects.hash, que solo tiene 32 bits, dos contenidos distintos no comparten resumen en la
+ * práctica, así que un ETag nunca valida una representación que ha cambiado.
+ */
+public final class Digests {
+
+    private Digests() {
+    }
+
+    /**
+     * Calcula el SHA-256 de varios valores. Cada valor se precede de su longitud, de modo que ("ab", "c") y
+     * ("a", "bc") tienen resúmenes distintos; null se distingue de la cadena "null".
+     *
+     * @param values Valores a resumir, en orden.
+     * @return Resumen en Base64 URL sin relleno.
+     */
+    public static String sha256(Object... values) {
+        MessageDigest digest = newDigest();
+        for (Object value : values) {
+            if (value == null) {
+                digest.update((byte) 0);
+                continue;
+            }
+            byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+            digest.update((byte) 1);
+            digest.update(new byte[] {(byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16),
+                    (byte) (bytes.length >>> 8), (byte) bytes.length});
+            digest.update(bytes);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+    }
+
+    /**
+     * Calcula el SHA-256 de un token. Es el formato con el que se guardan los tokens de refresco, así que no
+     * debe cambiar.
+     *
+     * @param token Token en claro.
+     * @return Resumen en Base64 estándar con relleno.
+     */
+    public static String sha256Token(String token) {
+        byte[] digest = newDigest().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.vedruna.redsocial.util;
+
+import java.util.StringJoiner;
+
+import org.springframework.http.server.PathContainer;
+
+/**
+ * Normalización de rutas de petición tal como las compara Spring MVC con los controladores.
+ *
+ * Spring MVC descarta los parámetros de matriz (";x=1") y decodifica cada segmento antes de buscar el
+ * controlador, de modo que "/api/batch;x=1" y "/api/%62atch" llegan al mismo método que "/api/batch". Las
+ * comprobaciones que dependen de la ruta deben hacerse sobre la ruta normalizada.
+ */
+public final class RequestPaths {
+
+    private RequestPaths() {
+    }
+
+    /**
+     * Normaliza una ruta: separa los segmentos, quita sus parámetros de matriz, los decodifica y descarta los
+     * segmentos vacíos. Se ignora la cadena de consulta.
+     *
+     * @param path Ruta tal como llega, con o sin cadena de consulta.
+     * @return Ruta normalizada, que empieza por "/"; "/" si no tiene segmentos.
+     */
+    public static String normalize(String path) {
+        int query = path.indexOf('?');
+        String rawPath = query < 0 ? path : path.substring(0, query);
+        StringJoiner normalized = new StringJoiner("/", "/", "");
+        for (PathContainer.Element element : PathContainer.parsePath(rawPath).elements()) {
+            if (element instanceof PathContainer.PathSegment segment && !segment.valueToMatch().isEmpty()) {
+                normalized.add(segment.valueToMatch());
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package com.vedruna.redsocial.util;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import com.vedruna.redsocial.exception.UnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Agrupa las lecturas concurrentes de una misma clave en una única carga.
+ *
+ * La primera petición de una clave ejecuta la carga en su propio hilo y publica el resultado en un futuro; las
+ * que llegan mientras tanto esperan ese futuro como máximo el tiempo indicado y reciben el mismo resultado o la
+ * misma excepción. Al terminar la carga la clave se libera, de modo que no se guarda nada: solo se evita que
+ * una avalancha de peticiones idénticas lance la misma consulta a la vez.
+ *
+ * Los seguidores comparten la instancia devuelta por la carga, así que los valores no deben modificarse.
+ *
+ * Publica el contador "redsocial.singleflight.calls" con las etiquetas "name" y "result" (leader, shared o
+ * timeout) y el indicador "redsocial.singleflight.in-flight" con el número de cargas en curso.
+ *
+ * @param <K> Tipo de la clave.
+ * @param <V> Tipo del valor cargado.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final String name;
+
+    private final long timeoutNanos;
+
+    private final Counter leaders;
+
+    private final Counter shared;
+
+    private final Counter timeouts;
+
+    /**
+     * Crea un grupo de cargas.
+     *
+     * @param name          Nombre del grupo para las métricas.
+     * @param meterRegistry Registro de métricas.
+     * @param timeout       Tiempo máximo que una petición espera la carga de otra.
+     */
+    public SingleFlight(String name, MeterRegistry meterRegistry, Duration timeout) {
+        this.name = name;
+        this.timeoutNanos = timeout.toNanos();
+        this.leaders = meterRegistry.counter("redsocial.singleflight.calls", "name", name, "result", "leader");
+        this.shared = meterRegistry.counter("redsocial.singleflight.calls", "name", name, "result", "shared");
+        this.timeouts = meterRegistry.counter("redsocial.singleflight.calls", "name", name, "result", "timeout");
+        meterRegistry.gaugeMapSize("redsocial.singleflight.in-flight", Tags.of("name", name), inFlight);
+    }
+
+    /**
+     * Obtiene el valor de una clave, uniéndose a la carga en curso si la hay.
+     *
+     * @param key    Clave del valor.
+     * @param loader Carga del valor, solo se invoca si no hay otra en curso para la misma clave.
+     * @return Valor cargado.
+     * @throws UnavailableException Si la carga en curso no termina dentro del tiempo máximo.
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(key, existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V await(K key, CompletableFuture<V> future) {
+        try {
+            V value = future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            shared.increment();
+            return value;
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new UnavailableException("Tiempo de espera agotado en " + name + " para " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnavailableException("Espera interrumpida en " + name + " para " + key);
+        } catch (ExecutionException e) {
+            shared.increment();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.vedruna.redsocial.util;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Utilidades para el parámetro "fields=" de los listados, que limita los campos devueltos de cada DTO.
+ *
+ * Los DTO que admiten subconjuntos de campos llevan el filtro FILTER_ID, que JacksonFiltersConfig les asigna en
+ * los ObjectMapper de la aplicación. Sin campos pedidos se serializan completos; con ellos, SparseFieldsAdvice
+ * solo escribe los campos pedidos.
+ */
+public final class SparseFieldsets {
+
+    /**
+     * Identificador del filtro Jackson de los DTO.
+     */
+    public static final String FILTER_ID = "fields";
+
+    private static final String SELECTED_ATTRIBUTE = SparseFieldsets.class.getName() + ".SELECTED";
+
+    private SparseFieldsets() {
+    }
+
+    /**
+     * Proveedor de filtros por defecto del ObjectMapper: sin filtro, todos los campos.
+     *
+     * @return Proveedor de filtros que no falla con identificadores desconocidos.
+     */
+    public static FilterProvider defaultFilters() {
+        return new SimpleFilterProvider().setFailOnUnknownId(false);
+    }
+
+    /**
+     * Interpreta el parámetro "fields=".
+     *
+     * @param fields  Nombres de campos separados por comas.
+     * @param allowed Campos que se pueden pedir.
+     * @return Campos pedidos, en el orden recibido.
+     * @throws IllegalArgumentException Si no se pide ningún campo o alguno no existe.
+     */
+    public static Set<String> parse(String fields, Collection<String> allowed) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Campo desconocido: " + name
+                        + ". Campos admitidos: " + String.join(",", allowed));
+            }
+            selected.add(name);
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("El parámetro fields no contiene ningún campo");
+        }
+        return selected;
+    }
+
+    /**
+     * Interpreta el parámetro "fields=" y guarda los campos en la petición actual, para que la respuesta solo
+     * serialice esos campos.
+     *
+     * @param fields  Nombres de campos separados por comas.
+     * @param allowed Campos que se pueden pedir.
+     * @return Campos pedidos, en el orden recibido.
+     * @throws IllegalArgumentException Si no se pide ningún campo o alguno no existe.
+     */
+    public static Set<String> select(String fields, Collection<String> allowed) {
+        Set<String> selected = parse(fields, allowed);
+        RequestContextHolder.currentRequestAttributes().setAttribute(SELECTED_ATTRIBUTE, selected,
+                RequestAttributes.SCOPE_REQUEST);
+        return selected;
+    }
+
+    /**
+     * Obtiene los campos pedidos en la petición actual.
+     *
+     * @return Campos pedidos, o null si la petición no limita los campos.
+     */
+    @SuppressWarnings("unchecked")
+    public static Set<String> selected() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null
+                : (Set<String>) attributes.getAttribute(SELECTED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * Proveedor de filtros que solo deja pasar los campos pedidos.
+     *
+     * @param fields Campos que se serializan.
+     * @return Proveedor de filtros.
+     */
+    public static FilterProvider only(Set<String> fields) {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+}
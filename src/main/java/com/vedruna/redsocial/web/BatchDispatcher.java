@@ -0,0 +1,375 @@
+package com.vedruna.redsocial.web;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.vedruna.redsocial.dto.BatchItemDTO;
+import com.vedruna.redsocial.dto.BatchResultDTO;
+import com.vedruna.redsocial.sc.security.ratelimit.RateLimitFilter;
+import com.vedruna.redsocial.util.BoundedExecutors;
+import com.vedruna.redsocial.util.RequestPaths;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ejecuta las subpeticiones de /api/batch directamente contra el DispatcherServlet.
+ *
+ * La petición /api/batch ya ha pasado la cadena de filtros de seguridad (JWT, autorización y límite de ritmo),
+ * de modo que las subpeticiones no vuelven a pasarla: se ejecutan en un ejecutor acotado con el mismo contexto
+ * de seguridad. Por eso solo se admiten rutas de la API que exigen autenticación, y cada subpetición consume
+ * permisos del límite de ritmo como si llegara sola. Las rutas se comprueban normalizadas como las compara
+ * Spring MVC, y las subpeticiones llevan el atributo SUB_REQUEST_ATTRIBUTE para que BatchController rechace un
+ * batch anidado aunque su ruta se haya escrito de otra forma.
+ *
+ * Las subpeticiones se consideran independientes y se ejecutan en paralelo; los resultados se devuelven en el
+ * orden de la petición, cada uno con su estado HTTP. El paralelismo está acotado con semáforos, también con hilos
+ * virtuales: un máximo global de subpeticiones en curso y otro por batch. Si el límite de concurrencia está
+ * activo, cada subpetición ocupa además un hueco de ConcurrencyLimitFilter como si fuera una petición más. La
+ * subpetición que no consigue hueco antes del tiempo máximo del batch recibe 503 con Retry-After.
+ */
+@Slf4j
+@Component
+public class BatchDispatcher {
+
+    /**
+     * Atributo presente en las peticiones que ejecuta este despachador.
+     */
+    public static final String SUB_REQUEST_ATTRIBUTE = BatchDispatcher.class.getName() + ".SUB_REQUEST";
+
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "DELETE");
+
+    /**
+     * Rutas de la API que no se pueden anidar: el propio batch y las que emiten credenciales.
+     */
+    private static final Set<String> EXCLUDED_PATHS = Set.of("/api/batch", "/api/login", "/api/register");
+
+    private final DispatcherServlet dispatcherServlet;
+
+    private final RateLimitFilter rateLimitFilter;
+
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService executor;
+
+    /**
+     * Subpeticiones en curso entre todos los batches.
+     */
+    private final Semaphore permits;
+
+    private final int maxRequests;
+
+    private final int parallelism;
+
+    private final long timeoutMs;
+
+    /**
+     * Constructor de la clase BatchDispatcher.
+     *
+     * @param dispatcherServlet DispatcherServlet de la aplicación.
+     * @param rateLimitFilter   Filtro de límite de ritmo, para las escrituras.
+     * @param concurrencyLimitFilter Filtro de límite de concurrencia, si está activo.
+     * @param objectMapper      ObjectMapper de la aplicación.
+     * @param meterRegistry     Registro de métricas.
+     * @param maxRequests       Número máximo de subpeticiones por batch.
+     * @param parallelism       Número máximo de subpeticiones de un mismo batch en curso a la vez.
+     * @param threads           Número máximo de subpeticiones en curso entre todos los batches, y de hilos de
+     *                          plataforma del ejecutor.
+     * @param queueCapacity     Número máximo de subpeticiones en espera con hilos de plataforma.
+     * @param timeoutMs         Milisegundos máximos para completar todas las subpeticiones.
+     * @param virtualThreads    Si es true, cada subpetición se ejecuta en un hilo virtual.
+     */
+    @Autowired
+    public BatchDispatcher(DispatcherServlet dispatcherServlet, RateLimitFilter rateLimitFilter,
+            ObjectProvider<ConcurrencyLimitFilter> concurrencyLimitFilter,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${redsocial.batch.max-requests:20}") int maxRequests,
+            @Value("${redsocial.batch.parallelism:4}") int parallelism,
+            @Value("${redsocial.batch.threads:16}") int threads,
+            @Value("${redsocial.batch.queue-capacity:200}") int queueCapacity,
+            @Value("${redsocial.batch.timeout-ms:10000}") long timeoutMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.rateLimitFilter = rateLimitFilter;
+        this.concurrencyLimitFilter = concurrencyLimitFilter.getIfAvailable();
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.executor = BoundedExecutors.forBlockingTasks("batch", threads, queueCapacity, virtualThreads);
+        this.permits = new Semaphore(threads, true);
+        this.maxRequests = maxRequests;
+        this.parallelism = Math.max(1, parallelism);
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Detiene el ejecutor al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Ejecuta las subpeticiones y espera a que terminen todas o a que venza el tiempo máximo.
+     *
+     * @param items    Subpeticiones.
+     * @param request  Petición /api/batch.
+     * @param response Respuesta /api/batch.
+     * @return Resultado de cada subpetición, en el mismo orden.
+     */
+    public List<BatchResultDTO> dispatch(List<BatchItemDTO> items, HttpServletRequest request, HttpServletResponse response) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("El batch no contiene subpeticiones");
+        }
+        if (items.size() > maxRequests) {
+            throw new IllegalArgumentException("Se pueden enviar como máximo " + maxRequests + " subpeticiones por batch");
+        }
+        meterRegistry.summary("redsocial.batch.size").record(items.size());
+
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        Semaphore batchPermits = new Semaphore(parallelism);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<BatchResultDTO> results = new ArrayList<>(items.size());
+        List<Future<BatchResultDTO>> futures = new ArrayList<>(items.size());
+        List<Slot> slots = new ArrayList<>(items.size());
+
+        for (BatchItemDTO item : items) {
+            BatchResultDTO rejected = validate(item, request);
+            Slot slot = rejected != null ? null : acquire(batchPermits, deadline);
+            if (rejected == null && slot == null) {
+                rejected = unavailable(item);
+            }
+            results.add(rejected);
+            slots.add(slot);
+            futures.add(slot == null ? null : executor.submit(new DelegatingSecurityContextCallable<>(
+                    () -> run(item, request, response, slot), securityContext)));
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            Future<BatchResultDTO> future = futures.get(i);
+            if (future != null) {
+                results.set(i, await(future, items.get(i), slots.get(i), deadline));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Comprueba que la subpetición se puede ejecutar.
+     *
+     * @return Resultado de error, o null si la subpetición es válida.
+     */
+    private BatchResultDTO validate(BatchItemDTO item, HttpServletRequest request) {
+        String method = item.getMethod() == null ? "GET" : item.getMethod().toUpperCase(Locale.ROOT);
+        item.setMethod(method);
+        String path = item.getPath();
+
+        if (!METHODS.contains(method)) {
+            return error(item, HttpStatus.METHOD_NOT_ALLOWED, "Método no admitido en un batch: " + method);
+        }
+        String normalized = normalize(path);
+        if (normalized == null || !normalized.startsWith("/api/") || path.contains("..")) {
+            return error(item, HttpStatus.BAD_REQUEST, "Ruta no admitida en un batch: " + path);
+        }
+        long waitNanos = rateLimitFilter.tryAcquire(request, method, normalized);
+        if (waitNanos > 0) {
+            return new BatchResultDTO(item.getId(), HttpStatus.TOO_MANY_REQUESTS.value(),
+                    Map.of(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimitFilter.retryAfterSeconds(waitNanos))),
+                    TextNode.valueOf("Too Many Requests"));
+        }
+        if (EXCLUDED_PATHS.contains(normalized)) {
+            return error(item, HttpStatus.BAD_REQUEST, "Ruta no admitida en un batch: " + path);
+        }
+        return null;
+    }
+
+    /**
+     * Normaliza la ruta de una subpetición como lo hace Spring MVC antes de buscar el controlador.
+     *
+     * @return Ruta normalizada, o null si falta o no se puede decodificar.
+     */
+    private static String normalize(String path) {
+        if (path == null) {
+            return null;
+        }
+        try {
+            String normalized = RequestPaths.normalize(path);
+            return normalized.contains("/../") || normalized.endsWith("/..") ? null : normalized;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reserva los huecos de una subpetición: del batch, global y del límite de concurrencia, esperando como mucho
+     * hasta el final del batch.
+     *
+     * @return Huecos reservados, o null si no se han conseguido a tiempo.
+     */
+    private Slot acquire(Semaphore batchPermits, long deadline) {
+        try {
+            if (!batchPermits.tryAcquire(remaining(deadline), TimeUnit.NANOSECONDS)) {
+                return null;
+            }
+            if (!permits.tryAcquire(remaining(deadline), TimeUnit.NANOSECONDS)) {
+                batchPermits.release();
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (concurrencyLimitFilter != null && !concurrencyLimitFilter.tryAcquire(remaining(deadline))) {
+            permits.release();
+            batchPermits.release();
+            return null;
+        }
+        return new Slot(batchPermits);
+    }
+
+    /**
+     * Ejecuta la subpetición si no se ha abandonado antes de empezar, y libera sus huecos al terminar.
+     */
+    private BatchResultDTO run(BatchItemDTO item, HttpServletRequest request, HttpServletResponse response, Slot slot) throws Exception {
+        if (!slot.claim()) {
+            return null;
+        }
+        try {
+            return execute(item, request, response);
+        } finally {
+            slot.release();
+        }
+    }
+
+    /**
+     * Ejecuta una subpetición en el DispatcherServlet y recoge su respuesta.
+     */
+    private BatchResultDTO execute(BatchItemDTO item, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        byte[] body = item.getBody() == null || item.getBody().isNull() ? new byte[0] : objectMapper.writeValueAsBytes(item.getBody());
+        BatchServletRequest subRequest = new BatchServletRequest(request, item.getMethod(), item.getPath(), item.getHeaders(), body);
+        BatchServletResponse subResponse = new BatchServletResponse(response);
+
+        dispatcherServlet.service(subRequest, subResponse);
+
+        return new BatchResultDTO(item.getId(), subResponse.getStatus(), subResponse.getFirstHeaders(),
+                readBody(subResponse));
+    }
+
+    private BatchResultDTO await(Future<BatchResultDTO> future, BatchItemDTO item, Slot slot, long deadline) {
+        try {
+            return future.get(remaining(deadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            slot.abandon();
+            return error(item, HttpStatus.GATEWAY_TIMEOUT, "La subpetición no terminó a tiempo");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            slot.abandon();
+            return error(item, HttpStatus.SERVICE_UNAVAILABLE, "Batch interrumpido");
+        } catch (ExecutionException e) {
+            log.error("Error during batch item " + item.getMethod() + " " + item.getPath() + ": " + e.getCause().getMessage(), e.getCause());
+            return error(item, HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error");
+        }
+    }
+
+    /**
+     * Incrusta el cuerpo como JSON si la subpetición respondió JSON, o como texto en otro caso.
+     */
+    private JsonNode readBody(BatchServletResponse subResponse) throws IOException {
+        byte[] content = subResponse.getContentAsByteArray();
+        if (content.length == 0) {
+            return null;
+        }
+        String contentType = subResponse.getContentType();
+        if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            try {
+                return objectMapper.readTree(content);
+            } catch (JsonProcessingException e) {
+                // Algunos errores se escriben como texto aunque se anuncien como JSON.
+            }
+        }
+        return TextNode.valueOf(new String(content, StandardCharsets.UTF_8));
+    }
+
+    private static BatchResultDTO error(BatchItemDTO item, HttpStatus status, String message) {
+        return new BatchResultDTO(item.getId(), status.value(), Map.of(), TextNode.valueOf(message));
+    }
+
+    private static BatchResultDTO unavailable(BatchItemDTO item) {
+        return new BatchResultDTO(item.getId(), HttpStatus.SERVICE_UNAVAILABLE.value(),
+                Map.of(HttpHeaders.RETRY_AFTER, "1"), TextNode.valueOf("Service Unavailable"));
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    /**
+     * Huecos reservados por una subpetición. Los libera la tarea al terminar o, si se abandona antes de que
+     * empiece, quien la abandona; nunca los dos.
+     */
+    private final class Slot {
+
+        private final Semaphore batchPermits;
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Slot(Semaphore batchPermits) {
+            this.batchPermits = batchPermits;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        private void abandon() {
+            if (claim()) {
+                release();
+            }
+        }
+
+        private void release() {
+            if (concurrencyLimitFilter != null) {
+                concurrencyLimitFilter.release();
+            }
+            permits.release();
+            batchPermits.release();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.vedruna.redsocial.web;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Conversores binarios (CBOR y Smile) para la negociación de contenido de la API.
+ *
+ * Se construyen con el Jackson2ObjectMapperBuilder de Spring Boot, de modo que aplican la misma configuración
+ * "spring.jackson.*" que el conversor JSON y los DTO tienen el mismo esquema en los tres formatos. Al
+ * declararlos como beans sustituyen a los conversores por defecto de Spring MVC, que usan un ObjectMapper sin
+ * esa configuración. JSON sigue siendo el formato por defecto; el cliente pide CBOR con
+ * "Accept: application/cbor" y Smile con "Accept: application/x-jackson-smile".
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    /**
+     * Conversor CBOR (RFC 8949).
+     *
+     * @param builder Builder de ObjectMapper configurado por Spring Boot.
+     * @return Conversor CBOR.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory())
+                .featuresToDisable(SerializationFeature.INDENT_OUTPUT)
+                .build());
+    }
+
+    /**
+     * Conversor Smile (JSON binario de Jackson).
+     *
+     * @param builder Builder de ObjectMapper configurado por Spring Boot.
+     * @return Conversor Smile.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory())
+                .featuresToDisable(SerializationFeature.INDENT_OUTPUT)
+                .build());
+    }
+}
@@ -0,0 +1,129 @@
+package com.vedruna.redsocial.web;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro que limita el número de peticiones de la API en curso en función del tamaño del pool de conexiones.
+ *
+ * Con hilos virtuales el servidor acepta tantas peticiones como lleguen y todas acaban esperando una conexión
+ * de Hikari hasta agotar su timeout. Este filtro deja pasar como mucho "conexiones x peticiones por conexión"
+ * a la vez; el resto espera un tiempo acotado y, si no hay hueco, recibe 503 con Retry-After.
+ *
+ * Se registra justo antes de la cadena de Spring Security, para que las peticiones que esperan o se rechazan no
+ * lleguen a verificar el JWT.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+@ConditionalOnProperty(name = "redsocial.concurrency.limit-enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+
+    private final long acquireTimeoutMs;
+
+    private final Counter rejected;
+
+    /**
+     * Constructor de la clase ConcurrencyLimitFilter.
+     *
+     * @param meterRegistry         Registro de métricas.
+     * @param poolSize              Tamaño máximo del pool de conexiones.
+     * @param requestsPerConnection Peticiones en curso admitidas por cada conexión del pool.
+     * @param acquireTimeoutMs      Milisegundos máximos de espera por un hueco.
+     */
+    @Autowired
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry,
+            @Value("${spring.datasource.hikari.maximum-pool-size:20}") int poolSize,
+            @Value("${redsocial.concurrency.requests-per-connection:4}") int requestsPerConnection,
+            @Value("${redsocial.concurrency.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        int maxInFlight = Math.max(1, poolSize * requestsPerConnection);
+        this.permits = new Semaphore(maxInFlight, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.rejected = Counter.builder("redsocial.concurrency.rejected").register(meterRegistry);
+        meterRegistry.gauge("redsocial.concurrency.in-flight", permits, semaphore -> maxInFlight - semaphore.availablePermits());
+    }
+
+    /**
+     * Solo se limitan las rutas de la API.
+     *
+     * @param request La solicitud HTTP entrante.
+     * @return true si la petición no pasa por el límite.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getServletPath().startsWith("/api/") && !request.getServletPath().startsWith("/auth/");
+    }
+
+    /**
+     * Reserva un hueco para la petición mientras se procesa.
+     *
+     * @param request     La solicitud HTTP entrante.
+     * @param response    La respuesta HTTP que se enviará al cliente.
+     * @param filterChain Cadena de filtros para pasar la solicitud al siguiente filtro.
+     * @throws ServletException Si ocurre un error durante el procesamiento de la solicitud.
+     * @throws IOException      Si ocurre un error de entrada/salida durante el procesamiento de la solicitud.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!tryAcquire(Long.MAX_VALUE)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Reserva un hueco esperando como mucho el tiempo configurado. Lo usan también las subpeticiones de
+     * /api/batch, que no vuelven a pasar por este filtro.
+     *
+     * @param maxWaitNanos Nanosegundos máximos de espera, si son menos que el tiempo configurado.
+     * @return true si se ha reservado el hueco; en ese caso hay que liberarlo con {@link #release()}.
+     */
+    public boolean tryAcquire(long maxWaitNanos) {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(Math.min(TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMs), maxWaitNanos),
+                    TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.increment();
+        }
+        return acquired;
+    }
+
+    /**
+     * Libera un hueco reservado con {@link #tryAcquire(long)}.
+     */
+    public void release() {
+        permits.release();
+    }
+}
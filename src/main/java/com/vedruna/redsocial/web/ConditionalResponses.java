@@ -0,0 +1,75 @@
+package com.vedruna.redsocial.web;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Construye respuestas para peticiones GET condicionales (If-None-Match).
+ *
+ * La versión del recurso se calcula antes que su cuerpo con consultas ligeras; si coincide con el ETag que
+ * envía el cliente se responde 304 sin construir ni serializar el cuerpo. Las respuestas llevan
+ * "Cache-Control: private, no-cache" para que los clientes las guarden pero las revaliden siempre, y
+ * "Vary: Accept" porque un mismo recurso puede servirse en JSON, CBOR o Smile.
+ *
+ * Los ETag son débiles: la versión no depende del formato negociado, y las representaciones de una misma
+ * versión en JSON, CBOR o Smile son equivalentes pero no idénticas byte a byte.
+ *
+ * Cada respuesta incrementa el contador "redsocial.http.conditional" con las etiquetas "endpoint" y
+ * "result" (not_modified o modified), de modo que se puede seguir la tasa de 304 por endpoint.
+ */
+@Component
+public class ConditionalResponses {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor de la clase ConditionalResponses.
+     *
+     * @param meterRegistry Registro de métricas.
+     */
+    @Autowired
+    public ConditionalResponses(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Responde 304 si el ETag del cliente coincide con la versión actual, o 200 con el cuerpo en caso contrario.
+     *
+     * @param request  Petición web actual.
+     * @param endpoint Nombre del endpoint para las métricas.
+     * @param etag     ETag débil de la versión actual del recurso.
+     * @param body     Proveedor del cuerpo, solo se invoca si el recurso ha cambiado.
+     * @param <T>      Tipo del cuerpo de la respuesta.
+     * @return Respuesta 304 sin cuerpo o 200 con el cuerpo, ambas con el ETag.
+     */
+    public <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String endpoint, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            meterRegistry.counter("redsocial.http.conditional", "endpoint", endpoint, "result", "not_modified").increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        meterRegistry.counter("redsocial.http.conditional", "endpoint", endpoint, "result", "modified").increment();
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(body.get());
+    }
+
+    /**
+     * Construye un ETag débil: el cuerpo es equivalente para la misma versión, aunque no idéntico.
+     *
+     * @param version Versión del recurso.
+     * @return ETag débil entre comillas.
+     */
+    public static String weak(String version) {
+        return "W/\"" + version + "\"";
+    }
+}
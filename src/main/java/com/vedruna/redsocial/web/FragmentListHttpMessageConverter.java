@@ -0,0 +1,99 @@
+package com.vedruna.redsocial.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.vedruna.redsocial.dto.CacheableFragment;
+import com.vedruna.redsocial.util.SparseFieldsets;
+
+/**
+ * Conversor que escribe las listas de DTO cacheables uniendo sus fragmentos JSON ya serializados, sin volver a
+ * pasar cada elemento por Jackson. Solo escribe; la lectura la sigue haciendo el conversor de Jackson.
+ */
+public class FragmentListHttpMessageConverter extends AbstractGenericHttpMessageConverter<Collection<?>> {
+
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    private final JsonFragmentCache fragmentCache;
+
+    /**
+     * Constructor de la clase FragmentListHttpMessageConverter.
+     *
+     * @param fragmentCache Caché de fragmentos JSON.
+     */
+    public FragmentListHttpMessageConverter(JsonFragmentCache fragmentCache) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.fragmentCache = fragmentCache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Collection.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * Solo acepta colecciones cuyo tipo de elemento declarado implementa CacheableFragment. Las respuestas con
+     * "fields=" no usan los fragmentos, que llevan todos los campos, y las escribe el conversor de Jackson.
+     */
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (type == null || !supports(clazz) || !canWrite(mediaType) || SparseFieldsets.selected() != null) {
+            return false;
+        }
+        Class<?> elementType = ResolvableType.forType(type).asCollection().resolveGeneric(0);
+        return elementType != null && CacheableFragment.class.isAssignableFrom(elementType);
+    }
+
+    /**
+     * Sin el tipo genérico no se puede saber si los elementos son cacheables.
+     */
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Collection<?> items, Type type, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = outputMessage.getBody();
+        body.write('[');
+        boolean first = true;
+        for (Object item : items) {
+            if (!first) {
+                body.write(',');
+            }
+            first = false;
+            body.write(item == null ? NULL : fragmentCache.fragment((CacheableFragment) item));
+        }
+        body.write(']');
+        body.flush();
+    }
+
+    @Override
+    public Collection<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("FragmentListHttpMessageConverter solo escribe", inputMessage);
+    }
+
+    @Override
+    protected Collection<?> readInternal(Class<? extends Collection<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("FragmentListHttpMessageConverter solo escribe", inputMessage);
+    }
+}
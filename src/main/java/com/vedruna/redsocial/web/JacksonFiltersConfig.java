@@ -0,0 +1,42 @@
+package com.vedruna.redsocial.web;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.vedruna.redsocial.dto.PublicationDTO;
+import com.vedruna.redsocial.dto.UserDTO;
+import com.vedruna.redsocial.util.SparseFieldsets;
+
+/**
+ * Único punto donde se configura el filtro de campos de Jackson: asigna el filtro a los DTO que admiten
+ * "fields=" y registra el proveedor de filtros por defecto en todos los ObjectMapper de Spring Boot (JSON, CBOR,
+ * Smile y la caché de fragmentos).
+ *
+ * El filtro se asigna con un mixin en lugar de anotar los DTO, de modo que cualquier otro ObjectMapper los
+ * serializa completos sin necesidad de configurar nada.
+ */
+@Configuration
+public class JacksonFiltersConfig {
+
+    /**
+     * Personalización del Jackson2ObjectMapperBuilder de Spring Boot.
+     *
+     * @return Personalización que asigna el filtro a los DTO y añade el proveedor de filtros por defecto.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsetsCustomizer() {
+        return builder -> builder
+                .mixIn(PublicationDTO.class, SparseFieldsMixin.class)
+                .mixIn(UserDTO.class, SparseFieldsMixin.class)
+                .filters(SparseFieldsets.defaultFilters());
+    }
+
+    /**
+     * Mixin que asigna el filtro de campos.
+     */
+    @JsonFilter(SparseFieldsets.FILTER_ID)
+    interface SparseFieldsMixin {
+    }
+}
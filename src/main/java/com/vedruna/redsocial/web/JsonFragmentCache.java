@@ -0,0 +1,79 @@
+package com.vedruna.redsocial.web;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vedruna.redsocial.dto.CacheableFragment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caché de fragmentos JSON ya serializados (UTF-8) de los DTO más consultados, por identificador y versión.
+ *
+ * Los fragmentos se generan con el ObjectMapper de la aplicación, de modo que son idénticos a lo que
+ * produciría Jackson para cada elemento. La caché está acotada por bytes y publica sus métricas como
+ * "cache.*" con el nombre "json.fragments".
+ */
+@Component
+@ConditionalOnProperty(name = "redsocial.json.fragments.enabled", havingValue = "true", matchIfMissing = true)
+public class JsonFragmentCache {
+
+    private final ObjectWriter writer;
+
+    private final Cache<String, byte[]> fragments;
+
+    /**
+     * Constructor de la clase JsonFragmentCache.
+     *
+     * @param objectMapper  ObjectMapper de la aplicación.
+     * @param meterRegistry Registro de métricas.
+     * @param maximumBytes  Tamaño máximo de la caché en bytes.
+     */
+    @Autowired
+    public JsonFragmentCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${redsocial.json.fragments.maximum-bytes:33554432}") long maximumBytes) {
+        this(objectMapper, maximumBytes);
+        CaffeineCacheMetrics.monitor(meterRegistry, fragments, "json.fragments");
+    }
+
+    /**
+     * Constructor de la clase JsonFragmentCache sin métricas.
+     *
+     * @param objectMapper ObjectMapper con el que se serializan los fragmentos.
+     * @param maximumBytes Tamaño máximo de la caché en bytes.
+     */
+    public JsonFragmentCache(ObjectMapper objectMapper, long maximumBytes) {
+        this.writer = objectMapper.writer();
+        this.fragments = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((String key, byte[] fragment) -> key.length() * 2 + fragment.length)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Obtiene el fragmento JSON de un DTO, serializándolo solo si su versión actual no está en caché.
+     *
+     * @param value DTO a serializar.
+     * @return Bytes UTF-8 del objeto JSON.
+     */
+    public byte[] fragment(CacheableFragment value) {
+        return fragments.get(value.fragmentKey(), key -> serialize(value));
+    }
+
+    private byte[] serialize(CacheableFragment value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("No se pudo serializar el fragmento JSON de " + value.fragmentKey(), e);
+        }
+    }
+}
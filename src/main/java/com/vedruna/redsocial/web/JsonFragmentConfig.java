@@ -0,0 +1,39 @@
+package com.vedruna.redsocial.web;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra el conversor de listas por fragmentos por delante del conversor de Jackson.
+ */
+@Configuration
+@ConditionalOnProperty(name = "redsocial.json.fragments.enabled", havingValue = "true", matchIfMissing = true)
+public class JsonFragmentConfig implements WebMvcConfigurer {
+
+    private final JsonFragmentCache fragmentCache;
+
+    /**
+     * Constructor de la clase JsonFragmentConfig.
+     *
+     * @param fragmentCache Caché de fragmentos JSON.
+     */
+    @Autowired
+    public JsonFragmentConfig(JsonFragmentCache fragmentCache) {
+        this.fragmentCache = fragmentCache;
+    }
+
+    /**
+     * Añade el conversor en primera posición para que se elija antes que MappingJackson2HttpMessageConverter.
+     *
+     * @param converters Conversores configurados.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new FragmentListHttpMessageConverter(fragmentCache));
+    }
+}
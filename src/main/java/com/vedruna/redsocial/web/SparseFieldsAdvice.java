@@ -0,0 +1,30 @@
+package com.vedruna.redsocial.web;
+
+import java.util.Set;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import com.vedruna.redsocial.util.SparseFieldsets;
+
+/**
+ * Aplica a la respuesta los campos pedidos con "fields=" (ver {@link SparseFieldsets#select}). Actúa sobre
+ * cualquier conversor de Jackson, así que vale igual para JSON, CBOR y Smile.
+ */
+@ControllerAdvice
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+            MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+        Set<String> fields = SparseFieldsets.selected();
+        if (fields != null) {
+            bodyContainer.setFilters(SparseFieldsets.only(fields));
+        }
+    }
+}
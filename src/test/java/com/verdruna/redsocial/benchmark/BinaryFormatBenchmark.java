@@ -0,0 +1,137 @@
+package com.verdruna.redsocial.benchmark;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.vedruna.redsocial.dto.CommentDTO;
+import com.vedruna.redsocial.dto.PublicationDTO;
+
+/**
+ * Benchmark JMH de una página del feed en JSON, CBOR y Smile: serialización y lectura por segundo. El tamaño de
+ * cada representación se imprime al preparar el benchmark.
+ *
+ * Se ejecuta con:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.verdruna.redsocial.benchmark.BinaryFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    private static final TypeReference<List<PublicationDTO>> PAGE_TYPE = new TypeReference<List<PublicationDTO>>() { };
+
+    @Param({"20", "200"})
+    private int pageSize;
+
+    private ObjectMapper jsonMapper;
+
+    private ObjectMapper cborMapper;
+
+    private ObjectMapper smileMapper;
+
+    private List<PublicationDTO> page;
+
+    private byte[] json;
+
+    private byte[] cbor;
+
+    private byte[] smile;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+        smileMapper = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+
+        page = new ArrayList<>(pageSize);
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= pageSize; id++) {
+            PublicationDTO publication = new PublicationDTO();
+            publication.setPublicationId(id);
+            publication.setAuthorId(id % 17);
+            publication.setText("Texto de la publicación número " + id + " con algo de contenido para serializar.");
+            publication.setCreationDate(now.minusMinutes(id));
+            publication.setEditionDate(now.minusMinutes(id));
+            publication.setReactionCount(id * 3);
+            List<CommentDTO> comments = new ArrayList<>();
+            for (int c = 0; c < 3; c++) {
+                CommentDTO comment = new CommentDTO();
+                comment.setUserId((long) c);
+                comment.setPublicationId(id);
+                comment.setText("Comentario " + c);
+                comment.setCreationDate(now.minusSeconds(c));
+                comments.add(comment);
+            }
+            publication.setLatestComments(comments);
+            publication.setCommentCount(12L);
+            page.add(publication);
+        }
+
+        json = jsonMapper.writeValueAsBytes(page);
+        cbor = cborMapper.writeValueAsBytes(page);
+        smile = smileMapper.writeValueAsBytes(page);
+        System.out.printf("%n%d publicaciones: JSON %d bytes, CBOR %d bytes (%.0f%%), Smile %d bytes (%.0f%%)%n",
+                pageSize, json.length, cbor.length, 100.0 * cbor.length / json.length,
+                smile.length, 100.0 * smile.length / json.length);
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws IOException {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writeCbor() throws IOException {
+        return cborMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writeSmile() throws IOException {
+        return smileMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<PublicationDTO> readJson() throws IOException {
+        return jsonMapper.readValue(json, PAGE_TYPE);
+    }
+
+    @Benchmark
+    public List<PublicationDTO> readCbor() throws IOException {
+        return cborMapper.readValue(cbor, PAGE_TYPE);
+    }
+
+    @Benchmark
+    public List<PublicationDTO> readSmile() throws IOException {
+        return smileMapper.readValue(smile, PAGE_TYPE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BinaryFormatBenchmark.class.getSimpleName()).build()).run();
+    }
+}
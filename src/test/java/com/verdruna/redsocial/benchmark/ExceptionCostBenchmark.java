@@ -0,0 +1,71 @@
+package com.verdruna.redsocial.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.vedruna.redsocial.exception.NotFoundException;
+
+/**
+ * Benchmark JMH del coste de lanzar y capturar un error de "no encontrado" con RuntimeException (que rellena la
+ * traza de la pila) frente a NotFoundException (sin traza). La profundidad simula la pila de una petición que
+ * atraviesa filtros, controlador y servicio.
+ *
+ * Se ejecuta con:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.verdruna.redsocial.benchmark.ExceptionCostBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionCostBenchmark {
+
+    @Param({"10", "120"})
+    private int depth;
+
+    @Benchmark
+    public String runtimeException() {
+        try {
+            return descend(depth, false);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String notFoundException() {
+        try {
+            return descend(depth, true);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String descend(int remaining, boolean typed) {
+        if (remaining == 0) {
+            if (typed) {
+                throw new NotFoundException("Publicación no encontrada");
+            }
+            throw new RuntimeException("Publicación no encontrada");
+        }
+        return descend(remaining - 1, typed);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ExceptionCostBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,80 @@
+package com.verdruna.redsocial.benchmark;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.vedruna.redsocial.sc.model.Role;
+import com.vedruna.redsocial.sc.model.SecurityUser;
+import com.vedruna.redsocial.sc.security.auth.services.JWTService;
+
+/**
+ * Benchmark JMH del análisis y la validación de tokens en JWTService.
+ *
+ * Se ejecuta con:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.verdruna.redsocial.benchmark.JWTServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JWTServiceBenchmark {
+
+    private JWTService jwtService;
+
+    private JWTService uncachedJwtService;
+
+    private SecurityUser user;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[32];
+        Arrays.fill(secret, (byte) 7);
+        jwtService = new JWTService(Base64.getEncoder().encodeToString(secret), 10_000, Duration.ofHours(1));
+        uncachedJwtService = new JWTService(Base64.getEncoder().encodeToString(secret), 0, Duration.ofHours(1));
+
+        user = new SecurityUser("benchmark", "Bench", "Mark", "ES", "password", Role.USER);
+        user.setId(1L);
+        token = jwtService.getToken(user);
+    }
+
+    @Benchmark
+    public String parseUsername() {
+        return jwtService.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.isTokenValid(jwtService.verifyToken(token), user);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncachedJwtService.isTokenValid(uncachedJwtService.verifyToken(token), user);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JWTServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
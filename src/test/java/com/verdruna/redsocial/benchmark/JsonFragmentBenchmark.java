@@ -0,0 +1,115 @@
+package com.verdruna.redsocial.benchmark;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vedruna.redsocial.dto.CommentDTO;
+import com.vedruna.redsocial.dto.PublicationDTO;
+import com.vedruna.redsocial.web.FragmentListHttpMessageConverter;
+import com.vedruna.redsocial.web.JsonFragmentCache;
+
+/**
+ * Benchmark JMH de la serialización de una página del feed: Jackson por elemento (con y sin sangrado) frente a
+ * la unión de fragmentos ya serializados.
+ *
+ * Se ejecuta con:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.verdruna.redsocial.benchmark.JsonFragmentBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonFragmentBenchmark {
+
+    @Param({"20", "200"})
+    private int pageSize;
+
+    private ObjectMapper indentedMapper;
+
+    private ObjectMapper compactMapper;
+
+    private FragmentListHttpMessageConverter fragmentConverter;
+
+    private List<PublicationDTO> page;
+
+    private final Type pageType = new ParameterizedTypeReference<List<PublicationDTO>>() { }.getType();
+
+    @Setup
+    public void setUp() {
+        indentedMapper = Jackson2ObjectMapperBuilder.json().featuresToEnable(SerializationFeature.INDENT_OUTPUT).build();
+        compactMapper = Jackson2ObjectMapperBuilder.json().build();
+        fragmentConverter = new FragmentListHttpMessageConverter(new JsonFragmentCache(compactMapper, 64L * 1024 * 1024));
+
+        page = new ArrayList<>(pageSize);
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= pageSize; id++) {
+            PublicationDTO publication = new PublicationDTO();
+            publication.setPublicationId(id);
+            publication.setAuthorId(id % 17);
+            publication.setText("Texto de la publicación número " + id + " con algo de contenido para serializar.");
+            publication.setCreationDate(now.minusMinutes(id));
+            publication.setEditionDate(now.minusMinutes(id));
+            publication.setReactionCount(id * 3);
+            List<CommentDTO> comments = new ArrayList<>();
+            for (int c = 0; c < 3; c++) {
+                CommentDTO comment = new CommentDTO();
+                comment.setUserId((long) c);
+                comment.setPublicationId(id);
+                comment.setText("Comentario " + c);
+                comment.setCreationDate(now.minusSeconds(c));
+                comments.add(comment);
+            }
+            publication.setLatestComments(comments);
+            publication.setCommentCount(12L);
+            page.add(publication);
+        }
+    }
+
+    @Benchmark
+    public byte[] jacksonIndented() throws IOException {
+        return indentedMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] jacksonCompact() throws IOException {
+        return compactMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] cachedFragments() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        fragmentConverter.write(page, pageType, MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsBytes();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonFragmentBenchmark.class.getSimpleName()).build()).run();
+    }
+}
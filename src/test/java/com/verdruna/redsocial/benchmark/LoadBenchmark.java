@@ -0,0 +1,180 @@
+package com.verdruna.redsocial.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de carga sobre una instancia en marcha, para comparar el modo por defecto (hilos de plataforma)
+ * con el perfil "virtual".
+ *
+ * Uso: arrancar la aplicación en un modo, ejecutar este programa, y repetir en el otro modo:
+ *
+ * mvn spring-boot:run
+ * mvn spring-boot:run -Dspring-boot.run.profiles=virtual
+ *
+ * Los dos modos usan el mismo pool de conexiones (spring.datasource.hikari.maximum-pool-size); para probar
+ * otro tamaño hay que pasar el mismo valor a ambos, por ejemplo con
+ * -Dspring-boot.run.arguments=--spring.datasource.hikari.maximum-pool-size=40
+ *
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.verdruna.redsocial.benchmark.LoadBenchmark
+ *     -Dexec.args="--base-url=http://localhost:8080 --token=JWT --concurrency=200 --duration=30
+ *                  --paths=/api/user/1/feed,/api/profile/usuario1"
+ *
+ * Cada cliente lanza peticiones GET en bucle cerrado, repartidas entre las rutas. Al terminar se muestran,
+ * por ruta, las peticiones por segundo, la latencia p50/p99 y los errores (respuestas distintas de 2xx).
+ */
+public class LoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        String token = options.get("token");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "100"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        List<String> paths = Arrays.asList(options.getOrDefault("paths", "/api/publication").split(","));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, concurrency / 8)))
+                .build();
+
+        System.out.printf("Warm-up %ds...%n", warmupSeconds);
+        run(client, baseUrl, token, paths, concurrency, warmupSeconds);
+
+        System.out.printf("Measuring %ds with %d clients...%n", durationSeconds, concurrency);
+        long start = System.nanoTime();
+        List<Result> results = run(client, baseUrl, token, paths, concurrency, durationSeconds);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        report(paths, results, elapsedSeconds);
+        System.exit(0);
+    }
+
+    private static List<Result> run(HttpClient client, String baseUrl, String token, List<String> paths,
+            int concurrency, int durationSeconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Result>> futures = new ArrayList<>();
+
+        for (int i = 0; i < concurrency; i++) {
+            int offset = i;
+            futures.add(workers.submit(() -> {
+                Result result = new Result(paths.size());
+                for (int n = offset; System.nanoTime() < deadline; n++) {
+                    int pathIndex = n % paths.size();
+                    HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + paths.get(pathIndex)))
+                            .timeout(Duration.ofSeconds(30))
+                            .GET();
+                    if (token != null) {
+                        request.header("Authorization", "Bearer " + token);
+                    }
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                        result.record(pathIndex, System.nanoTime() - begin, response.statusCode() / 100 == 2);
+                    } catch (Exception e) {
+                        result.record(pathIndex, System.nanoTime() - begin, false);
+                    }
+                }
+                return result;
+            }));
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (Future<Result> future : futures) {
+            results.add(future.get());
+        }
+        workers.shutdown();
+        return results;
+    }
+
+    private static void report(List<String> paths, List<Result> results, double elapsedSeconds) {
+        System.out.printf("%-40s %10s %10s %10s %8s%n", "path", "req/s", "p50 ms", "p99 ms", "errors");
+        for (int p = 0; p < paths.size(); p++) {
+            int total = 0;
+            int errors = 0;
+            for (Result result : results) {
+                total += result.latencies[p].size;
+                errors += result.errors[p];
+            }
+            long[] all = new long[total];
+            int position = 0;
+            for (Result result : results) {
+                System.arraycopy(result.latencies[p].values, 0, all, position, result.latencies[p].size);
+                position += result.latencies[p].size;
+            }
+            Arrays.sort(all);
+            System.out.printf("%-40s %10.1f %10.2f %10.2f %8d%n", paths.get(p), total / elapsedSeconds,
+                    percentile(all, 0.50) / 1e6, percentile(all, 0.99) / 1e6, errors);
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Latencias y errores de un cliente, por ruta. Cada cliente escribe solo en la suya.
+     */
+    private static final class Result {
+
+        private final LongList[] latencies;
+        private final int[] errors;
+
+        private Result(int pathCount) {
+            this.latencies = new LongList[pathCount];
+            this.errors = new int[pathCount];
+            for (int i = 0; i < pathCount; i++) {
+                latencies[i] = new LongList();
+            }
+        }
+
+        private void record(int pathIndex, long latencyNanos, boolean success) {
+            latencies[pathIndex].add(latencyNanos);
+            if (!success) {
+                errors[pathIndex]++;
+            }
+        }
+    }
+
+    private static final class LongList {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
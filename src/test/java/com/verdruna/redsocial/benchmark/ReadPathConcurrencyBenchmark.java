@@ -0,0 +1,171 @@
+package com.verdruna.redsocial.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Prueba de carga del mismo endpoint de lectura en la API principal (Spring MVC y JPA) y en el módulo reactivo
+ * (WebFlux y R2DBC), con niveles crecientes de peticiones simultáneas.
+ *
+ * Para comparar a memoria fija, ambas aplicaciones se arrancan con el mismo heap y el mismo tamaño de pool de
+ * conexiones, por ejemplo:
+ * java -Xmx256m -jar target/vedruna-redsocial-0.0.1-SNAPSHOT.jar --spring.datasource.hikari.maximum-pool-size=20
+ * java -Xmx256m -jar reactive/target/vedruna-redsocial-reactive-0.0.1-SNAPSHOT.jar --spring.r2dbc.pool.max-size=20
+ *
+ * Por cada nivel imprime peticiones por segundo, latencias p50 y p99, errores (incluidos los 429 y 503 del
+ * límite de concurrencia), y los hilos vivos y el heap usado del servidor según Actuator.
+ *
+ * Se ejecuta con:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.verdruna.redsocial.benchmark.ReadPathConcurrencyBenchmark -Dredsocial.benchmark.token=TOKEN
+ */
+public class ReadPathConcurrencyBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final String token;
+
+    private final String path;
+
+    private final long seconds;
+
+    ReadPathConcurrencyBenchmark(String token, String path, long seconds) {
+        this.token = token;
+        this.path = path;
+        this.seconds = seconds;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String token = System.getProperty("redsocial.benchmark.token");
+        if (token == null) {
+            throw new IllegalArgumentException("Falta -Dredsocial.benchmark.token con un token de acceso válido");
+        }
+        ReadPathConcurrencyBenchmark benchmark = new ReadPathConcurrencyBenchmark(token,
+                System.getProperty("redsocial.benchmark.path", "/api/user/1/feed"),
+                Long.getLong("redsocial.benchmark.seconds", 20));
+        String[] stacks = {
+                "mvc=" + System.getProperty("redsocial.benchmark.mvc-url", "http://localhost:8080"),
+                "reactive=" + System.getProperty("redsocial.benchmark.reactive-url", "http://localhost:8081")
+        };
+        int[] levels = Arrays.stream(System.getProperty("redsocial.benchmark.concurrency", "50,200,1000").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+
+        System.out.printf("%-9s %6s %10s %9s %9s %7s %8s %9s%n",
+                "stack", "conc", "req/s", "p50 ms", "p99 ms", "errors", "threads", "heap MB");
+        for (int concurrency : levels) {
+            for (String stack : stacks) {
+                String[] nameAndUrl = stack.split("=", 2);
+                benchmark.run(nameAndUrl[0], nameAndUrl[1], concurrency);
+            }
+        }
+    }
+
+    /**
+     * Lanza tantos clientes como el nivel de concurrencia; cada uno repite la petición hasta que vence el tiempo.
+     */
+    private void run(String stack, String baseUrl, int concurrency) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> loop(request, deadline)));
+            }
+        }
+
+        long errors = 0;
+        long[] latencies = new long[0];
+        for (Future<long[]> worker : workers) {
+            long[] result = worker.get();
+            errors += result[0];
+            int from = latencies.length;
+            latencies = Arrays.copyOf(latencies, from + result.length - 1);
+            System.arraycopy(result, 1, latencies, from, result.length - 1);
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("%-9s %6d %10.0f %9.1f %9.1f %7d %8.0f %9.1f%n", stack, concurrency,
+                (double) latencies.length / seconds, percentile(latencies, 0.50), percentile(latencies, 0.99), errors,
+                metric(baseUrl, "jvm.threads.live", ""),
+                metric(baseUrl, "jvm.memory.used", "?tag=area:heap") / (1024 * 1024));
+    }
+
+    /**
+     * Repite la petición hasta el instante indicado.
+     *
+     * @return Número de errores en la posición 0, seguido de la latencia en nanosegundos de cada respuesta correcta.
+     */
+    private long[] loop(HttpRequest request, long deadline) {
+        long[] results = new long[1024];
+        int count = 1;
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    results[0]++;
+                    continue;
+                }
+            } catch (IOException e) {
+                results[0]++;
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (count == results.length) {
+                results = Arrays.copyOf(results, count * 2);
+            }
+            results[count++] = System.nanoTime() - start;
+        }
+        return Arrays.copyOf(results, count);
+    }
+
+    private double metric(String baseUrl, String name, String query) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name + query))
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+            JsonNode body = MAPPER.readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            return body.path("measurements").path(0).path("value").asDouble(Double.NaN);
+        } catch (IOException e) {
+            return Double.NaN;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Double.NaN;
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,158 @@
+package com.verdruna.redsocial.persistence.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vedruna.redsocial.persistence.routing.ReadYourWritesTracker;
+import com.vedruna.redsocial.persistence.routing.ReplicaRoutingDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Enrutado entre principal y réplicas con bases de datos H2 en memoria: cada base de datos tiene una tabla
+ * "node" con su propio nombre, de modo que cada lectura indica a dónde ha ido.
+ */
+class ReplicaRoutingDataSourceTests {
+
+    private static final String SERVICE_READ = "com.vedruna.redsocial.service.PublicationServiceImpl.getAllPublications";
+
+    private static final String SERVICE_WRITE = "com.vedruna.redsocial.service.PublicationServiceImpl.createPublication";
+
+    private static final String REPOSITORY_READ = "org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DataSourceTransactionManager transactionManager;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void applicationReadsAlternateBetweenReplicas() {
+        route(database("primary"), database("replica-a"), database("replica-b"));
+
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(read(SERVICE_READ));
+        }
+
+        assertThat(nodes).containsExactly("replica-a", "replica-b", "replica-a", "replica-b");
+    }
+
+    @Test
+    void writesAndRepositoryReadsGoToPrimary() {
+        route(database("primary"), database("replica"));
+
+        assertThat(write(SERVICE_WRITE)).isEqualTo("primary");
+        assertThat(read(REPOSITORY_READ)).isEqualTo("primary");
+        assertThat(jdbcTemplate.queryForObject("select name from node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimary() {
+        route(database("primary"), database("replica"));
+
+        authenticate("ana");
+        write(SERVICE_WRITE);
+        assertThat(read(SERVICE_READ)).isEqualTo("primary");
+
+        authenticate("luis");
+        assertThat(read(SERVICE_READ)).isEqualTo("replica");
+    }
+
+    @Test
+    void failingReplicaIsEjected() {
+        route(database("primary"), unavailable(), database("replica-b"));
+
+        assertThat(read(SERVICE_READ)).isEqualTo("replica-b");
+        assertThat(read(SERVICE_READ)).isEqualTo("replica-b");
+        assertThat(read(SERVICE_READ)).isEqualTo("replica-b");
+        assertThat(meterRegistry.counter("redsocial.datasource.replica.ejections", "replica", "replica-0").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void readsFallBackToPrimaryWithoutReplicas() {
+        route(database("primary"), unavailable());
+
+        assertThat(read(SERVICE_READ)).isEqualTo("primary");
+        assertThat(read(SERVICE_READ)).isEqualTo("primary");
+    }
+
+    private void route(DataSource primary, DataSource... replicas) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replicas),
+                new ReadYourWritesTracker(Duration.ofSeconds(5), 100), Duration.ofSeconds(30),
+                "com.vedruna.redsocial", meterRegistry);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    private String read(String transactionName) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setName(transactionName);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+    }
+
+    private String write(String transactionName) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setName(transactionName);
+        return transaction.execute(status -> {
+            jdbcTemplate.update("insert into publication (text) values ('hola')");
+            return jdbcTemplate.queryForObject("select name from node", String.class);
+        });
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+
+    private static DataSource database(String node) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + node + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(20))");
+        jdbcTemplate.execute("create table publication (text varchar(100))");
+        jdbcTemplate.update("insert into node (name) values (?)", node);
+        return dataSource;
+    }
+
+    private static DataSource unavailable() {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                throw new SQLException("Réplica no disponible");
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                throw new SQLException("Réplica no disponible");
+            }
+        };
+    }
+}
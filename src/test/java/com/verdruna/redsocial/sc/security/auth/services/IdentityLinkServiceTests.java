@@ -0,0 +1,176 @@
+package com.verdruna.redsocial.sc.security.auth.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.vedruna.redsocial.dto.UserDTO;
+import com.vedruna.redsocial.exception.ConflictException;
+import com.vedruna.redsocial.persistence.model.User;
+import com.vedruna.redsocial.persistence.repository.UserRepositoryI;
+import com.vedruna.redsocial.sc.model.Role;
+import com.vedruna.redsocial.sc.model.SecurityUser;
+import com.vedruna.redsocial.sc.model.UserRepository;
+import com.vedruna.redsocial.sc.security.auth.services.IdentityLinkService;
+import com.vedruna.redsocial.service.UserServiceI;
+
+/**
+ * Enlace entre cuentas de autenticación y perfiles: una cuenta solo se queda con un perfil existente si
+ * demuestra que es suyo, y un perfil nunca se enlaza con dos cuentas. Las tablas S_USER y RS_USER se simulan en
+ * memoria.
+ */
+class IdentityLinkServiceTests {
+
+    private final Map<Long, SecurityUser> accounts = new ConcurrentHashMap<>();
+
+    private final Map<String, User> profiles = new ConcurrentHashMap<>();
+
+    private final AtomicLong ids = new AtomicLong(100);
+
+    private final UserRepository securityUserRepository = mock(UserRepository.class);
+
+    private final UserRepositoryI userRepository = mock(UserRepositoryI.class);
+
+    private final UserServiceI userService = mock(UserServiceI.class);
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    private final IdentityLinkService service = new IdentityLinkService(securityUserRepository, userRepository,
+            userService, passwordEncoder, mock(PlatformTransactionManager.class));
+
+    @BeforeEach
+    void setUp() {
+        when(securityUserRepository.save(any(SecurityUser.class))).thenAnswer(invocation -> {
+            SecurityUser account = invocation.getArgument(0);
+            if (account.getId() == null) {
+                account.setId(ids.incrementAndGet());
+            }
+            accounts.put(account.getId(), account);
+            return account;
+        });
+        when(securityUserRepository.existsBySocialUserId(any(Long.class))).thenAnswer(invocation -> {
+            Long socialUserId = invocation.getArgument(0);
+            return accounts.values().stream().anyMatch(account -> socialUserId.equals(account.getSocialUserId()));
+        });
+        when(userRepository.findByUserName(any(String.class))).thenAnswer(invocation -> {
+            String userName = invocation.getArgument(0);
+            return Optional.ofNullable(profiles.get(userName));
+        });
+        when(userService.createProfile(any(String.class), any(String.class))).thenAnswer(invocation -> {
+            User profile = profile(invocation.getArgument(0), invocation.getArgument(1));
+            UserDTO userDTO = new UserDTO();
+            userDTO.setUserId(profile.getUserId());
+            return userDTO;
+        });
+    }
+
+    @Test
+    void nameOwnedByAnotherProfileIsRejected() {
+        profile("ana", passwordEncoder.encode("secreto"));
+
+        assertThatThrownBy(() -> service.register(account("ana", "otra"), "otra"))
+                .isInstanceOf(ConflictException.class);
+        assertThat(accounts).isEmpty();
+
+        SecurityUser existing = saved(account("ana", "otra"));
+        assertThatThrownBy(() -> service.link(existing, "otra"))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> service.link(existing, null))
+                .isInstanceOf(ConflictException.class);
+        assertThat(existing.getSocialUserId()).isNull();
+    }
+
+    @Test
+    void matchingPasswordLinksTheAccount() {
+        User profile = profile("ana", passwordEncoder.encode("secreto"));
+
+        SecurityUser registered = account("ana", "secreto");
+        service.register(registered, "secreto");
+
+        assertThat(registered.getSocialUserId()).isEqualTo(profile.getUserId());
+        assertThat(accounts).containsKey(registered.getId());
+    }
+
+    @Test
+    void loginWithMatchingPasswordLinksAnUnlinkedAccount() {
+        User profile = profile("ana", passwordEncoder.encode("secreto"));
+        SecurityUser existing = saved(account("ana", "secreto"));
+
+        service.link(existing, "secreto");
+
+        assertThat(existing.getSocialUserId()).isEqualTo(profile.getUserId());
+    }
+
+    @Test
+    void newNameCreatesItsOwnProfile() {
+        SecurityUser registered = account("luis", "secreto");
+        service.register(registered, "secreto");
+
+        assertThat(profiles).containsKey("luis");
+        assertThat(registered.getSocialUserId()).isEqualTo(profiles.get("luis").getUserId());
+    }
+
+    @Test
+    void migrationLinksOnlyWithIdenticalHash() {
+        String hash = passwordEncoder.encode("secreto");
+        User profile = profile("ana", hash);
+        profile("luis", passwordEncoder.encode("secreto"));
+
+        SecurityUser sameHash = saved(new SecurityUser("ana", "Ana", "López", "ES", hash, Role.USER));
+        SecurityUser samePasswordOtherHash = saved(account("luis", "secreto"));
+
+        assertThat(service.linkExisting(sameHash)).isTrue();
+        assertThat(sameHash.getSocialUserId()).isEqualTo(profile.getUserId());
+        assertThat(service.linkExisting(samePasswordOtherHash)).isFalse();
+        assertThat(samePasswordOtherHash.getSocialUserId()).isNull();
+    }
+
+    @Test
+    void profileLinkedToAnotherAccountIsRefused() {
+        String hash = passwordEncoder.encode("secreto");
+        User profile = profile("ana", hash);
+        SecurityUser owner = saved(account("ana.old", "secreto"));
+        owner.setSocialUserId(profile.getUserId());
+
+        SecurityUser migrated = saved(new SecurityUser("ana", "Ana", "López", "ES", hash, Role.USER));
+        assertThatThrownBy(() -> service.linkExisting(migrated))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("enlazado");
+        assertThatThrownBy(() -> service.link(migrated, "secreto"))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("enlazado");
+        assertThat(migrated.getSocialUserId()).isNull();
+    }
+
+    private SecurityUser account(String username, String rawPassword) {
+        return new SecurityUser(username, "Nombre", "Apellido", "ES", passwordEncoder.encode(rawPassword), Role.USER);
+    }
+
+    private SecurityUser saved(SecurityUser account) {
+        account.setId(ids.incrementAndGet());
+        accounts.put(account.getId(), account);
+        return account;
+    }
+
+    private User profile(String userName, String encodedPassword) {
+        User profile = new User();
+        profile.setUserId(ids.incrementAndGet());
+        profile.setUserName(userName);
+        profile.setPassword(encodedPassword);
+        profiles.put(userName, profile);
+        return profile;
+    }
+}
@@ -0,0 +1,186 @@
+package com.verdruna.redsocial.sc.security.auth.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import com.vedruna.redsocial.sc.model.RefreshToken;
+import com.vedruna.redsocial.sc.model.RefreshTokenRepository;
+import com.vedruna.redsocial.sc.security.auth.services.RefreshTokenService;
+
+/**
+ * Rotación de tokens de refresco y detección de robo. El repositorio se simula en memoria; la actualización
+ * condicional de markRevoked es atómica, como el UPDATE ... WHERE revoked = false de la base de datos.
+ */
+class RefreshTokenServiceTests {
+
+    private final Map<Long, RefreshToken> table = new ConcurrentHashMap<>();
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+
+    private final RefreshTokenService service = new RefreshTokenService(repository, Duration.ofDays(30));
+
+    @BeforeEach
+    void setUp() {
+        when(repository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            token.setId(ids.incrementAndGet());
+            table.put(token.getId(), copy(token));
+            return token;
+        });
+        when(repository.findByTokenHash(any(String.class))).thenAnswer(invocation -> {
+            String tokenHash = invocation.getArgument(0);
+            return table.values().stream()
+                    .filter(token -> token.getTokenHash().equals(tokenHash))
+                    .findFirst()
+                    .map(RefreshTokenServiceTests::copy);
+        });
+        when(repository.markRevoked(any(Long.class))).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            synchronized (table) {
+                RefreshToken token = table.get(id);
+                if (token == null || token.isRevoked()) {
+                    return 0;
+                }
+                token.setRevoked(true);
+                return 1;
+            }
+        });
+        when(repository.revokeAllByUsername(any(String.class))).thenAnswer(invocation -> {
+            String username = invocation.getArgument(0);
+            synchronized (table) {
+                int updated = 0;
+                for (RefreshToken token : table.values()) {
+                    if (token.getUsername().equals(username) && !token.isRevoked()) {
+                        token.setRevoked(true);
+                        updated++;
+                    }
+                }
+                return updated;
+            }
+        });
+    }
+
+    @Test
+    void tokenIsStoredOnlyAsHash() {
+        String token = service.issue("ana");
+
+        RefreshToken stored = table.values().iterator().next();
+        assertThat(stored.getTokenHash()).isNotEqualTo(token);
+        assertThat(stored.getUsername()).isEqualTo("ana");
+    }
+
+    @Test
+    void tokenCanBeConsumedOnlyOnce() {
+        String token = service.issue("ana");
+
+        assertThat(service.consume(token)).isEqualTo("ana");
+        assertThatThrownBy(() -> service.consume(token))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("reutilizado");
+    }
+
+    @Test
+    void reusedTokenRevokesEveryTokenOfTheUser() {
+        String stolen = service.issue("ana");
+        String rotated = service.issue("ana");
+        String other = service.issue("luis");
+        service.consume(stolen);
+
+        assertThatThrownBy(() -> service.consume(stolen)).isInstanceOf(BadCredentialsException.class);
+
+        assertThatThrownBy(() -> service.consume(rotated))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("reutilizado");
+        assertThat(service.consume(other)).isEqualTo("luis");
+    }
+
+    @Test
+    void concurrentUsesOfTheSameTokenLetExactlyOneWin() throws InterruptedException {
+        String token = service.issue("ana");
+        AtomicInteger wins = new AtomicInteger();
+        AtomicInteger rejections = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                await(start);
+                try {
+                    service.consume(token);
+                    wins.incrementAndGet();
+                } catch (BadCredentialsException e) {
+                    rejections.incrementAndGet();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(wins.get()).isEqualTo(1);
+        assertThat(rejections.get()).isEqualTo(7);
+    }
+
+    @Test
+    void revokedTokenCannotBeUsed() {
+        String token = service.issue("ana");
+
+        service.revoke(token);
+
+        assertThatThrownBy(() -> service.consume(token)).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        assertThatThrownBy(() -> service.consume("desconocido"))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("no válido");
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        RefreshTokenService expiring = new RefreshTokenService(repository, Duration.ofSeconds(-1));
+        String token = expiring.issue("ana");
+
+        assertThatThrownBy(() -> expiring.consume(token))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("caducado");
+        assertThat(table.values().iterator().next().isRevoked()).isFalse();
+    }
+
+    private static RefreshToken copy(RefreshToken token) {
+        RefreshToken copy = new RefreshToken(token.getTokenHash(), token.getUsername(), token.getExpiresAt());
+        copy.setId(token.getId());
+        copy.setRevoked(token.isRevoked());
+        return copy;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
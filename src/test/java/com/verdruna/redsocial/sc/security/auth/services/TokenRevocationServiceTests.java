@@ -0,0 +1,143 @@
+package com.verdruna.redsocial.sc.security.auth.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.vedruna.redsocial.sc.model.RevokedToken;
+import com.vedruna.redsocial.sc.model.RevokedTokenRepository;
+import com.vedruna.redsocial.sc.security.auth.services.TokenRevocationService;
+
+/**
+ * Lista de revocación de tokens de acceso. El repositorio se simula con una tabla en memoria compartida, de
+ * modo que dos instancias del servicio se comportan como dos nodos sobre la misma base de datos.
+ */
+class TokenRevocationServiceTests {
+
+    private final Map<String, RevokedToken> table = new ConcurrentHashMap<>();
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+
+    @BeforeEach
+    void setUp() {
+        when(repository.save(any(RevokedToken.class))).thenAnswer(invocation -> {
+            RevokedToken token = invocation.getArgument(0);
+            table.put(token.getJti(), token);
+            return token;
+        });
+        when(repository.findByExpiresAtAfter(any(Instant.class))).thenAnswer(invocation -> {
+            Instant now = invocation.getArgument(0);
+            return select(token -> token.getExpiresAt().isAfter(now));
+        });
+        when(repository.findByRevokedAtAfter(any(Instant.class))).thenAnswer(invocation -> {
+            Instant since = invocation.getArgument(0);
+            return select(token -> token.getRevokedAt().isAfter(since));
+        });
+        when(repository.deleteExpired(any(Instant.class))).thenAnswer(invocation -> {
+            Instant now = invocation.getArgument(0);
+            int before = table.size();
+            table.values().removeIf(token -> token.getExpiresAt().isBefore(now));
+            return before - table.size();
+        });
+    }
+
+    @Test
+    void revokedTokenIsRejected() {
+        TokenRevocationService service = node();
+
+        service.revoke("jti-1", Instant.now().plusSeconds(900));
+
+        assertThat(service.isRevoked("jti-1")).isTrue();
+        assertThat(service.isRevoked("jti-2")).isFalse();
+        assertThat(service.isRevoked(null)).isFalse();
+        assertThat(table.containsKey("jti-1")).isTrue();
+    }
+
+    @Test
+    void expiredTokensAreNotStored() {
+        TokenRevocationService service = node();
+
+        service.revoke("jti-1", Instant.now().minusSeconds(1));
+        service.revoke(null, Instant.now().plusSeconds(900));
+
+        assertThat(service.isRevoked("jti-1")).isFalse();
+        assertThat(table).isEmpty();
+    }
+
+    @Test
+    void liveRevocationsAreLoadedAtStartup() {
+        Instant now = Instant.now();
+        table.put("live", new RevokedToken("live", now.plusSeconds(900), now.minusSeconds(60)));
+        table.put("expired", new RevokedToken("expired", now.minusSeconds(1), now.minusSeconds(900)));
+
+        TokenRevocationService service = node();
+
+        assertThat(service.isRevoked("live")).isTrue();
+        assertThat(service.isRevoked("expired")).isFalse();
+    }
+
+    @Test
+    void revocationsFromOtherNodesAreSynced() {
+        TokenRevocationService nodeA = node();
+        TokenRevocationService nodeB = node();
+
+        nodeB.revoke("jti-1", Instant.now().plusSeconds(900));
+        assertThat(nodeA.isRevoked("jti-1")).isFalse();
+
+        nodeA.syncRevocations();
+        assertThat(nodeA.isRevoked("jti-1")).isTrue();
+    }
+
+    @Test
+    void syncOverlapsThePreviousOneToCatchLateCommits() {
+        TokenRevocationService service = node();
+        service.syncRevocations();
+
+        // Otro nodo revocó el token justo antes de la última sincronización, pero su transacción se confirmó
+        // después: la fila aparece con un revokedAt anterior al instante de esa sincronización.
+        Instant now = Instant.now();
+        table.put("late", new RevokedToken("late", now.plusSeconds(900), now.minusMillis(500)));
+
+        service.syncRevocations();
+        assertThat(service.isRevoked("late")).isTrue();
+    }
+
+    @Test
+    void purgeDropsExpiredRevocationsAndKeepsLiveOnes() throws InterruptedException {
+        Instant now = Instant.now();
+        table.put("short", new RevokedToken("short", now.plusMillis(100), now));
+        table.put("long", new RevokedToken("long", now.plusSeconds(3600), now));
+        TokenRevocationService service = node();
+        service.revoke("fresh", Instant.now().plusSeconds(3600));
+        assertThat(service.isRevoked("short")).isTrue();
+
+        Thread.sleep(150);
+        service.purgeExpired();
+
+        assertThat(service.isRevoked("short")).isFalse();
+        assertThat(service.isRevoked("long")).isTrue();
+        assertThat(service.isRevoked("fresh")).isTrue();
+        assertThat(table.containsKey("short")).isFalse();
+        assertThat(table).hasSize(2);
+    }
+
+    private TokenRevocationService node() {
+        TokenRevocationService service = new TokenRevocationService(repository, 1000, 0.01);
+        service.loadRevocations();
+        return service;
+    }
+
+    private List<RevokedToken> select(Predicate<RevokedToken> predicate) {
+        return table.values().stream().filter(predicate).toList();
+    }
+}
@@ -0,0 +1,169 @@
+package com.verdruna.redsocial.sc.security.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.vedruna.redsocial.sc.security.ratelimit.RateLimitFilter;
+import com.vedruna.redsocial.sc.security.ratelimit.RateLimiter;
+
+/**
+ * Cubos de tokens del limitador con un reloj manual: cada prueba avanza el tiempo a mano, así que la
+ * reposición se puede comprobar al nanosegundo.
+ */
+class RateLimiterTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void burstUpToCapacityThenRejects() {
+        RateLimiter limiter = limiter(3, 1);
+
+        assertThat(limiter.tryAcquire("ana")).isZero();
+        assertThat(limiter.tryAcquire("ana")).isZero();
+        assertThat(limiter.tryAcquire("ana")).isZero();
+        assertThat(limiter.tryAcquire("ana")).isPositive();
+    }
+
+    @Test
+    void tokensAreRefilledAtTheConfiguredRate() {
+        RateLimiter limiter = limiter(5, 2);
+        drain(limiter, "ana");
+
+        advance(SECOND / 2);
+        assertThat(limiter.tryAcquire("ana")).isZero();
+        assertThat(limiter.tryAcquire("ana")).isPositive();
+
+        advance(SECOND + SECOND / 2);
+        assertThat(grants(limiter, "ana", 10)).isEqualTo(3);
+    }
+
+    @Test
+    void refillIsClampedToCapacity() {
+        RateLimiter limiter = limiter(3, 10);
+        drain(limiter, "ana");
+
+        advance(TimeUnit.HOURS.toNanos(1));
+
+        assertThat(grants(limiter, "ana", 10)).isEqualTo(3);
+    }
+
+    @Test
+    void rejectionReportsTimeUntilNextToken() {
+        RateLimiter limiter = limiter(1, 0.5);
+        assertThat(limiter.tryAcquire("ana")).isZero();
+
+        assertThat(limiter.tryAcquire("ana")).isBetween(2 * SECOND - 1, 2 * SECOND + 1);
+
+        advance(SECOND / 2);
+        long waitNanos = limiter.tryAcquire("ana");
+        assertThat(waitNanos).isBetween(3 * SECOND / 2 - 1, 3 * SECOND / 2 + 1);
+        assertThat(RateLimitFilter.retryAfterSeconds(waitNanos)).isEqualTo(2L);
+
+        advance(waitNanos);
+        assertThat(limiter.tryAcquire("ana")).isZero();
+    }
+
+    @Test
+    void retryAfterRoundsUpToWholeSeconds() {
+        assertThat(RateLimitFilter.retryAfterSeconds(1)).isEqualTo(1L);
+        assertThat(RateLimitFilter.retryAfterSeconds(SECOND)).isEqualTo(1L);
+        assertThat(RateLimitFilter.retryAfterSeconds(SECOND + 1)).isEqualTo(2L);
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        RateLimiter limiter = limiter(1, 1);
+
+        assertThat(limiter.tryAcquire("ana")).isZero();
+        assertThat(limiter.tryAcquire("ana")).isPositive();
+        assertThat(limiter.tryAcquire("luis")).isZero();
+    }
+
+    @Test
+    void concurrentCallersGetExactlyCapacityGrants() throws InterruptedException {
+        RateLimiter limiter = limiter(100, 0.001);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            Thread thread = new Thread(() -> {
+                await(start);
+                for (int i = 0; i < 50; i++) {
+                    if (limiter.tryAcquire("ana") == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(granted.get()).isEqualTo(100);
+    }
+
+    @Test
+    void idleBucketsAreEvicted() {
+        RateLimiter limiter = limiter(2, 1);
+        limiter.tryAcquire("ana");
+        advance(5 * SECOND);
+        limiter.tryAcquire("luis");
+
+        limiter.evictIdle(10 * SECOND);
+        assertThat(limiter.size()).isEqualTo(2);
+
+        advance(6 * SECOND);
+        limiter.evictIdle(10 * SECOND);
+        assertThat(limiter.size()).isEqualTo(1);
+
+        advance(10 * SECOND);
+        limiter.evictIdle(10 * SECOND);
+        assertThat(limiter.size()).isZero();
+        assertThat(grants(limiter, "ana", 5)).isEqualTo(2);
+    }
+
+    private RateLimiter limiter(long capacity, double refillPerSecond) {
+        return new RateLimiter("test", capacity, refillPerSecond, clock::get);
+    }
+
+    private void advance(long nanos) {
+        clock.addAndGet(nanos);
+    }
+
+    private static void drain(RateLimiter limiter, String key) {
+        while (limiter.tryAcquire(key) == 0) {
+            // Consume todos los tokens disponibles.
+        }
+    }
+
+    private static int grants(RateLimiter limiter, String key, int attempts) {
+        int granted = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (limiter.tryAcquire(key) == 0) {
+                granted++;
+            }
+        }
+        return granted;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.verdruna.redsocial.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.vedruna.redsocial.dto.UserDTO;
+import com.vedruna.redsocial.persistence.repository.CommentRepositoryI;
+import com.vedruna.redsocial.persistence.repository.PublicationRepositoryI;
+import com.vedruna.redsocial.persistence.repository.ReactionBatchRepository;
+import com.vedruna.redsocial.persistence.repository.ReactionBatchRepository.ReactionKeyConsumer;
+import com.vedruna.redsocial.persistence.repository.ReactionBatchRepository.ReactionTable;
+import com.vedruna.redsocial.service.ReactionServiceImpl;
+import com.vedruna.redsocial.service.UserServiceI;
+
+/**
+ * Contador de reacciones en memoria, a través de ReactionServiceImpl: cerrojos por par, volcado con reintento,
+ * retirada condicional de los cambios confirmados, deduplicación con el filtro de Bloom y descarte de los cambios
+ * de una publicación eliminada. Las tablas de reacciones y de totales se simulan en memoria; el volcado se aplica
+ * entero o no se aplica, como la transacción de applyChanges.
+ */
+class ReactionCounterTests {
+
+    private final Set<Long> reactions = ConcurrentHashMap.newKeySet();
+
+    private final Map<Long, Long> counts = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean failFlush = new AtomicBoolean();
+
+    private final AtomicInteger existsQueries = new AtomicInteger();
+
+    private final AtomicLong currentUser = new AtomicLong(1);
+
+    private final ReactionBatchRepository repository = mock(ReactionBatchRepository.class);
+
+    private final PublicationRepositoryI publicationRepository = mock(PublicationRepositoryI.class);
+
+    private final UserServiceI userService = mock(UserServiceI.class);
+
+    private final ReactionServiceImpl service = new ReactionServiceImpl(repository, publicationRepository,
+            mock(CommentRepositoryI.class), userService, 1_000, 0.000001);
+
+    @BeforeEach
+    void setUp() {
+        when(userService.getAuthenticatedUser()).thenAnswer(invocation -> {
+            UserDTO user = new UserDTO();
+            user.setUserId(currentUser.get());
+            return user;
+        });
+        when(publicationRepository.existsById(any())).thenReturn(true);
+
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) == ReactionTable.PUBLICATION) {
+                BiConsumer<Long, Long> consumer = invocation.getArgument(1);
+                counts.forEach(consumer);
+            }
+            return null;
+        }).when(repository).forEachCount(any(ReactionTable.class), any());
+        when(repository.forEachReaction(any(ReactionTable.class), any())).thenAnswer(invocation -> {
+            if (invocation.getArgument(0) != ReactionTable.PUBLICATION) {
+                return 0L;
+            }
+            ReactionKeyConsumer consumer = invocation.getArgument(1);
+            for (long key : reactions) {
+                consumer.accept(key >>> 32, key & 0xFFFFFFFFL);
+            }
+            return (long) reactions.size();
+        });
+        when(repository.exists(any(ReactionTable.class), anyLong(), anyLong())).thenAnswer(invocation -> {
+            existsQueries.incrementAndGet();
+            long userId = invocation.getArgument(1);
+            long targetId = invocation.getArgument(2);
+            return reactions.contains(key(userId, targetId));
+        });
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) != ReactionTable.PUBLICATION) {
+                return null;
+            }
+            if (failFlush.get()) {
+                throw new IllegalStateException("Base de datos no disponible");
+            }
+            List<long[]> inserts = invocation.getArgument(1);
+            List<long[]> deletes = invocation.getArgument(2);
+            Map<Long, Long> deltas = invocation.getArgument(3);
+            // Deja que otros hilos cambien el par mientras el volcado está en curso.
+            Thread.yield();
+            synchronized (reactions) {
+                inserts.forEach(pair -> reactions.add(key(pair[0], pair[1])));
+                deletes.forEach(pair -> reactions.remove(key(pair[0], pair[1])));
+                deltas.forEach((targetId, delta) -> counts.merge(targetId, delta, Long::sum));
+            }
+            return null;
+        }).when(repository).applyChanges(any(ReactionTable.class), any(), any(), any());
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) == ReactionTable.PUBLICATION) {
+                Collection<Long> targetIds = invocation.getArgument(1);
+                counts.keySet().removeAll(targetIds);
+            }
+            return null;
+        }).when(repository).deleteCounts(any(ReactionTable.class), any());
+    }
+
+    @Test
+    void concurrentLikeAndUnlikeOfOnePairStayConsistent() throws InterruptedException {
+        start();
+        AtomicBoolean outOfRange = new AtomicBoolean();
+        AtomicBoolean done = new AtomicBoolean();
+        CountDownLatch begin = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                await(begin);
+                for (int i = 0; i < 2_000; i++) {
+                    long count = i % 2 == 0 ? service.addReaction(1L, 10L) : service.removeReaction(1L, 10L);
+                    if (count < 0 || count > 1) {
+                        outOfRange.set(true);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        Thread flusher = new Thread(() -> {
+            await(begin);
+            while (!done.get()) {
+                service.flush();
+            }
+        });
+        flusher.start();
+        begin.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        done.set(true);
+        flusher.join();
+        service.flush();
+
+        long count = service.getReactionCount(10L);
+        assertThat(outOfRange).isFalse();
+        assertThat(count).isBetween(0L, 1L);
+        assertThat(reactions.contains(key(1, 10))).isEqualTo(count == 1);
+        assertThat(counts.getOrDefault(10L, 0L)).isEqualTo(count);
+    }
+
+    @Test
+    void failedFlushKeepsChangesForTheNextAttempt() {
+        start();
+        assertThat(reactAs(1, 10)).isEqualTo(1);
+        assertThat(reactAs(2, 10)).isEqualTo(2);
+
+        failFlush.set(true);
+        service.flush();
+        assertThat(reactions).isEmpty();
+        assertThat(counts).isEmpty();
+
+        assertThat(reactAs(2, 10)).isEqualTo(2);
+        currentUser.set(1);
+        assertThat(service.removeReaction(1L, 10L)).isEqualTo(1);
+        service.flush();
+        assertThat(reactions).isEmpty();
+
+        failFlush.set(false);
+        service.flush();
+        assertThat(reactions).containsExactly(key(2, 10));
+        assertThat(counts).containsEntry(10L, 1L);
+
+        service.flush();
+        assertThat(counts).containsEntry(10L, 1L);
+        assertThat(service.getReactionCount(10L)).isEqualTo(1);
+    }
+
+    @Test
+    void deletedPublicationDropsItsPendingChanges() {
+        counts.put(10L, 3L);
+        start();
+        assertThat(reactAs(1, 10)).isEqualTo(4);
+        assertThat(reactAs(1, 11)).isEqualTo(1);
+
+        service.evictPublication(10L, List.of());
+        service.flush();
+
+        assertThat(service.getReactionCount(10L)).isZero();
+        assertThat(counts).doesNotContainKey(10L).containsEntry(11L, 1L);
+        assertThat(reactions).containsExactly(key(1, 11));
+    }
+
+    @Test
+    void storedReactionsAreNotCountedTwice() {
+        reactions.add(key(1, 10));
+        counts.put(10L, 1L);
+        start();
+
+        assertThat(reactAs(1, 10)).isEqualTo(1);
+        assertThat(existsQueries).hasValue(1);
+
+        assertThat(reactAs(1, 11)).isEqualTo(1);
+        assertThat(existsQueries).hasValue(1);
+
+        service.flush();
+        assertThat(counts).containsEntry(10L, 1L).containsEntry(11L, 1L);
+        assertThat(reactions).containsExactlyInAnyOrder(key(1, 10), key(1, 11));
+    }
+
+    /**
+     * Carga los totales y el filtro de deduplicación como al arrancar la aplicación.
+     */
+    private void start() {
+        service.loadCounts();
+        service.loadReactions();
+    }
+
+    private long reactAs(long userId, long publicationId) {
+        currentUser.set(userId);
+        return service.addReaction(userId, publicationId);
+    }
+
+    private static long key(long userId, long targetId) {
+        return (userId << 32) | targetId;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
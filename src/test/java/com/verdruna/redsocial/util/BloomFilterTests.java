@@ -0,0 +1,128 @@
+package com.verdruna.redsocial.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import com.vedruna.redsocial.util.BloomFilter;
+
+/**
+ * Filtro de Bloom: un "no está" debe ser siempre cierto, y la tasa de falsos positivos debe quedar cerca de la
+ * configurada. La comprobación de nombres y correos libres en el registro depende de lo primero.
+ */
+class BloomFilterTests {
+
+    private static final int INSERTIONS = 10_000;
+
+    private static final int PROBES = 100_000;
+
+    @Test
+    void addedStringsAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertThat(filter.mightContain("user" + i + "@example.com")).isTrue();
+        }
+    }
+
+    @Test
+    void addedLongsAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for (long i = 1; i <= INSERTIONS; i++) {
+            filter.put(reactionKey(i, i * 7));
+        }
+
+        for (long i = 1; i <= INSERTIONS; i++) {
+            assertThat(filter.mightContain(reactionKey(i, i * 7))).isTrue();
+        }
+    }
+
+    @Test
+    void stringFalsePositiveRateStaysNearConfigured() {
+        for (double rate : new double[] {0.01, 0.001}) {
+            BloomFilter filter = new BloomFilter(INSERTIONS, rate);
+            for (int i = 0; i < INSERTIONS; i++) {
+                filter.put("user" + i);
+            }
+
+            int falsePositives = 0;
+            for (int i = 0; i < PROBES; i++) {
+                if (filter.mightContain("other" + i)) {
+                    falsePositives++;
+                }
+            }
+
+            assertThat((double) falsePositives / PROBES).isLessThan(rate * 2);
+        }
+    }
+
+    @Test
+    void longFalsePositiveRateStaysNearConfigured() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for (long i = 1; i <= INSERTIONS; i++) {
+            filter.put(reactionKey(i, i * 7));
+        }
+
+        int falsePositives = 0;
+        for (long i = 1; i <= PROBES; i++) {
+            if (filter.mightContain(reactionKey(i + INSERTIONS * 2, i * 3))) {
+                falsePositives++;
+            }
+        }
+
+        assertThat((double) falsePositives / PROBES).isLessThan(0.02);
+    }
+
+    @Test
+    void concurrentInsertionsAreNotLost() throws InterruptedException {
+        BloomFilter filter = new BloomFilter(INSERTIONS * 8L, 0.01);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t * INSERTIONS;
+            Thread thread = new Thread(() -> {
+                await(start);
+                for (int i = 0; i < INSERTIONS; i++) {
+                    filter.put("user" + (offset + i));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < INSERTIONS * 8; i++) {
+            assertThat(filter.mightContain("user" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void invalidParametersAreRejected() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static long reactionKey(long userId, long targetId) {
+        return (userId << 32) | targetId;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.verdruna.redsocial.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.vedruna.redsocial.exception.UnavailableException;
+import com.vedruna.redsocial.util.SingleFlight;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Agrupación de cargas concurrentes: los seguidores esperan la carga del líder en lugar de repetirla, reciben su
+ * mismo resultado o excepción, y la clave se libera al terminar.
+ */
+class SingleFlightTests {
+
+    private static final int FOLLOWERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final List<Thread> threads = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws InterruptedException {
+        SingleFlight<String, String> singleFlight = singleFlight(Duration.ofSeconds(10));
+        AtomicInteger loads = new AtomicInteger();
+        List<String> values = new ArrayList<>();
+
+        startLeader(singleFlight, () -> {
+            loads.incrementAndGet();
+            awaitRelease();
+            return "valor";
+        });
+        List<Thread> followers = startFollowers(singleFlight, () -> {
+            loads.incrementAndGet();
+            return "otro";
+        }, value -> {
+            synchronized (values) {
+                values.add(value);
+            }
+        }, error -> { });
+        awaitWaiting(followers);
+        release.countDown();
+        joinAll();
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(values).hasSize(FOLLOWERS);
+        assertThat(values.stream().allMatch("valor"::equals)).isTrue();
+        assertThat(count("leader")).isEqualTo(1.0);
+        assertThat(count("shared")).isEqualTo((double) FOLLOWERS);
+    }
+
+    @Test
+    void followersReceiveTheLeadersException() throws InterruptedException {
+        SingleFlight<String, String> singleFlight = singleFlight(Duration.ofSeconds(10));
+        IllegalStateException failure = new IllegalStateException("fallo de carga");
+        AtomicReference<RuntimeException> leaderError = new AtomicReference<>();
+        List<RuntimeException> followerErrors = new ArrayList<>();
+
+        Thread leader = new Thread(() -> {
+            try {
+                singleFlight.execute("clave", () -> {
+                    awaitRelease();
+                    throw failure;
+                });
+            } catch (RuntimeException e) {
+                leaderError.set(e);
+            }
+        });
+        start(leader);
+        awaitWaiting(List.of(leader));
+        List<Thread> followers = startFollowers(singleFlight, () -> "otro", value -> { }, error -> {
+            synchronized (followerErrors) {
+                followerErrors.add(error);
+            }
+        });
+        awaitWaiting(followers);
+        release.countDown();
+        joinAll();
+
+        assertThat(leaderError.get()).isSameAs(failure);
+        assertThat(followerErrors).hasSize(FOLLOWERS);
+        for (RuntimeException error : followerErrors) {
+            assertThat(error).isSameAs(failure);
+        }
+    }
+
+    @Test
+    void followerGivesUpAfterTheTimeout() throws InterruptedException {
+        SingleFlight<String, String> singleFlight = singleFlight(Duration.ofMillis(50));
+        startLeader(singleFlight, () -> {
+            awaitRelease();
+            return "valor";
+        });
+
+        assertThatThrownBy(() -> singleFlight.execute("clave", () -> "otro"))
+                .isInstanceOf(UnavailableException.class);
+        assertThat(count("timeout")).isEqualTo(1.0);
+    }
+
+    @Test
+    void otherKeysAreNotBlocked() throws InterruptedException {
+        SingleFlight<String, String> singleFlight = singleFlight(Duration.ofMillis(50));
+        startLeader(singleFlight, () -> {
+            awaitRelease();
+            return "valor";
+        });
+
+        assertThat(singleFlight.execute("otra", () -> "otro")).isEqualTo("otro");
+    }
+
+    @Test
+    void keyIsReleasedAfterSuccess() {
+        SingleFlight<String, String> singleFlight = singleFlight(Duration.ofSeconds(1));
+
+        assertThat(singleFlight.execute("clave", () -> "primero")).isEqualTo("primero");
+        assertThat(singleFlight.execute("clave", () -> "segundo")).isEqualTo("segundo");
+        assertThat(count("leader")).isEqualTo(2.0);
+    }
+
+    @Test
+    void keyIsReleasedAfterFailure() {
+        SingleFlight<String, String> singleFlight = singleFlight(Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> singleFlight.execute("clave", () -> {
+            throw new IllegalStateException("fallo de carga");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.execute("clave", () -> "segundo")).isEqualTo("segundo");
+        assertThat(count("leader")).isEqualTo(2.0);
+    }
+
+    private SingleFlight<String, String> singleFlight(Duration timeout) {
+        return new SingleFlight<>("test", meterRegistry, timeout);
+    }
+
+    /**
+     * Arranca el líder y espera a que esté dentro de la carga, bloqueado hasta que se libere.
+     */
+    private void startLeader(SingleFlight<String, String> singleFlight, Supplier<String> loader)
+            throws InterruptedException {
+        Thread leader = new Thread(() -> singleFlight.execute("clave", loader));
+        start(leader);
+        awaitWaiting(List.of(leader));
+    }
+
+    private List<Thread> startFollowers(SingleFlight<String, String> singleFlight,
+            Supplier<String> loader, Consumer<String> onValue,
+            Consumer<RuntimeException> onError) {
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            Thread follower = new Thread(() -> {
+                try {
+                    onValue.accept(singleFlight.execute("clave", loader));
+                } catch (RuntimeException e) {
+                    onError.accept(e);
+                }
+            });
+            start(follower);
+            followers.add(follower);
+        }
+        return followers;
+    }
+
+    private void start(Thread thread) {
+        thread.setDaemon(true);
+        thread.start();
+        threads.add(thread);
+    }
+
+    private void joinAll() throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Espera a que los hilos estén bloqueados: el líder en la carga y los seguidores en el futuro compartido.
+     */
+    private static void awaitWaiting(List<Thread> waiting) throws InterruptedException {
+        for (Thread thread : waiting) {
+            while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("redsocial.singleflight.calls", "name", "test", "result", result).count();
+    }
+}
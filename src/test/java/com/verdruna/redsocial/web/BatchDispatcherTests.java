@@ -0,0 +1,129 @@
+package com.verdruna.redsocial.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vedruna.redsocial.controller.BatchController;
+import com.vedruna.redsocial.dto.BatchItemDTO;
+import com.vedruna.redsocial.dto.BatchResultDTO;
+import com.vedruna.redsocial.sc.security.ratelimit.RateLimitFilter;
+import com.vedruna.redsocial.web.BatchDispatcher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Rutas de las subpeticiones de /api/batch: se comprueban normalizadas como las compara Spring MVC, de modo que
+ * un batch anidado o un inicio de sesión no se cuelan con parámetros de matriz o codificación, y el límite de
+ * ritmo de inicio de sesión se aplica igual que fuera del batch.
+ */
+class BatchDispatcherTests {
+
+    private final DispatcherServlet dispatcherServlet = mock(DispatcherServlet.class);
+
+    private final List<HttpServletRequest> dispatched = new CopyOnWriteArrayList<>();
+
+    private BatchDispatcher dispatcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        doAnswer(invocation -> {
+            dispatched.add(invocation.getArgument(0));
+            return null;
+        }).when(dispatcherServlet).service(any(ServletRequest.class), any(ServletResponse.class));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(meterRegistry, true, 600_000, 1, 0.001, 100, 100);
+        dispatcher = new BatchDispatcher(dispatcherServlet, rateLimitFilter, mock(ObjectProvider.class),
+                new ObjectMapper(), meterRegistry, 20, 4, 4, 16, 5_000, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void nestedBatchIsRejectedWhateverItsSpelling() throws Exception {
+        List<BatchResultDTO> results = dispatch(
+                item("POST", "/api/batch"),
+                item("POST", "/api/batch;x=1"),
+                item("POST", "/api/%62atch"),
+                item("POST", "/api//batch"),
+                item("POST", "/api/batch?fields=id"));
+
+        assertThat(results).extracting(BatchResultDTO::getStatus).containsOnly(400);
+        verify(dispatcherServlet, never()).service(any(ServletRequest.class), any(ServletResponse.class));
+    }
+
+    @Test
+    void loginIsChargedToTheAuthLimiterWhateverItsSpelling() throws Exception {
+        List<BatchResultDTO> results = dispatch(
+                item("POST", "/api/login;x"),
+                item("POST", "/api/%6cogin"));
+
+        assertThat(results).extracting(BatchResultDTO::getStatus).containsExactly(400, 429);
+        assertThat(results.get(1).getHeaders()).containsKey("Retry-After");
+        verify(dispatcherServlet, never()).service(any(ServletRequest.class), any(ServletResponse.class));
+    }
+
+    @Test
+    void encodedParentSegmentsAreRejected() throws Exception {
+        List<BatchResultDTO> results = dispatch(
+                item("GET", "/api/user/%2e%2e/%2e%2e/actuator/health"),
+                item("GET", "/api/user/%zz"));
+
+        assertThat(results).extracting(BatchResultDTO::getStatus).containsOnly(400);
+        verify(dispatcherServlet, never()).service(any(ServletRequest.class), any(ServletResponse.class));
+    }
+
+    @Test
+    void subRequestsAreMarkedAndTheControllerRejectsThem() throws Exception {
+        List<BatchResultDTO> results = dispatch(item("GET", "/api/user/1"));
+
+        assertThat(results).extracting(BatchResultDTO::getStatus).containsExactly(200);
+        assertThat(dispatched).hasSize(1);
+        HttpServletRequest subRequest = dispatched.get(0);
+        assertThat(subRequest.getAttribute(BatchDispatcher.SUB_REQUEST_ATTRIBUTE)).isNotNull();
+
+        BatchController controller = new BatchController(dispatcher);
+        assertThatThrownBy(() -> controller.executeBatch(List.of(item("GET", "/api/user/1")), subRequest,
+                new MockHttpServletResponse()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(dispatched).hasSize(1);
+    }
+
+    private List<BatchResultDTO> dispatch(BatchItemDTO... items) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/batch");
+        return dispatcher.dispatch(new ArrayList<>(List.of(items)), request, new MockHttpServletResponse());
+    }
+
+    private static BatchItemDTO item(String method, String path) {
+        BatchItemDTO item = new BatchItemDTO();
+        item.setId(method + " " + path);
+        item.setMethod(method);
+        item.setPath(path);
+        return item;
+    }
+}